@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.benchmark.compress;
+
+import com.power4j.coca.kit.common.compress.AdaptiveCodec;
+import com.power4j.coca.kit.common.compress.Compressor;
+import com.power4j.coca.kit.common.compress.Compressors;
+import com.power4j.coca.kit.common.io.codec.Codec;
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import com.power4j.coca.kit.common.io.codec.impl.BufferGz;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 各压缩实现的压缩率与吞吐量对比 <pre>
+ *     java -jar coca-benchmark/target/benchmarks.jar CompressionBenchmark
+ *     java -jar coca-benchmark/target/benchmarks.jar CompressionBenchmark -p codec=gz,lz4 -p corpus=json -prof gc
+ *     java -Dcoca.bench.file=/path/to/sample -jar coca-benchmark/target/benchmarks.jar CompressionBenchmark -p corpus=file
+ * </pre>
+ * <ul>
+ * <li>{@code compress} 的结果中附带 {@code rawBytes} 和 {@code compressedBytes}
+ * 两个计数,压缩率为两者之比</li>
+ * <li>{@code -prof gc} 输出每次操作的内存分配量</li>
+ * <li>xz/lzma 需要 {@code org.tukaani:xz},不在默认参数中,可通过 {@code -p codec=xz} 指定</li>
+ * </ul>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+	public static final String FILE_PROPERTY = "coca.bench.file";
+
+	/**
+	 * 压缩实现: {@code buffer-gz} 为 {@link BufferGz},{@code adaptive} 为
+	 * {@link AdaptiveCodec},其余为 {@link Compressors} 中的名称
+	 */
+	@Param({ "buffer-gz", "gz", "deflate", "zlib", "bz2", "lz4", "sz", "adaptive" })
+	private String codec;
+
+	/**
+	 * 数据类型: json 文本,随机数据,重复数据,或者 {@code coca.bench.file} 指定的文件
+	 */
+	@Param({ "json", "random", "repetitive" })
+	private String corpus;
+
+	/**
+	 * 单条消息的大小,{@code file} 类型时为截取的最大长度
+	 */
+	@Param({ "256", "16384", "1048576" })
+	private int size;
+
+	private Codec<ByteBuffer, ByteBuffer> impl;
+
+	private ByteBuffer raw;
+
+	private ByteBuffer compressed;
+
+	@Setup
+	public void setup() throws IOException, CodecException {
+		impl = createCodec(codec);
+		raw = ByteBuffer.wrap(createCorpus(corpus, size));
+		compressed = impl.encode(raw.duplicate());
+	}
+
+	@Benchmark
+	public ByteBuffer compress(Sizes sizes) throws CodecException {
+		ByteBuffer out = impl.encode(raw.duplicate());
+		sizes.rawBytes += raw.remaining();
+		sizes.compressedBytes += out.remaining();
+		return out;
+	}
+
+	@Benchmark
+	public ByteBuffer decompress() throws CodecException {
+		return impl.decode(compressed.duplicate());
+	}
+
+	/**
+	 * 压缩前后的字节数,按迭代累计
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Sizes {
+
+		public long rawBytes;
+
+		public long compressedBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			rawBytes = 0;
+			compressedBytes = 0;
+		}
+
+	}
+
+	static Codec<ByteBuffer, ByteBuffer> createCodec(String name) {
+		if ("buffer-gz".equals(name)) {
+			return new BufferGz();
+		}
+		if (AdaptiveCodec.NAME.equals(name)) {
+			return AdaptiveCodec.builder().candidates(Compressors.available()).build();
+		}
+		Compressor compressor = Compressors.byName(name)
+			.orElseThrow(() -> new IllegalArgumentException("Unknown codec: " + name));
+		if (!compressor.isAvailable()) {
+			throw new IllegalStateException("Codec not available: " + name);
+		}
+		return compressor;
+	}
+
+	static byte[] createCorpus(String type, int size) throws IOException {
+		Random random = new Random(0);
+		switch (type) {
+			case "json":
+				StringBuilder builder = new StringBuilder(size + 64);
+				builder.append('[');
+				for (int i = 0; builder.length() < size; ++i) {
+					builder.append("{\"id\":")
+						.append(i)
+						.append(",\"name\":\"user-")
+						.append(random.nextInt(1000))
+						.append("\",\"active\":")
+						.append(random.nextBoolean())
+						.append("},");
+				}
+				byte[] json = builder.toString().getBytes(StandardCharsets.UTF_8);
+				byte[] data = new byte[size];
+				System.arraycopy(json, 0, data, 0, size);
+				return data;
+			case "random":
+				byte[] bytes = new byte[size];
+				random.nextBytes(bytes);
+				return bytes;
+			case "repetitive":
+				byte[] pattern = "coca-kit:repetitive;".getBytes(StandardCharsets.US_ASCII);
+				byte[] repeated = new byte[size];
+				for (int i = 0; i < size; ++i) {
+					repeated[i] = pattern[i % pattern.length];
+				}
+				return repeated;
+			case "file":
+				String path = System.getProperty(FILE_PROPERTY);
+				if (path == null) {
+					throw new IllegalStateException("System property not set: " + FILE_PROPERTY);
+				}
+				byte[] content = Files.readAllBytes(Paths.get(path));
+				if (content.length <= size) {
+					return content;
+				}
+				byte[] head = new byte[size];
+				System.arraycopy(content, 0, head, 0, size);
+				return head;
+			default:
+				throw new IllegalArgumentException("Unknown corpus: " + type);
+		}
+	}
+
+}
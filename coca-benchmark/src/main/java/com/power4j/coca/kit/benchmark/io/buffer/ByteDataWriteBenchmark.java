@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.benchmark.io.buffer;
+
+import com.power4j.coca.kit.common.io.buffer.ByteData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1M 次小块追加写入的吞吐量 <pre>
+ *     java -jar coca-benchmark/target/benchmarks.jar ByteDataWriteBenchmark
+ * </pre>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ByteDataWriteBenchmark {
+
+	private static final int WRITES = 1_000_000;
+
+	@Param({ "1", "8", "32" })
+	private int chunkSize;
+
+	private byte[] chunk;
+
+	private List<ByteData> chunks;
+
+	@Setup
+	public void setup() {
+		chunk = new byte[chunkSize];
+		chunks = new ArrayList<>(WRITES);
+		for (int i = 0; i < WRITES; ++i) {
+			chunks.add(ByteData.shardOf(chunk));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(WRITES)
+	public ByteData writeBytes() {
+		ByteData data = ByteData.ofEmpty();
+		for (int i = 0; i < WRITES; ++i) {
+			data.writeBytes(chunk, 0, chunkSize);
+		}
+		return data;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(WRITES)
+	public ByteData writeInt8() {
+		ByteData data = ByteData.ofEmpty();
+		for (int i = 0; i < WRITES; ++i) {
+			data.writeInt8(i);
+		}
+		return data;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(WRITES)
+	public ByteData copyOfIterator() {
+		return ByteData.copyOf(chunks.iterator());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(WRITES)
+	public byte[] baselineByteArrayOutputStream() {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		for (int i = 0; i < WRITES; ++i) {
+			os.write(chunk, 0, chunkSize);
+		}
+		return os.toByteArray();
+	}
+
+}
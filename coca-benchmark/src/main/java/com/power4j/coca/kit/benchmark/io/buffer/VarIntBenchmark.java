@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.benchmark.io.buffer;
+
+import com.power4j.coca.kit.common.io.buffer.ByteBufferReader;
+import com.power4j.coca.kit.common.io.buffer.ByteBufferWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VarInt 与定长 int 编解码的吞吐量对比 <pre>
+ *     java -jar coca-benchmark/target/benchmarks.jar VarIntBenchmark
+ * </pre>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VarIntBenchmark {
+
+	private static final int COUNT = 4096;
+
+	/**
+	 * 数值的最大比特位数,决定 VarInt 的编码长度
+	 */
+	@Param({ "7", "14", "28", "32" })
+	private int bits;
+
+	@Param({ "false", "true" })
+	private boolean direct;
+
+	private int[] values;
+
+	private ByteBuffer buffer;
+
+	private ByteBuffer varIntEncoded;
+
+	private ByteBuffer fixedEncoded;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(0);
+		values = new int[COUNT];
+		for (int i = 0; i < COUNT; ++i) {
+			values[i] = bits == Integer.SIZE ? random.nextInt() : random.nextInt(1 << bits);
+		}
+		buffer = allocate(COUNT * 5);
+		varIntEncoded = allocate(COUNT * 5);
+		fixedEncoded = allocate(COUNT * Integer.BYTES);
+		ByteBufferWriter varIntWriter = ByteBufferWriter.of(varIntEncoded);
+		ByteBufferWriter fixedWriter = ByteBufferWriter.of(fixedEncoded);
+		for (int value : values) {
+			varIntWriter.writeVarInt(value);
+			fixedWriter.writeInt(value);
+		}
+		varIntEncoded.flip();
+		fixedEncoded.flip();
+	}
+
+	private ByteBuffer allocate(int size) {
+		return direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public ByteBuffer writeVarInt() {
+		buffer.clear();
+		ByteBufferWriter writer = ByteBufferWriter.of(buffer);
+		for (int value : values) {
+			writer.writeVarInt(value);
+		}
+		return buffer;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public ByteBuffer writeInt() {
+		buffer.clear();
+		ByteBufferWriter writer = ByteBufferWriter.of(buffer);
+		for (int value : values) {
+			writer.writeInt(value);
+		}
+		return buffer;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int readVarInt() {
+		ByteBufferReader reader = ByteBufferReader.of(varIntEncoded.duplicate());
+		int sum = 0;
+		for (int i = 0; i < COUNT; ++i) {
+			sum += reader.readVarInt();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int readInt() {
+		ByteBufferReader reader = ByteBufferReader.of(fixedEncoded.duplicate());
+		int sum = 0;
+		for (int i = 0; i < COUNT; ++i) {
+			sum += reader.readInt();
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.codec.binary;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 查表实现的16进制编解码
+ * <ul>
+ * <li>编码: 每个字节查一次表得到两个字符,直接写入调用方提供的 {@code char[]} 或 {@code StringBuilder}</li>
+ * <li>解码/校验: 256项的查找表,非16进制字符对应 -1</li>
+ * </ul>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+public class HexCodec {
+
+	private final static char[] DIGITS_LOWER = "0123456789abcdef".toCharArray();
+
+	private final static char[] DIGITS_UPPER = "0123456789ABCDEF".toCharArray();
+
+	/**
+	 * 每个字节对应的两个字符,{@code [b * 2, b * 2 + 1]}
+	 */
+	private final static char[] PAIRS_LOWER = pairs(DIGITS_LOWER);
+
+	private final static char[] PAIRS_UPPER = pairs(DIGITS_UPPER);
+
+	private final static byte[] VALUES = new byte[256];
+
+	static {
+		Arrays.fill(VALUES, (byte) -1);
+		for (int i = 0; i < DIGITS_LOWER.length; ++i) {
+			VALUES[DIGITS_LOWER[i]] = (byte) i;
+			VALUES[DIGITS_UPPER[i]] = (byte) i;
+		}
+	}
+
+	// ~ Encode
+	// ===================================================================================================
+
+	/**
+	 * 编码到字符数组
+	 * @param src 数据源
+	 * @param offset 偏移量
+	 * @param length 字节数
+	 * @param dest 写入目标,空间至少 {@code length * 2}
+	 * @param destOffset 写入位置
+	 * @param upperCase 是否使用大写字母
+	 * @return 写入的字符数
+	 */
+	public static int encode(byte[] src, int offset, int length, char[] dest, int destOffset, boolean upperCase) {
+		final char[] pairs = upperCase ? PAIRS_UPPER : PAIRS_LOWER;
+		int j = destOffset;
+		for (int i = offset, end = offset + length; i < end; ++i) {
+			final int p = (src[i] & 0xFF) << 1;
+			dest[j++] = pairs[p];
+			dest[j++] = pairs[p + 1];
+		}
+		return j - destOffset;
+	}
+
+	/**
+	 * 编码 {@code [position,limit)} 区域到字符数组,不移动 position
+	 * @param src 数据源
+	 * @param dest 写入目标,空间至少 {@code src.remaining() * 2}
+	 * @param destOffset 写入位置
+	 * @param upperCase 是否使用大写字母
+	 * @return 写入的字符数
+	 */
+	public static int encode(ByteBuffer src, char[] dest, int destOffset, boolean upperCase) {
+		if (src.hasArray()) {
+			return encode(src.array(), src.arrayOffset() + src.position(), src.remaining(), dest, destOffset,
+					upperCase);
+		}
+		final char[] pairs = upperCase ? PAIRS_UPPER : PAIRS_LOWER;
+		int j = destOffset;
+		for (int i = src.position(), end = src.limit(); i < end; ++i) {
+			final int p = (src.get(i) & 0xFF) << 1;
+			dest[j++] = pairs[p];
+			dest[j++] = pairs[p + 1];
+		}
+		return j - destOffset;
+	}
+
+	/**
+	 * 编码并追加到 {@code StringBuilder}
+	 * @param src 数据源
+	 * @param offset 偏移量
+	 * @param length 字节数
+	 * @param dest 追加目标
+	 * @param upperCase 是否使用大写字母
+	 * @return 返回 {@code dest}
+	 */
+	public static StringBuilder encode(byte[] src, int offset, int length, StringBuilder dest, boolean upperCase) {
+		final char[] pairs = upperCase ? PAIRS_UPPER : PAIRS_LOWER;
+		dest.ensureCapacity(dest.length() + length * 2);
+		for (int i = offset, end = offset + length; i < end; ++i) {
+			final int p = (src[i] & 0xFF) << 1;
+			dest.append(pairs[p]).append(pairs[p + 1]);
+		}
+		return dest;
+	}
+
+	/**
+	 * 编码为字符串
+	 * @param src 数据源
+	 * @param offset 偏移量
+	 * @param length 字节数
+	 * @param upperCase 是否使用大写字母
+	 * @return String
+	 */
+	public static String encodeToString(byte[] src, int offset, int length, boolean upperCase) {
+		char[] chars = new char[length * 2];
+		encode(src, offset, length, chars, 0, upperCase);
+		return new String(chars);
+	}
+
+	/**
+	 * 编码为字符串
+	 * @param src 数据源
+	 * @param upperCase 是否使用大写字母
+	 * @return String
+	 */
+	public static String encodeToString(byte[] src, boolean upperCase) {
+		return encodeToString(src, 0, src.length, upperCase);
+	}
+
+	/**
+	 * 编码 {@code [position,limit)} 区域为字符串,不移动 position
+	 * @param src 数据源
+	 * @param upperCase 是否使用大写字母
+	 * @return String
+	 */
+	public static String encodeToString(ByteBuffer src, boolean upperCase) {
+		char[] chars = new char[src.remaining() * 2];
+		encode(src, chars, 0, upperCase);
+		return new String(chars);
+	}
+
+	// ~ Decode
+	// ===================================================================================================
+
+	/**
+	 * 解码到字节数组
+	 * @param src 16进制字符串
+	 * @param start 起始位置
+	 * @param end 结束位置(不包含),{@code end - start} 必须是偶数
+	 * @param dest 写入目标,空间至少 {@code (end - start) / 2}
+	 * @param destOffset 写入位置
+	 * @return 写入的字节数
+	 * @throws IllegalArgumentException 长度是奇数或者包含非16进制字符
+	 */
+	public static int decode(CharSequence src, int start, int end, byte[] dest, int destOffset) {
+		checkLength(start, end);
+		int j = destOffset;
+		for (int i = start; i < end; i += 2) {
+			dest[j++] = (byte) ((digit(src, i) << 4) | digit(src, i + 1));
+		}
+		return j - destOffset;
+	}
+
+	/**
+	 * 解码到 ByteBuffer,从 position 开始写入
+	 * @param src 16进制字符串
+	 * @param start 起始位置
+	 * @param end 结束位置(不包含),{@code end - start} 必须是偶数
+	 * @param dest 写入目标
+	 * @return 写入的字节数
+	 * @throws IllegalArgumentException 长度是奇数或者包含非16进制字符
+	 * @throws BufferOverflowException 空间不足
+	 */
+	public static int decode(CharSequence src, int start, int end, ByteBuffer dest) {
+		checkLength(start, end);
+		final int length = (end - start) >> 1;
+		if (length > dest.remaining()) {
+			throw new BufferOverflowException();
+		}
+		if (dest.hasArray()) {
+			decode(src, start, end, dest.array(), dest.arrayOffset() + dest.position());
+		}
+		else {
+			int pos = dest.position();
+			for (int i = start; i < end; i += 2) {
+				dest.put(pos++, (byte) ((digit(src, i) << 4) | digit(src, i + 1)));
+			}
+		}
+		dest.position(dest.position() + length);
+		return length;
+	}
+
+	/**
+	 * 解码
+	 * @param src 16进制字符串,长度必须是偶数
+	 * @return 字节数组
+	 * @throws IllegalArgumentException 长度是奇数或者包含非16进制字符
+	 */
+	public static byte[] decode(CharSequence src) {
+		checkLength(0, src.length());
+		byte[] bytes = new byte[src.length() >> 1];
+		decode(src, 0, src.length(), bytes, 0);
+		return bytes;
+	}
+
+	// ~ Validate
+	// ===================================================================================================
+
+	/**
+	 * 字符对应的值
+	 * @param c 字符
+	 * @return {@code [0,15]},非16进制字符返回 -1
+	 */
+	public static int digit(char c) {
+		return c < VALUES.length ? VALUES[c] : -1;
+	}
+
+	/**
+	 * 是否16进制字符
+	 * @param c 字符
+	 * @return 返回true表示是 {@code [0-9a-fA-F]}
+	 */
+	public static boolean isHexChar(char c) {
+		return c < VALUES.length && VALUES[c] >= 0;
+	}
+
+	/**
+	 * 查找第一个非16进制字符
+	 * @param src 字符串
+	 * @param start 起始位置
+	 * @param end 结束位置(不包含)
+	 * @return 索引,没有找到返回 -1
+	 */
+	public static int firstInvalid(CharSequence src, int start, int end) {
+		for (int i = start; i < end; ++i) {
+			if (!isHexChar(src.charAt(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 是否16进制字符串
+	 * @param src 字符串
+	 * @return 非空,长度为偶数并且只包含16进制字符返回true
+	 */
+	public static boolean isHexString(CharSequence src) {
+		final int length = src.length();
+		return length > 0 && (length & 1) == 0 && firstInvalid(src, 0, length) < 0;
+	}
+
+	// ~ Internal
+	// ===================================================================================================
+
+	private static int digit(CharSequence src, int index) {
+		final int value = digit(src.charAt(index));
+		if (value < 0) {
+			throw new IllegalArgumentException("Illegal hex character " + src.charAt(index) + " at index " + index);
+		}
+		return value;
+	}
+
+	private static void checkLength(int start, int end) {
+		if (((end - start) & 1) != 0) {
+			throw new IllegalArgumentException("Odd number of characters");
+		}
+	}
+
+	private static char[] pairs(char[] digits) {
+		char[] pairs = new char[512];
+		for (int i = 0; i < 256; ++i) {
+			pairs[i << 1] = digits[i >>> 4];
+			pairs[(i << 1) + 1] = digits[i & 0xF];
+		}
+		return pairs;
+	}
+
+}
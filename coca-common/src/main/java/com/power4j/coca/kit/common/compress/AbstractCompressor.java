@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import com.power4j.coca.kit.common.io.codec.CodecException;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link Compressor} 的基础实现,负责异常转换以及流的适配
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+abstract class AbstractCompressor implements Compressor {
+
+	private final String name;
+
+	AbstractCompressor(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public String name() {
+		return name;
+	}
+
+	@Override
+	public ByteBuffer encode(ByteBuffer src) throws CodecException {
+		try {
+			return compress(src.duplicate());
+		}
+		catch (CodecException e) {
+			throw e;
+		}
+		catch (IOException e) {
+			throw new CodecException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public ByteBuffer decode(ByteBuffer src) throws CodecException {
+		try {
+			return decompress(src.duplicate());
+		}
+		catch (CodecException e) {
+			throw e;
+		}
+		catch (IOException e) {
+			throw new CodecException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * 压缩
+	 * @param src 输入的副本,可以移动 position
+	 * @return 返回压缩结果,底层数组长度与数据长度相同
+	 * @throws IOException IO异常
+	 */
+	protected abstract ByteBuffer compress(ByteBuffer src) throws IOException;
+
+	/**
+	 * 解压
+	 * @param src 输入的副本,可以移动 position
+	 * @return 返回解压结果,底层数组长度与数据长度相同
+	 * @throws IOException IO异常或者数据格式错误
+	 */
+	protected abstract ByteBuffer decompress(ByteBuffer src) throws IOException;
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{" + name + "}";
+	}
+
+	// ~ Internal
+	// ===================================================================================================
+
+	static void copy(InputStream input, OutputStream output) throws IOException {
+		final byte[] buff = new byte[DeflateKit.CHUNK_SIZE];
+		int read;
+		while ((read = input.read(buff)) != -1) {
+			output.write(buff, 0, read);
+		}
+	}
+
+	static void write(ByteBuffer src, OutputStream output) throws IOException {
+		if (src.hasArray()) {
+			output.write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+			src.position(src.limit());
+			return;
+		}
+		final byte[] chunk = new byte[Math.min(src.remaining(), DeflateKit.CHUNK_SIZE)];
+		while (src.hasRemaining()) {
+			final int n = Math.min(chunk.length, src.remaining());
+			src.get(chunk, 0, n);
+			output.write(chunk, 0, n);
+		}
+	}
+
+	/**
+	 * 关闭时只刷新,不关闭被包装的流
+	 */
+	static OutputStream shield(OutputStream output) {
+		return new FilterOutputStream(output) {
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+			}
+
+			@Override
+			public void close() throws IOException {
+				out.flush();
+			}
+
+		};
+	}
+
+	/**
+	 * 关闭时不关闭被包装的流
+	 */
+	static InputStream shield(InputStream input) {
+		return new FilterInputStream(input) {
+
+			@Override
+			public void close() {
+			}
+
+		};
+	}
+
+	/**
+	 * 读取 ByteBuffer 的输入流
+	 */
+	static class BufferInputStream extends InputStream {
+
+		private final ByteBuffer src;
+
+		BufferInputStream(ByteBuffer src) {
+			this.src = src;
+		}
+
+		@Override
+		public int read() {
+			return src.hasRemaining() ? src.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!src.hasRemaining()) {
+				return -1;
+			}
+			final int n = Math.min(len, src.remaining());
+			src.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public long skip(long n) {
+			final int count = (int) Math.max(0, Math.min(n, src.remaining()));
+			src.position(src.position() + count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return src.remaining();
+		}
+
+	}
+
+	/**
+	 * 写入 {@link DeflateKit.Output} 的输出流
+	 */
+	static class OutputAdapter extends OutputStream {
+
+		private final DeflateKit.Output out;
+
+		OutputAdapter(DeflateKit.Output out) {
+			this.out = out;
+		}
+
+		@Override
+		public void write(int b) {
+			out.ensure(1);
+			out.array[out.pos++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			out.write(b, off, len);
+		}
+
+	}
+
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import com.power4j.coca.kit.common.io.codec.Codec;
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 根据采样结果自动选择压缩算法
+ * <ul>
+ * <li>每 {@code sampleInterval} 次编码使用所有候选算法压缩一次当前数据的前 {@code sampleSize}
+ * 字节,按指数加权平均统计压缩率和耗时. 同一时刻最多只有一个采样任务,指定 {@code sampleExecutor} 时采样在后台执行,不占用编码调用的时间</li>
+ * <li>在耗时不超过 {@code latencyBudget}(每KB纳秒数)的算法中选择压缩率最高的,都超出时选择最快的</li>
+ * <li>输出的第一个字节是算法编号,0 表示未压缩,{@code n} 表示第 n 个候选算法.压缩后没有变小时按未压缩输出</li>
+ * <li>解码只依赖编号,与当前选择无关.编码端和解码端的候选算法列表必须一致</li>
+ * </ul>
+ * 线程安全
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+@Slf4j
+public class AdaptiveCodec implements Codec<ByteBuffer, ByteBuffer> {
+
+	public static final String NAME = "adaptive";
+
+	public static final int DEFAULT_SAMPLE_INTERVAL = 1000;
+
+	public static final int DEFAULT_SAMPLE_SIZE = 64 * 1024;
+
+	/**
+	 * 指数加权平均中新样本的权重
+	 */
+	private static final double ALPHA = 0.3;
+
+	private static final byte STORED = 0;
+
+	private final List<Codec<ByteBuffer, ByteBuffer>> candidates;
+
+	private final long latencyBudget;
+
+	private final int sampleInterval;
+
+	private final int sampleSize;
+
+	@Nullable
+	private final Executor sampleExecutor;
+
+	/**
+	 * 只在持有 {@code sampling} 的线程中访问
+	 */
+	private final Stats[] stats;
+
+	private final AtomicLong counter = new AtomicLong();
+
+	private final AtomicBoolean sampling = new AtomicBoolean();
+
+	/**
+	 * 当前使用的候选算法下标
+	 */
+	private volatile int current;
+
+	private AdaptiveCodec(List<Codec<ByteBuffer, ByteBuffer>> candidates, long latencyBudget, int sampleInterval,
+			int sampleSize, @Nullable Executor sampleExecutor) {
+		if (candidates.isEmpty() || candidates.size() > 255) {
+			throw new IllegalArgumentException("candidate count must be in [1,255]");
+		}
+		if (sampleInterval <= 0) {
+			throw new IllegalArgumentException("sample interval must be positive");
+		}
+		if (sampleSize <= 0) {
+			throw new IllegalArgumentException("sample size must be positive");
+		}
+		this.candidates = Collections.unmodifiableList(new ArrayList<>(candidates));
+		this.latencyBudget = latencyBudget;
+		this.sampleInterval = sampleInterval;
+		this.sampleSize = sampleSize;
+		this.sampleExecutor = sampleExecutor;
+		this.stats = new Stats[candidates.size()];
+		for (int i = 0; i < stats.length; ++i) {
+			stats[i] = new Stats();
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	@Override
+	public String name() {
+		return NAME;
+	}
+
+	/**
+	 * 候选算法
+	 * @return 不可修改的列表
+	 */
+	public List<Codec<ByteBuffer, ByteBuffer>> candidates() {
+		return candidates;
+	}
+
+	/**
+	 * 当前选择的算法
+	 * @return Codec
+	 */
+	public Codec<ByteBuffer, ByteBuffer> selected() {
+		return candidates.get(current);
+	}
+
+	/**
+	 * 编码,只处理 {@code [position,limit)} 区域,不移动 position
+	 * @param src 输入
+	 * @return 返回结果,底层数组长度与数据长度相同
+	 * @throws CodecException 编码失败
+	 */
+	@Override
+	public ByteBuffer encode(ByteBuffer src) throws CodecException {
+		final ByteBuffer input = src.duplicate();
+		if (counter.getAndIncrement() % sampleInterval == 0) {
+			startSample(input);
+		}
+		final int index = current;
+		final ByteBuffer output = candidates.get(index).encode(input.duplicate());
+		if (output.remaining() >= input.remaining()) {
+			return wrap(STORED, input);
+		}
+		return wrap((byte) (index + 1), output);
+	}
+
+	/**
+	 * 解码,只处理 {@code [position,limit)} 区域,不移动 position
+	 * @param src 输入
+	 * @return 返回结果
+	 * @throws CodecException 编号不存在或者解码失败
+	 */
+	@Override
+	public ByteBuffer decode(ByteBuffer src) throws CodecException {
+		final ByteBuffer input = src.duplicate();
+		if (!input.hasRemaining()) {
+			throw new CodecException("Missing codec id");
+		}
+		final int id = input.get() & 0xFF;
+		if (id == STORED) {
+			byte[] data = new byte[input.remaining()];
+			input.get(data);
+			return ByteBuffer.wrap(data);
+		}
+		if (id > candidates.size()) {
+			throw new CodecException("Unknown codec id: " + id);
+		}
+		return candidates.get(id - 1).decode(input.slice());
+	}
+
+	/**
+	 * 开始采样,已经有采样任务时忽略
+	 * @param input 输入
+	 * @throws CodecException 在当前线程采样时,候选算法编码失败
+	 */
+	private void startSample(ByteBuffer input) throws CodecException {
+		if (!sampling.compareAndSet(false, true)) {
+			return;
+		}
+		final int length = Math.min(input.remaining(), sampleSize);
+		if (sampleExecutor == null) {
+			try {
+				ByteBuffer prefix = input.duplicate();
+				prefix.limit(prefix.position() + length);
+				sample(prefix);
+			}
+			finally {
+				sampling.set(false);
+			}
+			return;
+		}
+		// 调用方可能在返回后修改输入,需要拷贝
+		final byte[] prefix = new byte[length];
+		input.duplicate().get(prefix);
+		try {
+			sampleExecutor.execute(() -> {
+				try {
+					sample(ByteBuffer.wrap(prefix));
+				}
+				catch (CodecException | RuntimeException e) {
+					log.warn("Compression sampling failed, keep current selection", e);
+				}
+				finally {
+					sampling.set(false);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			sampling.set(false);
+		}
+	}
+
+	/**
+	 * 使用所有候选算法压缩一次,更新统计并重新选择
+	 * @param input 采样数据
+	 * @throws CodecException 候选算法编码失败
+	 */
+	private void sample(ByteBuffer input) throws CodecException {
+		final int length = Math.max(input.remaining(), 1);
+		for (int i = 0; i < stats.length; ++i) {
+			final long start = System.nanoTime();
+			final int size = candidates.get(i).encode(input.duplicate()).remaining();
+			final long elapsed = System.nanoTime() - start;
+			stats[i].update((double) size / length, elapsed * 1024.0 / length);
+		}
+		int best = -1;
+		int fastest = 0;
+		for (int i = 0; i < stats.length; ++i) {
+			if (stats[i].nanosPerKb < stats[fastest].nanosPerKb) {
+				fastest = i;
+			}
+			if (stats[i].nanosPerKb <= latencyBudget && (best < 0 || stats[i].ratio < stats[best].ratio)) {
+				best = i;
+			}
+		}
+		current = best < 0 ? fastest : best;
+	}
+
+	private static ByteBuffer wrap(byte id, ByteBuffer data) {
+		final byte[] out = new byte[data.remaining() + 1];
+		out[0] = id;
+		data.duplicate().get(out, 1, data.remaining());
+		return ByteBuffer.wrap(out);
+	}
+
+	private static class Stats {
+
+		/**
+		 * 压缩后长度与原始长度之比
+		 */
+		double ratio = Double.NaN;
+
+		double nanosPerKb = Double.NaN;
+
+		void update(double sampleRatio, double sampleNanos) {
+			if (Double.isNaN(ratio)) {
+				ratio = sampleRatio;
+				nanosPerKb = sampleNanos;
+			}
+			else {
+				ratio += ALPHA * (sampleRatio - ratio);
+				nanosPerKb += ALPHA * (sampleNanos - nanosPerKb);
+			}
+		}
+
+	}
+
+	public static class Builder {
+
+		private final List<Codec<ByteBuffer, ByteBuffer>> candidates = new ArrayList<>();
+
+		private long latencyBudget = Long.MAX_VALUE;
+
+		private int sampleInterval = DEFAULT_SAMPLE_INTERVAL;
+
+		private int sampleSize = DEFAULT_SAMPLE_SIZE;
+
+		@Nullable
+		private Executor sampleExecutor;
+
+		/**
+		 * 添加候选算法,编号按添加顺序从1开始
+		 * @param codec 算法
+		 * @return Builder
+		 */
+		public Builder candidate(Codec<ByteBuffer, ByteBuffer> codec) {
+			candidates.add(Objects.requireNonNull(codec));
+			return this;
+		}
+
+		/**
+		 * 添加候选算法,编号按添加顺序从1开始
+		 * @param codecs 算法
+		 * @return Builder
+		 */
+		public Builder candidates(List<? extends Codec<ByteBuffer, ByteBuffer>> codecs) {
+			codecs.forEach(this::candidate);
+			return this;
+		}
+
+		/**
+		 * 耗时上限,默认不限制
+		 * @param nanosPerKb 每KB输入的压缩耗时(纳秒)
+		 * @return Builder
+		 */
+		public Builder latencyBudget(long nanosPerKb) {
+			this.latencyBudget = nanosPerKb;
+			return this;
+		}
+
+		/**
+		 * 采样间隔,第一次编码总是采样
+		 * @param sampleInterval 每多少次编码采样一次
+		 * @return Builder
+		 */
+		public Builder sampleInterval(int sampleInterval) {
+			this.sampleInterval = sampleInterval;
+			return this;
+		}
+
+		/**
+		 * 采样的数据量,只使用输入的前 {@code sampleSize} 字节
+		 * @param sampleSize 字节数,默认 {@value AdaptiveCodec#DEFAULT_SAMPLE_SIZE}
+		 * @return Builder
+		 */
+		public Builder sampleSize(int sampleSize) {
+			this.sampleSize = sampleSize;
+			return this;
+		}
+
+		/**
+		 * 执行采样的线程池,默认为 null,在编码的线程中执行
+		 * <p>
+		 * 指定后采样在后台执行,编码调用不再承担所有候选算法的耗时,采样完成前使用之前的选择(最初是第一个候选算法)
+		 * </p>
+		 * @param sampleExecutor 线程池
+		 * @return Builder
+		 */
+		public Builder sampleExecutor(@Nullable Executor sampleExecutor) {
+			this.sampleExecutor = sampleExecutor;
+			return this;
+		}
+
+		public AdaptiveCodec build() {
+			return new AdaptiveCodec(candidates, latencyBudget, sampleInterval, sampleSize, sampleExecutor);
+		}
+
+	}
+
+}
@@ -18,15 +18,25 @@ package com.power4j.coca.kit.common.compress;
 
 import lombok.experimental.UtilityClass;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
+ * 压缩工具
+ * <ul>
+ * <li>{@link Deflater}/{@link Inflater} 通过 {@link ZlibPool} 在线程内复用</li>
+ * <li>{@code ByteBuffer} 接口只处理 {@code [position,limit)} 区域,支持堆外内存,不经过流包装</li>
+ * <li>解压时根据尾部的 ISIZE 字段预分配输出空间</li>
+ * </ul>
+ *
  * @author CJ (power4j@outlook.com)
  * @date 2022/7/6
  * @since 1.0
@@ -34,32 +44,83 @@ import java.util.zip.GZIPOutputStream;
 @UtilityClass
 public class CompressUtil {
 
+	public final static int DEFAULT_BUFFER_SIZE = 8192;
+
 	/**
-	 * GZip压缩
+	 * GZip压缩,完成后关闭输出流
 	 * @param buffSize 缓冲区大小(字节)
 	 * @param inputStream 输入
 	 * @param outputStream 输出
 	 * @throws IOException
 	 */
 	public static void gzip(int buffSize, InputStream inputStream, OutputStream outputStream) throws IOException {
-		byte[] buff = new byte[buffSize];
-		try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
+		gzip(buffSize, inputStream, outputStream, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+	}
+
+	/**
+	 * GZip压缩,完成后关闭输出流
+	 * @param buffSize 缓冲区大小(字节)
+	 * @param inputStream 输入
+	 * @param outputStream 输出
+	 * @param level 压缩级别 {@code [0,9]} 或者 {@code Deflater.DEFAULT_COMPRESSION}
+	 * @param strategy 压缩策略,参考 {@code Deflater.DEFAULT_STRATEGY}
+	 * @throws IOException
+	 */
+	public static void gzip(int buffSize, InputStream inputStream, OutputStream outputStream, int level, int strategy)
+			throws IOException {
+		final byte[] in = new byte[buffSize];
+		final byte[] out = new byte[Math.max(buffSize, GzipFormat.HEADER_SIZE + GzipFormat.TRAILER_SIZE)];
+		final Deflater deflater = ZlibPool.deflater(level, strategy, true);
+		try (OutputStream os = outputStream) {
+			final CRC32 crc = new CRC32();
+			long total = 0;
+			GzipFormat.writeHeader(out, 0);
+			os.write(out, 0, GzipFormat.HEADER_SIZE);
 			int read;
-			while ((read = inputStream.read(buff)) != -1) {
-				gzip.write(buff, 0, read);
+			while ((read = inputStream.read(in)) != -1) {
+				crc.update(in, 0, read);
+				total += read;
+				deflater.setInput(in, 0, read);
+				while (!deflater.needsInput()) {
+					os.write(out, 0, deflater.deflate(out));
+				}
+			}
+			deflater.finish();
+			while (!deflater.finished()) {
+				os.write(out, 0, deflater.deflate(out));
 			}
+			GzipFormat.writeTrailer(out, 0, crc.getValue(), total);
+			os.write(out, 0, GzipFormat.TRAILER_SIZE);
+		}
+		finally {
+			ZlibPool.release(deflater);
 		}
 	}
 
 	/**
-	 * GZip压缩
+	 * 并行GZip压缩,完成后关闭输出流.输入分块后在 {@code executor} 中压缩,输出仍然是标准的 gzip 数据
+	 * @param inputStream 输入
+	 * @param outputStream 输出
+	 * @param executor 执行压缩任务的线程池
+	 * @throws IOException
+	 * @see ParallelGzip
+	 */
+	public static void gzip(InputStream inputStream, OutputStream outputStream, Executor executor) throws IOException {
+		try (OutputStream os = outputStream) {
+			ParallelGzip.builder().executor(executor).build().compress(inputStream, os);
+		}
+	}
+
+	/**
+	 * GZip压缩,完成后关闭输出流
 	 * @param source 输入
 	 * @param outputStream 输出
 	 * @throws IOException
 	 */
 	public static void gzip(byte[] source, OutputStream outputStream) throws IOException {
-		try (ByteArrayInputStream inputStream = new ByteArrayInputStream(source)) {
-			gzip(2048, inputStream, outputStream);
+		try (OutputStream os = outputStream) {
+			ByteBuffer result = gzip(ByteBuffer.wrap(source));
+			os.write(result.array(), 0, result.limit());
 		}
 	}
 
@@ -70,27 +131,92 @@ public class CompressUtil {
 	 * @throws IOException
 	 */
 	public static byte[] gzip(byte[] source) throws IOException {
-		try (ByteArrayOutputStream os = new ByteArrayOutputStream(source.length)) {
-			gzip(source, os);
-			return os.toByteArray();
+		return gzip(ByteBuffer.wrap(source)).array();
+	}
+
+	/**
+	 * GZip 压缩,使用默认压缩级别
+	 * @param source 输入,只使用 {@code [position,limit)} 区域,不移动 position
+	 * @return 返回压缩后的数据,底层数组长度与数据长度相同
+	 * @throws IOException
+	 */
+	public static ByteBuffer gzip(ByteBuffer source) throws IOException {
+		return gzip(source, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+	}
+
+	/**
+	 * GZip 压缩
+	 * @param source 输入,只使用 {@code [position,limit)} 区域,不移动 position
+	 * @param level 压缩级别 {@code [0,9]} 或者 {@code Deflater.DEFAULT_COMPRESSION}
+	 * @param strategy 压缩策略,参考 {@code Deflater.DEFAULT_STRATEGY}
+	 * @return 返回压缩后的数据,底层数组长度与数据长度相同
+	 * @throws IOException
+	 */
+	public static ByteBuffer gzip(ByteBuffer source, int level, int strategy) throws IOException {
+		final ByteBuffer src = source.duplicate();
+		final int length = src.remaining();
+		final CRC32 crc = new CRC32();
+		crc.update(src.duplicate());
+		final Deflater deflater = ZlibPool.deflater(level, strategy, true);
+		try {
+			DeflateKit.Output out = new DeflateKit.Output(Math.max(length >>> 1, DeflateKit.MIN_OUTPUT_SIZE));
+			GzipFormat.writeHeader(out.array, 0);
+			out.pos = GzipFormat.HEADER_SIZE;
+			DeflateKit.deflate(deflater, src, out);
+			out.ensure(GzipFormat.TRAILER_SIZE);
+			GzipFormat.writeTrailer(out.array, out.pos, crc.getValue(), length);
+			out.pos += GzipFormat.TRAILER_SIZE;
+			return out.toByteBuffer();
+		}
+		finally {
+			ZlibPool.release(deflater);
 		}
 	}
 
 	/**
-	 * GZip解压缩
+	 * GZip解压缩,完成后关闭输入流.支持多个成员串联的数据
 	 * @param buffSize 缓冲区大小(字节)
 	 * @param inputStream 输入
 	 * @param outputStream 输出
 	 * @throws IOException
 	 */
 	public static void unGzip(int buffSize, InputStream inputStream, OutputStream outputStream) throws IOException {
-		byte[] buff = new byte[buffSize];
-		try (GZIPInputStream gzipInputStream = new GZIPInputStream(inputStream)) {
-			int read;
-			while ((read = gzipInputStream.read(buff)) != -1) {
-				outputStream.write(buff, 0, read);
+		final byte[] in = new byte[buffSize];
+		final byte[] out = new byte[buffSize];
+		final Inflater inflater = ZlibPool.inflater(true);
+		try (PushbackInputStream is = new PushbackInputStream(inputStream, buffSize)) {
+			final GzipFormat.ByteSource source = is::read;
+			final CRC32 crc = new CRC32();
+			boolean first = true;
+			while (GzipFormat.skipHeader(source, first)) {
+				crc.reset();
+				long total = 0;
+				int fed = 0;
+				while (!inflater.finished()) {
+					if (inflater.needsInput()) {
+						fed = is.read(in);
+						if (fed < 0) {
+							throw new EOFException("Unexpected end of GZIP data");
+						}
+						inflater.setInput(in, 0, fed);
+					}
+					final int n = DeflateKit.inflate(inflater, out, 0, out.length);
+					crc.update(out, 0, n);
+					outputStream.write(out, 0, n);
+					total += n;
+				}
+				final int remaining = inflater.getRemaining();
+				if (remaining > 0) {
+					is.unread(in, fed - remaining, remaining);
+				}
+				GzipFormat.checkTrailer(source, crc.getValue(), total);
+				inflater.reset();
+				first = false;
 			}
 		}
+		finally {
+			ZlibPool.release(inflater);
+		}
 	}
 
 	/**
@@ -100,9 +226,8 @@ public class CompressUtil {
 	 * @throws IOException
 	 */
 	public static void unGzip(byte[] source, OutputStream outputStream) throws IOException {
-		try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(source)) {
-			unGzip(2048, byteArrayInputStream, outputStream);
-		}
+		ByteBuffer result = unGzip(ByteBuffer.wrap(source));
+		outputStream.write(result.array(), 0, result.limit());
 	}
 
 	/**
@@ -112,9 +237,39 @@ public class CompressUtil {
 	 * @throws IOException
 	 */
 	public static byte[] unGzip(byte[] source) throws IOException {
-		ByteArrayOutputStream os = new ByteArrayOutputStream(source.length);
-		unGzip(source, os);
-		return os.toByteArray();
+		return unGzip(ByteBuffer.wrap(source)).array();
+	}
+
+	/**
+	 * GZip解压缩,支持多个成员串联的数据
+	 * @param source 输入,只使用 {@code [position,limit)} 区域,不移动 position
+	 * @return 返回解压缩后的数据,底层数组长度与数据长度相同
+	 * @throws IOException
+	 */
+	public static ByteBuffer unGzip(ByteBuffer source) throws IOException {
+		final ByteBuffer src = source.duplicate();
+		final int hint = GzipFormat.sizeHint(src);
+		final DeflateKit.Output out = new DeflateKit.Output(
+				hint < 0 ? Math.max(src.remaining() << 2, DeflateKit.MIN_OUTPUT_SIZE) : hint);
+		final GzipFormat.ByteSource byteSource = GzipFormat.of(src);
+		final CRC32 crc = new CRC32();
+		final Inflater inflater = ZlibPool.inflater(true);
+		try {
+			boolean first = true;
+			while (GzipFormat.skipHeader(byteSource, first)) {
+				final int start = out.pos;
+				DeflateKit.inflate(inflater, src, out);
+				crc.reset();
+				crc.update(out.array, start, out.pos - start);
+				GzipFormat.checkTrailer(byteSource, crc.getValue(), out.pos - start);
+				inflater.reset();
+				first = false;
+			}
+			return out.toByteBuffer();
+		}
+		finally {
+			ZlibPool.release(inflater);
+		}
 	}
 
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import com.power4j.coca.kit.common.io.codec.Codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 压缩算法
+ * <ul>
+ * <li>{@code encode}/{@code decode} 只处理 {@code [position,limit)} 区域,不移动
+ * position,支持堆外内存和只读 buffer.返回的结果使用堆内存,底层数组长度与数据长度相同</li>
+ * <li>{@code compress}/{@code decompress} 流式处理,不关闭传入的流</li>
+ * </ul>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see Compressors
+ */
+public interface Compressor extends Codec<ByteBuffer, ByteBuffer> {
+
+	/**
+	 * 当前环境是否可用,例如依赖的可选类库是否存在
+	 * @return 返回false时调用编解码方法会失败
+	 */
+	default boolean isAvailable() {
+		return true;
+	}
+
+	/**
+	 * 流式压缩
+	 * @param input 输入,读取到结束
+	 * @param output 输出
+	 * @throws IOException IO异常
+	 */
+	void compress(InputStream input, OutputStream output) throws IOException;
+
+	/**
+	 * 流式解压
+	 * @param input 输入
+	 * @param output 输出
+	 * @throws IOException IO异常或者数据格式错误
+	 */
+	void decompress(InputStream input, OutputStream output) throws IOException;
+
+}
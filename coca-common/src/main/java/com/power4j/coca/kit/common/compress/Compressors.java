@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import lombok.experimental.UtilityClass;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorInputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.lzma.LZMACompressorInputStream;
+import org.apache.commons.compress.compressors.lzma.LZMACompressorOutputStream;
+import org.apache.commons.compress.compressors.lzma.LZMAUtils;
+import org.apache.commons.compress.compressors.snappy.FramedSnappyCompressorInputStream;
+import org.apache.commons.compress.compressors.snappy.FramedSnappyCompressorOutputStream;
+import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
+import org.apache.commons.compress.compressors.xz.XZCompressorOutputStream;
+import org.apache.commons.compress.compressors.xz.XZUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+
+/**
+ * 内置的压缩算法
+ * <ul>
+ * <li>gzip/deflate/zlib 基于 JDK,使用 {@link ZlibPool} 复用压缩器</li>
+ * <li>bzip2,LZ4 framed,Snappy framed 使用 commons-compress 的纯 Java 实现</li>
+ * <li>xz/lzma 需要在类路径中添加 {@code org.tukaani:xz},不存在时 {@code isAvailable()} 返回 false</li>
+ * </ul>
+ * 所有实例都是无状态的,可以在多个线程中共享
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+@UtilityClass
+public class Compressors {
+
+	public final String GZIP = "gz";
+
+	public final String DEFLATE = "deflate";
+
+	public final String ZLIB = "zlib";
+
+	public final String BZIP2 = "bz2";
+
+	public final String XZ = "xz";
+
+	public final String LZMA = "lzma";
+
+	public final String LZ4_FRAMED = "lz4";
+
+	public final String SNAPPY_FRAMED = "sz";
+
+	private final List<Compressor> DEFAULTS = Collections
+		.unmodifiableList(Arrays.asList(gzip(), deflate(), zlib(), bzip2(), xz(), lzma(), lz4Framed(), snappyFramed()));
+
+	/**
+	 * GZIP,默认压缩级别
+	 * @return Compressor
+	 */
+	public Compressor gzip() {
+		return gzip(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+	}
+
+	/**
+	 * GZIP
+	 * @param level 压缩级别 {@code [0,9]} 或者 {@code Deflater.DEFAULT_COMPRESSION}
+	 * @param strategy 压缩策略,参考 {@code Deflater.DEFAULT_STRATEGY}
+	 * @return Compressor
+	 */
+	public Compressor gzip(int level, int strategy) {
+		return new GzipCompressor(GZIP, level, strategy);
+	}
+
+	/**
+	 * 原始 deflate 格式,没有头部和校验和
+	 * @return Compressor
+	 */
+	public Compressor deflate() {
+		return deflate(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+	}
+
+	/**
+	 * 原始 deflate 格式,没有头部和校验和
+	 * @param level 压缩级别 {@code [0,9]} 或者 {@code Deflater.DEFAULT_COMPRESSION}
+	 * @param strategy 压缩策略,参考 {@code Deflater.DEFAULT_STRATEGY}
+	 * @return Compressor
+	 */
+	public Compressor deflate(int level, int strategy) {
+		return new DeflateCompressor(DEFLATE, level, strategy, true);
+	}
+
+	/**
+	 * zlib 格式,包含2字节头部和 Adler-32 校验和
+	 * @return Compressor
+	 */
+	public Compressor zlib() {
+		return zlib(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+	}
+
+	/**
+	 * zlib 格式,包含2字节头部和 Adler-32 校验和
+	 * @param level 压缩级别 {@code [0,9]} 或者 {@code Deflater.DEFAULT_COMPRESSION}
+	 * @param strategy 压缩策略,参考 {@code Deflater.DEFAULT_STRATEGY}
+	 * @return Compressor
+	 */
+	public Compressor zlib(int level, int strategy) {
+		return new DeflateCompressor(ZLIB, level, strategy, false);
+	}
+
+	/**
+	 * bzip2,块大小 900KB
+	 * @return Compressor
+	 */
+	public Compressor bzip2() {
+		return bzip2(BZip2CompressorOutputStream.MAX_BLOCKSIZE);
+	}
+
+	/**
+	 * bzip2
+	 * @param blockSize 块大小 {@code [1,9]},单位 100KB
+	 * @return Compressor
+	 */
+	public Compressor bzip2(int blockSize) {
+		return new StreamCompressor(BZIP2, out -> new BZip2CompressorOutputStream(out, blockSize),
+				in -> new BZip2CompressorInputStream(in, true), () -> true);
+	}
+
+	/**
+	 * xz,预设级别 6
+	 * @return Compressor
+	 */
+	public Compressor xz() {
+		return xz(6);
+	}
+
+	/**
+	 * xz
+	 * @param preset 预设级别 {@code [0,9]}
+	 * @return Compressor
+	 */
+	public Compressor xz(int preset) {
+		return new StreamCompressor(XZ, out -> new XZCompressorOutputStream(out, preset),
+				in -> new XZCompressorInputStream(in, true), () -> XZUtils.isXZCompressionAvailable());
+	}
+
+	/**
+	 * lzma(.lzma 格式)
+	 * @return Compressor
+	 */
+	public Compressor lzma() {
+		// 使用 lambda 而不是方法引用,避免在创建时加载依赖 xz 类库的类
+		return new StreamCompressor(LZMA, out -> new LZMACompressorOutputStream(out),
+				in -> new LZMACompressorInputStream(in), () -> LZMAUtils.isLZMACompressionAvailable());
+	}
+
+	/**
+	 * LZ4 frame 格式
+	 * @return Compressor
+	 */
+	public Compressor lz4Framed() {
+		return new StreamCompressor(LZ4_FRAMED, FramedLZ4CompressorOutputStream::new,
+				in -> new FramedLZ4CompressorInputStream(in, true), () -> true);
+	}
+
+	/**
+	 * Snappy framing 格式
+	 * @return Compressor
+	 */
+	public Compressor snappyFramed() {
+		return new StreamCompressor(SNAPPY_FRAMED, FramedSnappyCompressorOutputStream::new,
+				FramedSnappyCompressorInputStream::new, () -> true);
+	}
+
+	/**
+	 * 当前环境中可用的算法,使用默认参数
+	 * @return 算法列表
+	 */
+	public List<Compressor> available() {
+		return DEFAULTS.stream().filter(Compressor::isAvailable).collect(Collectors.toList());
+	}
+
+	/**
+	 * 根据名称查找可用的算法,使用默认参数
+	 * @param name 名称,参考本类中的常量
+	 * @return 不存在或者不可用时返回空
+	 */
+	public Optional<Compressor> byName(String name) {
+		return DEFAULTS.stream().filter(o -> o.name().equals(name) && o.isAvailable()).findFirst();
+	}
+
+}
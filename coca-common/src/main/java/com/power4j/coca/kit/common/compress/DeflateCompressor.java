@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * deflate 压缩,支持原始格式(RFC 1951)和 zlib 格式(RFC 1950),使用 {@link ZlibPool} 复用压缩器
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+class DeflateCompressor extends AbstractCompressor {
+
+	private final int level;
+
+	private final int strategy;
+
+	private final boolean nowrap;
+
+	DeflateCompressor(String name, int level, int strategy, boolean nowrap) {
+		super(name);
+		this.level = level;
+		this.strategy = strategy;
+		this.nowrap = nowrap;
+	}
+
+	@Override
+	public void compress(InputStream input, OutputStream output) throws IOException {
+		final Deflater deflater = ZlibPool.deflater(level, strategy, nowrap);
+		try (DeflaterOutputStream os = new DeflaterOutputStream(shield(output), deflater, DeflateKit.CHUNK_SIZE)) {
+			copy(input, os);
+		}
+		finally {
+			ZlibPool.release(deflater);
+		}
+	}
+
+	@Override
+	public void decompress(InputStream input, OutputStream output) throws IOException {
+		final Inflater inflater = ZlibPool.inflater(nowrap);
+		try (InflaterInputStream is = new InflaterInputStream(shield(input), inflater, DeflateKit.CHUNK_SIZE)) {
+			copy(is, output);
+		}
+		finally {
+			ZlibPool.release(inflater);
+		}
+	}
+
+	@Override
+	protected ByteBuffer compress(ByteBuffer src) {
+		final DeflateKit.Output out = new DeflateKit.Output(
+				Math.max(src.remaining() >>> 1, DeflateKit.MIN_OUTPUT_SIZE));
+		final Deflater deflater = ZlibPool.deflater(level, strategy, nowrap);
+		try {
+			DeflateKit.deflate(deflater, src, out);
+		}
+		finally {
+			ZlibPool.release(deflater);
+		}
+		return out.toByteBuffer();
+	}
+
+	@Override
+	protected ByteBuffer decompress(ByteBuffer src) throws IOException {
+		final DeflateKit.Output out = new DeflateKit.Output(Math.max(src.remaining() << 2, DeflateKit.MIN_OUTPUT_SIZE));
+		final Inflater inflater = ZlibPool.inflater(nowrap);
+		try {
+			DeflateKit.inflate(inflater, src, out);
+		}
+		finally {
+			ZlibPool.release(inflater);
+		}
+		return out.toByteBuffer();
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * {@code ByteBuffer} 与 {@link Deflater}/{@link Inflater} 之间的数据传递,堆外内存分块拷贝
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+class DeflateKit {
+
+	static final int CHUNK_SIZE = 8192;
+
+	static final int MIN_OUTPUT_SIZE = 64;
+
+	/**
+	 * 压缩全部输入并结束
+	 * @param deflater 压缩器
+	 * @param src 输入,处理完成后没有剩余数据
+	 * @param out 输出
+	 */
+	static void deflate(Deflater deflater, ByteBuffer src, Output out) {
+		if (src.hasArray()) {
+			deflater.setInput(src.array(), src.arrayOffset() + src.position(), src.remaining());
+			src.position(src.limit());
+		}
+		else {
+			final byte[] chunk = new byte[Math.min(src.remaining(), CHUNK_SIZE)];
+			while (src.hasRemaining()) {
+				final int n = Math.min(chunk.length, src.remaining());
+				src.get(chunk, 0, n);
+				deflater.setInput(chunk, 0, n);
+				while (!deflater.needsInput()) {
+					out.deflate(deflater);
+				}
+			}
+		}
+		deflater.finish();
+		while (!deflater.finished()) {
+			out.deflate(deflater);
+		}
+	}
+
+	/**
+	 * 解压一个完整的 deflate 流
+	 * @param inflater 解压器
+	 * @param src 输入,结束后 position 指向压缩流之后的第一个字节
+	 * @param out 输出
+	 * @throws IOException 数据格式错误或者不完整
+	 */
+	static void inflate(Inflater inflater, ByteBuffer src, Output out) throws IOException {
+		byte[] chunk = null;
+		byte[] probe = null;
+		while (!inflater.finished()) {
+			if (inflater.needsInput()) {
+				if (!src.hasRemaining()) {
+					throw new EOFException("Unexpected end of ZLIB input stream");
+				}
+				if (src.hasArray()) {
+					inflater.setInput(src.array(), src.arrayOffset() + src.position(), src.remaining());
+					src.position(src.limit());
+				}
+				else {
+					if (chunk == null) {
+						chunk = new byte[Math.min(src.remaining(), CHUNK_SIZE)];
+					}
+					final int n = Math.min(chunk.length, src.remaining());
+					src.get(chunk, 0, n);
+					inflater.setInput(chunk, 0, n);
+				}
+			}
+			if (out.pos < out.array.length) {
+				out.pos += inflate(inflater, out.array, out.pos, out.array.length - out.pos);
+			}
+			else {
+				// 输出已满时先试探,避免长度预估准确时仍然扩容
+				if (probe == null) {
+					probe = new byte[1];
+				}
+				if (inflate(inflater, probe, 0, 1) > 0) {
+					out.ensure(1);
+					out.array[out.pos++] = probe[0];
+				}
+			}
+		}
+		src.position(src.position() - inflater.getRemaining());
+	}
+
+	static int inflate(Inflater inflater, byte[] dest, int offset, int length) throws IOException {
+		try {
+			final int n = inflater.inflate(dest, offset, length);
+			if (n == 0 && inflater.needsDictionary()) {
+				throw new ZipException("Preset dictionary is not supported");
+			}
+			return n;
+		}
+		catch (DataFormatException e) {
+			throw new ZipException(e.getMessage());
+		}
+	}
+
+	/**
+	 * 自动扩容的输出数组
+	 */
+	static class Output {
+
+		byte[] array;
+
+		int pos;
+
+		Output(int capacity) {
+			this.array = new byte[Math.max(capacity, 0)];
+		}
+
+		void ensure(int size) {
+			if (array.length - pos < size) {
+				long grown = Math.max((long) array.length + (array.length >> 1), (long) pos + size);
+				if (grown > Integer.MAX_VALUE - 8) {
+					if ((long) pos + size > Integer.MAX_VALUE - 8) {
+						throw new OutOfMemoryError("Required array size too large");
+					}
+					grown = Integer.MAX_VALUE - 8;
+				}
+				array = Arrays.copyOf(array, (int) Math.max(grown, MIN_OUTPUT_SIZE));
+			}
+		}
+
+		void write(byte[] src, int offset, int length) {
+			ensure(length);
+			System.arraycopy(src, offset, array, pos, length);
+			pos += length;
+		}
+
+		void readFrom(InputStream input) throws IOException {
+			int n;
+			do {
+				ensure(1);
+				n = input.read(array, pos, array.length - pos);
+				if (n > 0) {
+					pos += n;
+				}
+			}
+			while (n >= 0);
+		}
+
+		void deflate(Deflater deflater) {
+			ensure(1);
+			pos += deflater.deflate(array, pos, array.length - pos);
+		}
+
+		ByteBuffer toByteBuffer() {
+			return ByteBuffer.wrap(pos == array.length ? array : Arrays.copyOf(array, pos));
+		}
+
+	}
+
+}
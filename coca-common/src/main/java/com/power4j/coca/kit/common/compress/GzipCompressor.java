@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * GZIP 压缩,基于 {@link CompressUtil}
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+class GzipCompressor extends AbstractCompressor {
+
+	private final int level;
+
+	private final int strategy;
+
+	GzipCompressor(String name, int level, int strategy) {
+		super(name);
+		this.level = level;
+		this.strategy = strategy;
+	}
+
+	@Override
+	public void compress(InputStream input, OutputStream output) throws IOException {
+		CompressUtil.gzip(DeflateKit.CHUNK_SIZE, input, shield(output), level, strategy);
+	}
+
+	@Override
+	public void decompress(InputStream input, OutputStream output) throws IOException {
+		CompressUtil.unGzip(DeflateKit.CHUNK_SIZE, shield(input), output);
+	}
+
+	@Override
+	protected ByteBuffer compress(ByteBuffer src) throws IOException {
+		return CompressUtil.gzip(src, level, strategy);
+	}
+
+	@Override
+	protected ByteBuffer decompress(ByteBuffer src) throws IOException {
+		return CompressUtil.unGzip(src);
+	}
+
+}
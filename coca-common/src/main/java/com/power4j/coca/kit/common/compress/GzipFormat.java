@@ -0,0 +1,399 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+
+/**
+ * GZIP 格式(RFC 1952)的头部和尾部
+ * <p>
+ * 所有 gzip 实现共用,包括 {@link CompressUtil},{@link ParallelGzip} 以及 {@code BufferGz} 的流式编解码
+ * </p>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+public final class GzipFormat {
+
+	public static final int HEADER_SIZE = 10;
+
+	public static final int TRAILER_SIZE = 8;
+
+	private static final int FHCRC = 2;
+
+	private static final int FEXTRA = 4;
+
+	private static final int FNAME = 8;
+
+	private static final int FCOMMENT = 16;
+
+	private static final byte[] HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+	private GzipFormat() {
+	}
+
+	/**
+	 * 逐字节读取的数据源
+	 */
+	interface ByteSource {
+
+		/**
+		 * 读取一个字节
+		 * @return {@code [0,255]},没有数据返回 -1
+		 * @throws IOException IO异常
+		 */
+		int read() throws IOException;
+
+	}
+
+	static ByteSource of(ByteBuffer src) {
+		return () -> src.hasRemaining() ? src.get() & 0xFF : -1;
+	}
+
+	/**
+	 * 写入不包含可选字段的头部
+	 * @param dest 输出
+	 * @param offset 偏移量
+	 */
+	public static void writeHeader(byte[] dest, int offset) {
+		System.arraycopy(HEADER, 0, dest, offset, HEADER_SIZE);
+	}
+
+	/**
+	 * 写入尾部
+	 * @param dest 输出
+	 * @param offset 偏移量
+	 * @param crc 原始数据的 CRC32
+	 * @param size 原始数据的长度
+	 */
+	public static void writeTrailer(byte[] dest, int offset, long crc, long size) {
+		writeIntLe(dest, offset, (int) crc);
+		writeIntLe(dest, offset + 4, (int) size);
+	}
+
+	/**
+	 * 校验尾部
+	 * @param trailer 尾部数据
+	 * @param offset 偏移量
+	 * @param crc 解压数据的 CRC32
+	 * @param size 解压数据的长度
+	 * @throws ZipException 校验失败
+	 */
+	public static void checkTrailer(byte[] trailer, int offset, long crc, long size) throws ZipException {
+		if (readIntLe(trailer, offset) != (crc & 0xFFFFFFFFL)) {
+			throw new ZipException("Corrupt GZIP trailer");
+		}
+		if (readIntLe(trailer, offset + 4) != (size & 0xFFFFFFFFL)) {
+			throw new ZipException("Corrupt GZIP trailer");
+		}
+	}
+
+	/**
+	 * 读取并跳过头部,存在 FHCRC 时校验头部
+	 * @param source 数据源
+	 * @param first 是否是第一个成员,后续成员不存在或者不以 gzip 标识开头时返回 false
+	 * @return 返回 false 表示没有更多成员
+	 * @throws IOException 格式错误或者数据不完整
+	 */
+	static boolean skipHeader(ByteSource source, boolean first) throws IOException {
+		final HeaderParser parser = new HeaderParser();
+		int b;
+		while ((b = source.read()) >= 0) {
+			final boolean magic = parser.bytesRead() < 2;
+			try {
+				if (parser.update(b)) {
+					return true;
+				}
+			}
+			catch (ZipException e) {
+				if (magic && !first) {
+					return false;
+				}
+				throw e;
+			}
+		}
+		if (parser.bytesRead() < 2 && !first) {
+			return false;
+		}
+		throw new EOFException("Unexpected end of GZIP data");
+	}
+
+	/**
+	 * 读取尾部并校验
+	 * @param src 数据源
+	 * @param crc 解压数据的 CRC32
+	 * @param size 解压数据的长度
+	 * @throws IOException 校验失败或者数据不完整
+	 */
+	static void checkTrailer(ByteSource src, long crc, long size) throws IOException {
+		final byte[] trailer = new byte[TRAILER_SIZE];
+		for (int i = 0; i < TRAILER_SIZE; ++i) {
+			trailer[i] = (byte) require(src);
+		}
+		checkTrailer(trailer, 0, crc, size);
+	}
+
+	/**
+	 * 根据最后一个成员尾部的 ISIZE 估计解压后的长度,不移动 position
+	 * @param src 压缩数据
+	 * @return 估计值,无法估计时返回 -1
+	 */
+	static int sizeHint(ByteBuffer src) {
+		if (src.remaining() < HEADER_SIZE + TRAILER_SIZE) {
+			return -1;
+		}
+		final int limit = src.limit();
+		final int size = (src.get(limit - 4) & 0xFF) | (src.get(limit - 3) & 0xFF) << 8
+				| (src.get(limit - 2) & 0xFF) << 16 | (src.get(limit - 1) & 0xFF) << 24;
+		// ISIZE 是长度对 2^32 取模的结果,并且可能被篡改,超出 deflate 的最大压缩比时不采用
+		final long max = (src.remaining() - HEADER_SIZE - TRAILER_SIZE) * 1032L + 64;
+		return size < 0 || size > max ? -1 : size;
+	}
+
+	/**
+	 * 合并 CRC32,算法与 zlib 的 {@code crc32_combine} 相同
+	 * @param crc1 第一段数据的 CRC32
+	 * @param crc2 第二段数据的 CRC32
+	 * @param len2 第二段数据的长度
+	 * @return 两段数据连接后的 CRC32
+	 */
+	static long combineCrc(long crc1, long crc2, long len2) {
+		if (len2 <= 0) {
+			return crc1;
+		}
+		final long[] even = new long[32];
+		final long[] odd = new long[32];
+		// 一个0比特对应的运算矩阵
+		odd[0] = 0xEDB88320L;
+		long row = 1;
+		for (int n = 1; n < 32; ++n) {
+			odd[n] = row;
+			row <<= 1;
+		}
+		gf2MatrixSquare(even, odd);
+		gf2MatrixSquare(odd, even);
+		// 按长度的二进制位依次应用 1,2,4... 字节0值的运算矩阵
+		do {
+			gf2MatrixSquare(even, odd);
+			if ((len2 & 1) != 0) {
+				crc1 = gf2MatrixTimes(even, crc1);
+			}
+			len2 >>= 1;
+			if (len2 == 0) {
+				break;
+			}
+			gf2MatrixSquare(odd, even);
+			if ((len2 & 1) != 0) {
+				crc1 = gf2MatrixTimes(odd, crc1);
+			}
+			len2 >>= 1;
+		}
+		while (len2 != 0);
+		return (crc1 ^ crc2) & 0xFFFFFFFFL;
+	}
+
+	private static long gf2MatrixTimes(long[] mat, long vec) {
+		long sum = 0;
+		for (int i = 0; vec != 0; ++i, vec >>>= 1) {
+			if ((vec & 1) != 0) {
+				sum ^= mat[i];
+			}
+		}
+		return sum;
+	}
+
+	private static void gf2MatrixSquare(long[] square, long[] mat) {
+		for (int n = 0; n < 32; ++n) {
+			square[n] = gf2MatrixTimes(mat, mat[n]);
+		}
+	}
+
+	private static int require(ByteSource src) throws IOException {
+		final int b = src.read();
+		if (b < 0) {
+			throw new EOFException("Unexpected end of GZIP data");
+		}
+		return b;
+	}
+
+	private static long readIntLe(byte[] src, int offset) {
+		return (src[offset] & 0xFF) | (src[offset + 1] & 0xFF) << 8 | (src[offset + 2] & 0xFF) << 16
+				| (long) (src[offset + 3] & 0xFF) << 24;
+	}
+
+	private static void writeIntLe(byte[] dest, int offset, int value) {
+		dest[offset] = (byte) value;
+		dest[offset + 1] = (byte) (value >>> 8);
+		dest[offset + 2] = (byte) (value >>> 16);
+		dest[offset + 3] = (byte) (value >>> 24);
+	}
+
+	/**
+	 * 逐字节解析头部,可以在任意位置暂停,跳过 FEXTRA,FNAME,FCOMMENT,存在 FHCRC 时校验头部
+	 */
+	public static final class HeaderParser {
+
+		private static final int FIXED = 0;
+
+		private static final int EXTRA_LENGTH = 1;
+
+		private static final int EXTRA = 2;
+
+		private static final int NAME = 3;
+
+		private static final int COMMENT = 4;
+
+		private static final int HEADER_CRC = 5;
+
+		private static final int DONE = 6;
+
+		private final CRC32 crc = new CRC32();
+
+		private int field = FIXED;
+
+		private int flags;
+
+		/**
+		 * 当前字段已读取的字节数
+		 */
+		private int count;
+
+		private int value;
+
+		private int bytesRead;
+
+		/**
+		 * 输入一个字节
+		 * @param b {@code [0,255]}
+		 * @return 返回 true 表示头部结束,后续是压缩数据
+		 * @throws ZipException 不是 gzip 格式(前两个字节),不支持的压缩方法或者头部校验失败
+		 * @throws IllegalStateException 头部已经结束
+		 */
+		public boolean update(int b) throws ZipException {
+			if (field == DONE) {
+				throw new IllegalStateException("Header already parsed");
+			}
+			++bytesRead;
+			++count;
+			if (field != HEADER_CRC) {
+				crc.update(b);
+			}
+			switch (field) {
+				case FIXED:
+					if (count <= 2 && b != (HEADER[count - 1] & 0xFF)) {
+						throw new ZipException("Not in GZIP format");
+					}
+					if (count == 3 && b != Deflater.DEFLATED) {
+						throw new ZipException("Unsupported compression method");
+					}
+					if (count == 4) {
+						flags = b;
+					}
+					if (count == HEADER_SIZE) {
+						next();
+					}
+					break;
+				case EXTRA_LENGTH:
+					value |= b << ((count - 1) << 3);
+					if (count == 2) {
+						next();
+					}
+					break;
+				case EXTRA:
+					if (count == value) {
+						next();
+					}
+					break;
+				case NAME:
+				case COMMENT:
+					// 以0结尾的文件名和注释
+					if (b == 0) {
+						next();
+					}
+					break;
+				case HEADER_CRC:
+					value |= b << ((count - 1) << 3);
+					if (count == 2) {
+						if (value != (crc.getValue() & 0xFFFF)) {
+							throw new ZipException("Corrupt GZIP header");
+						}
+						next();
+					}
+					break;
+				default:
+					throw new IllegalStateException();
+			}
+			return field == DONE;
+		}
+
+		/**
+		 * 已经输入的字节数
+		 * @return 字节数
+		 */
+		public int bytesRead() {
+			return bytesRead;
+		}
+
+		/**
+		 * 重置,用于解析下一个成员
+		 */
+		public void reset() {
+			crc.reset();
+			field = FIXED;
+			flags = 0;
+			count = 0;
+			value = 0;
+			bytesRead = 0;
+		}
+
+		/**
+		 * 按 FEXTRA,FNAME,FCOMMENT,FHCRC 的顺序进入下一个存在的字段
+		 */
+		private void next() {
+			final int extra = field == EXTRA_LENGTH ? value : 0;
+			count = 0;
+			value = 0;
+			if (field == EXTRA_LENGTH && extra > 0) {
+				field = EXTRA;
+				value = extra;
+			}
+			else if (field < EXTRA_LENGTH && (flags & FEXTRA) != 0) {
+				field = EXTRA_LENGTH;
+			}
+			else if (field < NAME && (flags & FNAME) != 0) {
+				field = NAME;
+			}
+			else if (field < COMMENT && (flags & FCOMMENT) != 0) {
+				field = COMMENT;
+			}
+			else if (field < HEADER_CRC && (flags & FHCRC) != 0) {
+				field = HEADER_CRC;
+			}
+			else {
+				field = DONE;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 并行 GZip 压缩,原理与 pigz 相同
+ * <ul>
+ * <li>输入按 {@code blockSize} 分块,每个块在 {@code executor} 中独立压缩,使用前一个块最后 32KB
+ * 作为预置字典,压缩率接近单线程</li>
+ * <li>除最后一块以外使用 {@code SYNC_FLUSH} 结束,块之间按字节对齐,直接拼接即为一个完整的 deflate 流</li>
+ * <li>每个块单独计算 CRC32,按顺序合并后写入尾部,输出是标准的单成员 gzip 数据,{@code CompressUtil.unGzip} 以及
+ * {@code GZIPInputStream} 都可以读取</li>
+ * <li>最多同时处理 {@code maxInFlight} 个块,内存占用约为 {@code blockSize * maxInFlight * 2}</li>
+ * </ul>
+ * 实例不可变,可以在多个线程中共享
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+public class ParallelGzip {
+
+	public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+	/**
+	 * deflate 的窗口大小,也是预置字典的最大长度
+	 */
+	static final int DICTIONARY_SIZE = 32 * 1024;
+
+	private final Executor executor;
+
+	private final int blockSize;
+
+	private final int level;
+
+	private final int strategy;
+
+	private final int maxInFlight;
+
+	private ParallelGzip(Executor executor, int blockSize, int level, int strategy, int maxInFlight) {
+		if (blockSize < DICTIONARY_SIZE) {
+			throw new IllegalArgumentException("block size must be at least " + DICTIONARY_SIZE);
+		}
+		if (maxInFlight <= 0) {
+			throw new IllegalArgumentException("max in flight must be positive");
+		}
+		this.executor = Objects.requireNonNull(executor);
+		this.blockSize = blockSize;
+		this.level = level;
+		this.strategy = strategy;
+		this.maxInFlight = maxInFlight;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * 压缩,不关闭输入输出流
+	 * @param input 输入,读取到结束
+	 * @param output 输出
+	 * @throws IOException IO异常,或者压缩任务执行失败
+	 */
+	public void compress(InputStream input, OutputStream output) throws IOException {
+		final byte[] buff = new byte[GzipFormat.HEADER_SIZE + GzipFormat.TRAILER_SIZE];
+		GzipFormat.writeHeader(buff, 0);
+		output.write(buff, 0, GzipFormat.HEADER_SIZE);
+
+		final Deque<CompletableFuture<Block>> pending = new ArrayDeque<>(maxInFlight);
+		long crc = 0;
+		long total = 0;
+		try {
+			byte[] previous = null;
+			int previousLength = 0;
+			byte[] current = new byte[blockSize];
+			int currentLength = readBlock(input, current);
+			while (true) {
+				final byte[] next = currentLength < blockSize ? null : new byte[blockSize];
+				final int nextLength = next == null ? 0 : readBlock(input, next);
+				final boolean last = nextLength == 0;
+				if (pending.size() >= maxInFlight) {
+					final Block block = await(pending.removeFirst());
+					crc = GzipFormat.combineCrc(crc, block.crc, block.length);
+					total += block.length;
+					output.write(block.data.array, 0, block.data.pos);
+				}
+				pending.addLast(submit(current, currentLength, previous, previousLength, last));
+				if (last) {
+					break;
+				}
+				previous = current;
+				previousLength = currentLength;
+				current = next;
+				currentLength = nextLength;
+			}
+			while (!pending.isEmpty()) {
+				final Block block = await(pending.removeFirst());
+				crc = GzipFormat.combineCrc(crc, block.crc, block.length);
+				total += block.length;
+				output.write(block.data.array, 0, block.data.pos);
+			}
+		}
+		finally {
+			pending.forEach(o -> o.cancel(false));
+		}
+		GzipFormat.writeTrailer(buff, 0, crc, total);
+		output.write(buff, 0, GzipFormat.TRAILER_SIZE);
+	}
+
+	/**
+	 * 读满一个块
+	 * @return 读取的字节数,小于块大小表示输入已经结束
+	 */
+	private static int readBlock(InputStream input, byte[] dest) throws IOException {
+		int length = 0;
+		int read;
+		while (length < dest.length && (read = input.read(dest, length, dest.length - length)) != -1) {
+			length += read;
+		}
+		return length;
+	}
+
+	private CompletableFuture<Block> submit(byte[] data, int length, @Nullable byte[] previous, int previousLength,
+			boolean last) {
+		return CompletableFuture.supplyAsync(() -> deflate(data, length, previous, previousLength, last), executor);
+	}
+
+	private Block deflate(byte[] data, int length, @Nullable byte[] previous, int previousLength, boolean last) {
+		final CRC32 crc = new CRC32();
+		crc.update(data, 0, length);
+		final DeflateKit.Output out = new DeflateKit.Output(Math.max(length >>> 1, DeflateKit.MIN_OUTPUT_SIZE));
+		final Deflater deflater = ZlibPool.deflater(level, strategy, true);
+		try {
+			if (previous != null) {
+				final int dictLength = Math.min(previousLength, DICTIONARY_SIZE);
+				deflater.setDictionary(previous, previousLength - dictLength, dictLength);
+			}
+			deflater.setInput(data, 0, length);
+			if (last) {
+				deflater.finish();
+				while (!deflater.finished()) {
+					out.deflate(deflater);
+				}
+			}
+			else {
+				// 输出空间被填满时需要继续调用,直到全部输入被压缩并对齐到字节边界.
+				// 复用的压缩器修改了级别或策略时,第一次调用只应用参数并返回0,不能据此判断结束
+				boolean done;
+				do {
+					out.ensure(DeflateKit.MIN_OUTPUT_SIZE);
+					final int space = out.array.length - out.pos;
+					final int n = deflater.deflate(out.array, out.pos, space, Deflater.SYNC_FLUSH);
+					out.pos += n;
+					done = n < space && deflater.needsInput();
+				}
+				while (!done);
+			}
+		}
+		finally {
+			ZlibPool.release(deflater);
+		}
+		return new Block(out, crc.getValue(), length);
+	}
+
+	private static Block await(CompletableFuture<Block> future) throws IOException {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for compression task");
+		}
+		catch (ExecutionException e) {
+			throw new IOException("Compression task failed", e.getCause());
+		}
+	}
+
+	private static class Block {
+
+		final DeflateKit.Output data;
+
+		final long crc;
+
+		final int length;
+
+		Block(DeflateKit.Output data, long crc, int length) {
+			this.data = data;
+			this.crc = crc;
+			this.length = length;
+		}
+
+	}
+
+	public static class Builder {
+
+		private Executor executor = ForkJoinPool.commonPool();
+
+		private int blockSize = DEFAULT_BLOCK_SIZE;
+
+		private int level = Deflater.DEFAULT_COMPRESSION;
+
+		private int strategy = Deflater.DEFAULT_STRATEGY;
+
+		private int maxInFlight = Runtime.getRuntime().availableProcessors() * 2;
+
+		/**
+		 * 执行压缩任务的线程池,默认使用 {@code ForkJoinPool.commonPool()}
+		 * @param executor Executor
+		 * @return Builder
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * 块大小,不能小于 32KB
+		 * @param blockSize 字节数
+		 * @return Builder
+		 */
+		public Builder blockSize(int blockSize) {
+			this.blockSize = blockSize;
+			return this;
+		}
+
+		/**
+		 * 压缩级别
+		 * @param level {@code [0,9]} 或者 {@code Deflater.DEFAULT_COMPRESSION}
+		 * @return Builder
+		 */
+		public Builder level(int level) {
+			this.level = level;
+			return this;
+		}
+
+		/**
+		 * 压缩策略
+		 * @param strategy 参考 {@code Deflater.DEFAULT_STRATEGY}
+		 * @return Builder
+		 */
+		public Builder strategy(int strategy) {
+			this.strategy = strategy;
+			return this;
+		}
+
+		/**
+		 * 同时处理的最大块数量,默认是处理器数量的2倍
+		 * @param maxInFlight 数量
+		 * @return Builder
+		 */
+		public Builder maxInFlight(int maxInFlight) {
+			this.maxInFlight = maxInFlight;
+			return this;
+		}
+
+		public ParallelGzip build() {
+			return new ParallelGzip(executor, blockSize, level, strategy, maxInFlight);
+		}
+
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 基于输入输出流包装的压缩算法
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+class StreamCompressor extends AbstractCompressor {
+
+	interface OutputWrapper {
+
+		OutputStream wrap(OutputStream output) throws IOException;
+
+	}
+
+	interface InputWrapper {
+
+		InputStream wrap(InputStream input) throws IOException;
+
+	}
+
+	private final OutputWrapper encoder;
+
+	private final InputWrapper decoder;
+
+	private final BooleanSupplier availability;
+
+	StreamCompressor(String name, OutputWrapper encoder, InputWrapper decoder, BooleanSupplier availability) {
+		super(name);
+		this.encoder = encoder;
+		this.decoder = decoder;
+		this.availability = availability;
+	}
+
+	@Override
+	public boolean isAvailable() {
+		return availability.getAsBoolean();
+	}
+
+	@Override
+	public void compress(InputStream input, OutputStream output) throws IOException {
+		try (OutputStream os = encoder.wrap(shield(output))) {
+			copy(input, os);
+		}
+	}
+
+	@Override
+	public void decompress(InputStream input, OutputStream output) throws IOException {
+		try (InputStream is = decoder.wrap(shield(input))) {
+			copy(is, output);
+		}
+	}
+
+	@Override
+	protected ByteBuffer compress(ByteBuffer src) throws IOException {
+		final DeflateKit.Output out = new DeflateKit.Output(
+				Math.max(src.remaining() >>> 1, DeflateKit.MIN_OUTPUT_SIZE));
+		try (OutputStream os = encoder.wrap(new OutputAdapter(out))) {
+			write(src, os);
+		}
+		return out.toByteBuffer();
+	}
+
+	@Override
+	protected ByteBuffer decompress(ByteBuffer src) throws IOException {
+		final DeflateKit.Output out = new DeflateKit.Output(Math.max(src.remaining() * 3, DeflateKit.MIN_OUTPUT_SIZE));
+		try (InputStream is = decoder.wrap(new BufferInputStream(src))) {
+			out.readFrom(is);
+		}
+		return out.toByteBuffer();
+	}
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.lang.Nullable;
+
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link Deflater}/{@link Inflater} 的线程内复用
+ * <ul>
+ * <li>每个线程按 {@code nowrap} 分别缓存一个空闲实例,取出时从缓存中移除,归还时重置后放回,缓存已有实例则直接释放</li>
+ * <li>可以在其他线程归还,实例会进入归还线程的缓存</li>
+ * <li>归还后不能再使用,同一个实例不能重复归还</li>
+ * </ul>
+ * 每个线程最多保留四个实例,对应的本地内存在线程结束后随缓存一起回收
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+@UtilityClass
+public class ZlibPool {
+
+	private final ThreadLocal<Slot> SLOT = ThreadLocal.withInitial(Slot::new);
+
+	/**
+	 * 取出压缩器
+	 * @param level 压缩级别 {@code [0,9]} 或者 {@code Deflater.DEFAULT_COMPRESSION}
+	 * @param nowrap 为 true 时输出原始 deflate 数据,不包含 zlib 头部和校验和
+	 * @return Deflater,使用完毕后调用 {@link #release(Deflater)}
+	 */
+	public Deflater deflater(int level, boolean nowrap) {
+		return deflater(level, Deflater.DEFAULT_STRATEGY, nowrap);
+	}
+
+	/**
+	 * 取出压缩器
+	 * @param level 压缩级别 {@code [0,9]} 或者 {@code Deflater.DEFAULT_COMPRESSION}
+	 * @param strategy 压缩策略,参考 {@code Deflater.FILTERED}/{@code Deflater.HUFFMAN_ONLY}
+	 * @param nowrap 为 true 时输出原始 deflate 数据,不包含 zlib 头部和校验和
+	 * @return Deflater,使用完毕后调用 {@link #release(Deflater)}
+	 */
+	public Deflater deflater(int level, int strategy, boolean nowrap) {
+		final Slot slot = SLOT.get();
+		final int index = nowrap ? 1 : 0;
+		PooledDeflater deflater = slot.deflaters[index];
+		if (deflater == null) {
+			deflater = new PooledDeflater(level, nowrap);
+		}
+		else {
+			slot.deflaters[index] = null;
+			deflater.setLevel(level);
+		}
+		deflater.setStrategy(strategy);
+		return deflater;
+	}
+
+	/**
+	 * 归还压缩器
+	 * @param deflater 压缩器,不是本类创建的实例直接释放
+	 */
+	public void release(@Nullable Deflater deflater) {
+		if (deflater == null) {
+			return;
+		}
+		if (!(deflater instanceof PooledDeflater)) {
+			deflater.end();
+			return;
+		}
+		final PooledDeflater pooled = (PooledDeflater) deflater;
+		final Slot slot = SLOT.get();
+		final int index = pooled.nowrap ? 1 : 0;
+		if (slot.deflaters[index] == null) {
+			pooled.reset();
+			slot.deflaters[index] = pooled;
+		}
+		else {
+			pooled.end();
+		}
+	}
+
+	/**
+	 * 取出解压器
+	 * @param nowrap 为 true 时输入是原始 deflate 数据,不包含 zlib 头部和校验和
+	 * @return Inflater,使用完毕后调用 {@link #release(Inflater)}
+	 */
+	public Inflater inflater(boolean nowrap) {
+		final Slot slot = SLOT.get();
+		final int index = nowrap ? 1 : 0;
+		PooledInflater inflater = slot.inflaters[index];
+		if (inflater == null) {
+			return new PooledInflater(nowrap);
+		}
+		slot.inflaters[index] = null;
+		return inflater;
+	}
+
+	/**
+	 * 归还解压器
+	 * @param inflater 解压器,不是本类创建的实例直接释放
+	 */
+	public void release(@Nullable Inflater inflater) {
+		if (inflater == null) {
+			return;
+		}
+		if (!(inflater instanceof PooledInflater)) {
+			inflater.end();
+			return;
+		}
+		final PooledInflater pooled = (PooledInflater) inflater;
+		final Slot slot = SLOT.get();
+		final int index = pooled.nowrap ? 1 : 0;
+		if (slot.inflaters[index] == null) {
+			pooled.reset();
+			slot.inflaters[index] = pooled;
+		}
+		else {
+			pooled.end();
+		}
+	}
+
+	private static class Slot {
+
+		final PooledDeflater[] deflaters = new PooledDeflater[2];
+
+		final PooledInflater[] inflaters = new PooledInflater[2];
+
+	}
+
+	private static class PooledDeflater extends Deflater {
+
+		final boolean nowrap;
+
+		PooledDeflater(int level, boolean nowrap) {
+			super(level, nowrap);
+			this.nowrap = nowrap;
+		}
+
+	}
+
+	private static class PooledInflater extends Inflater {
+
+		final boolean nowrap;
+
+		PooledInflater(boolean nowrap) {
+			super(nowrap);
+			this.nowrap = nowrap;
+		}
+
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+/**
+ * 字节数组上的基本类型读写,不做边界检查
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+final class Bits {
+
+	private Bits() {
+	}
+
+	static void putShort(byte[] b, int index, short value, boolean bigEndian) {
+		if (bigEndian) {
+			b[index] = (byte) (value >> 8);
+			b[index + 1] = (byte) value;
+		}
+		else {
+			b[index] = (byte) value;
+			b[index + 1] = (byte) (value >> 8);
+		}
+	}
+
+	static void putInt(byte[] b, int index, int value, boolean bigEndian) {
+		if (bigEndian) {
+			b[index] = (byte) (value >> 24);
+			b[index + 1] = (byte) (value >> 16);
+			b[index + 2] = (byte) (value >> 8);
+			b[index + 3] = (byte) value;
+		}
+		else {
+			b[index] = (byte) value;
+			b[index + 1] = (byte) (value >> 8);
+			b[index + 2] = (byte) (value >> 16);
+			b[index + 3] = (byte) (value >> 24);
+		}
+	}
+
+	static void putLong(byte[] b, int index, long value, boolean bigEndian) {
+		if (bigEndian) {
+			putInt(b, index, (int) (value >> 32), true);
+			putInt(b, index + 4, (int) value, true);
+		}
+		else {
+			putInt(b, index, (int) value, false);
+			putInt(b, index + 4, (int) (value >> 32), false);
+		}
+	}
+
+	static short getShort(byte[] b, int index, boolean bigEndian) {
+		if (bigEndian) {
+			return (short) ((b[index] << 8) | (b[index + 1] & 0xFF));
+		}
+		return (short) ((b[index + 1] << 8) | (b[index] & 0xFF));
+	}
+
+	static int getInt(byte[] b, int index, boolean bigEndian) {
+		if (bigEndian) {
+			return (b[index] << 24) | ((b[index + 1] & 0xFF) << 16) | ((b[index + 2] & 0xFF) << 8)
+					| (b[index + 3] & 0xFF);
+		}
+		return (b[index + 3] << 24) | ((b[index + 2] & 0xFF) << 16) | ((b[index + 1] & 0xFF) << 8) | (b[index] & 0xFF);
+	}
+
+	static long getLong(byte[] b, int index, boolean bigEndian) {
+		if (bigEndian) {
+			return ((long) getInt(b, index, true) << 32) | (getInt(b, index + 4, true) & 0xFFFFFFFFL);
+		}
+		return ((long) getInt(b, index + 4, false) << 32) | (getInt(b, index, false) & 0xFFFFFFFFL);
+	}
+
+}
@@ -16,12 +16,20 @@
 
 package com.power4j.coca.kit.common.io.buffer;
 
+import com.power4j.coca.kit.common.codec.binary.HexCodec;
 import lombok.experimental.UtilityClass;
-import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.codec.binary.Hex;
+import org.springframework.lang.Nullable;
 
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * @author CJ (power4j@outlook.com)
@@ -31,6 +39,14 @@ import java.nio.ByteBuffer;
 @UtilityClass
 public class BufferKit {
 
+	/**
+	 * 内存映射的默认窗口大小
+	 */
+	public final int DEFAULT_MAP_WINDOW_SIZE = 64 << 20;
+
+	@Nullable
+	private final Unmapper UNMAPPER = lookupUnmapper();
+
 	/**
 	 * 创建buffer
 	 * @param length 长度
@@ -40,6 +56,36 @@ public class BufferKit {
 		return ByteBuffer.allocate(length);
 	}
 
+	/**
+	 * 从共享池中获取buffer,使用完毕后调用 {@link #recycle(ByteBuffer)}
+	 * @param length 长度
+	 * @return ByteBuffer,{@code limit = length},容量可能更大
+	 * @see ByteDataPool#shared()
+	 */
+	public ByteBuffer allocatePooled(int length) {
+		return ByteDataPool.shared().acquireBuffer(length, false);
+	}
+
+	/**
+	 * 从共享池中获取堆外buffer,使用完毕后调用 {@link #recycle(ByteBuffer)}
+	 * @param length 长度
+	 * @return ByteBuffer,{@code limit = length},容量可能更大
+	 * @see ByteDataPool#shared()
+	 */
+	public ByteBuffer allocateDirectPooled(int length) {
+		return ByteDataPool.shared().acquireBuffer(length, true);
+	}
+
+	/**
+	 * 将buffer归还到共享池
+	 * @param buffer 通过 {@code allocatePooled} 或者 {@code allocateDirectPooled} 获取的buffer
+	 * @return 返回true表示已经归还,其他buffer会被忽略
+	 * @see ByteDataPool#release(ByteBuffer)
+	 */
+	public boolean recycle(ByteBuffer buffer) {
+		return ByteDataPool.shared().release(buffer);
+	}
+
 	/**
 	 * 包装字节数组,与该数组共享元素
 	 * @param buf 数据源
@@ -108,12 +154,7 @@ public class BufferKit {
 	 * @throws IllegalArgumentException 输入的字符串不是HEX编码
 	 */
 	public ByteBuffer fromHex(String hexStr) {
-		try {
-			return wrap(Hex.decodeHex(hexStr));
-		}
-		catch (DecoderException e) {
-			throw new IllegalArgumentException(e);
-		}
+		return wrap(HexCodec.decode(hexStr));
 	}
 
 	/**
@@ -125,4 +166,156 @@ public class BufferKit {
 		return wrap(Base64.decodeBase64(base64Str));
 	}
 
+	/**
+	 * 聚集写出,直到全部写完或者通道暂时无法写入(返回0,如非阻塞通道的发送缓冲区已满)
+	 * <p>
+	 * 各buffer的 position 随写出移动,未写完时可以在通道再次可写(如 {@code OP_WRITE})后使用同一个数组继续调用
+	 * </p>
+	 * @param channel 目标通道
+	 * @param buffers 数据
+	 * @return 本次写出的字节数
+	 * @throws IOException IO异常
+	 */
+	public long write(GatheringByteChannel channel, ByteBuffer[] buffers) throws IOException {
+		long total = 0;
+		int first = 0;
+		while (true) {
+			while (first < buffers.length && !buffers[first].hasRemaining()) {
+				++first;
+			}
+			if (first == buffers.length) {
+				return total;
+			}
+			long count = channel.write(buffers, first, buffers.length - first);
+			if (count <= 0) {
+				return total;
+			}
+			total += count;
+		}
+	}
+
+	// ~ Memory mapped file
+	// ===================================================================================================
+
+	/**
+	 * 以内存映射的方式读取文件,使用默认窗口大小,不预加载
+	 * @param path 文件路径
+	 * @param order 字节序
+	 * @return MappedByteBufferReader,使用完毕后需要关闭
+	 * @throws IOException IO异常
+	 */
+	public MappedByteBufferReader mappedReader(Path path, @Nullable ByteOrder order) throws IOException {
+		return mappedReader(path, DEFAULT_MAP_WINDOW_SIZE, false, order);
+	}
+
+	/**
+	 * 以内存映射的方式读取文件
+	 * @param path 文件路径
+	 * @param windowSize 窗口大小
+	 * @param preload 每次映射窗口后同步加载整个窗口(阻塞直到数据读入内存),仅适用于需要完整读取每个窗口的顺序读取
+	 * @param order 字节序
+	 * @return MappedByteBufferReader,使用完毕后需要关闭
+	 * @throws IOException IO异常
+	 * @see java.nio.MappedByteBuffer#load()
+	 */
+	public MappedByteBufferReader mappedReader(Path path, int windowSize, boolean preload, @Nullable ByteOrder order)
+			throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return MappedByteBufferReader.open(channel, windowSize, preload, order);
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * 以内存映射的方式写入文件,文件已存在时清空,使用默认窗口大小
+	 * @param path 文件路径
+	 * @param order 字节序
+	 * @return MappedByteBufferWriter,使用完毕后需要关闭
+	 * @throws IOException IO异常
+	 */
+	public MappedByteBufferWriter mappedWriter(Path path, @Nullable ByteOrder order) throws IOException {
+		return mappedWriter(path, DEFAULT_MAP_WINDOW_SIZE, order);
+	}
+
+	/**
+	 * 以内存映射的方式写入文件,文件已存在时清空
+	 * @param path 文件路径
+	 * @param windowSize 窗口大小
+	 * @param order 字节序
+	 * @return MappedByteBufferWriter,使用完毕后需要关闭
+	 * @throws IOException IO异常
+	 */
+	public MappedByteBufferWriter mappedWriter(Path path, int windowSize, @Nullable ByteOrder order)
+			throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			return MappedByteBufferWriter.open(channel, windowSize, order);
+		}
+		catch (RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * 立即释放堆外buffer或者内存映射,不等待GC
+	 * <p>
+	 * <b>释放后不能再访问该buffer及其视图,否则可能导致JVM崩溃</b>
+	 * </p>
+	 * @param buffer 通过 {@code allocateDirect} 或者 {@code FileChannel.map} 创建的buffer,不能是视图
+	 * @return 返回false表示不支持释放,此时由GC回收
+	 */
+	public boolean unmap(ByteBuffer buffer) {
+		if (!buffer.isDirect() || UNMAPPER == null) {
+			return false;
+		}
+		try {
+			UNMAPPER.unmap(buffer);
+			return true;
+		}
+		catch (Throwable e) {
+			return false;
+		}
+	}
+
+	private interface Unmapper {
+
+		void unmap(ByteBuffer buffer) throws Throwable;
+
+	}
+
+	@Nullable
+	private Unmapper lookupUnmapper() {
+		try {
+			// Java 9+
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			Object unsafe = field.get(null);
+			return buffer -> invokeCleaner.invoke(unsafe, buffer);
+		}
+		catch (Exception e) {
+			// Java 8
+		}
+		try {
+			Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+			Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+			return buffer -> {
+				Object c = cleaner.invoke(buffer);
+				if (c != null) {
+					clean.invoke(c);
+				}
+			};
+		}
+		catch (Exception e) {
+			return null;
+		}
+	}
+
 }
@@ -16,17 +16,23 @@
 
 package com.power4j.coca.kit.common.io.buffer;
 
-import org.apache.commons.codec.binary.Hex;
+import com.power4j.coca.kit.common.codec.binary.HexCodec;
+import com.power4j.coca.kit.common.io.codec.impl.Base64Codec;
+import com.power4j.coca.kit.common.number.UnsignedLong;
 import org.springframework.lang.Nullable;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.Base64;
 import java.util.Objects;
 
 /**
@@ -44,6 +50,20 @@ public class ByteBufferReader {
 
 	protected ByteBuffer buffer;
 
+	/**
+	 * 源buffer的底层数组,用于避免拷贝,只读buffer或者堆外buffer为null
+	 */
+	@Nullable
+	private final byte[] array;
+
+	private final int arrayOffset;
+
+	@Nullable
+	private CharsetDecoder decoder;
+
+	@Nullable
+	private CharBuffer chars;
+
 	public static ByteBufferReader of(ByteBuffer buffer, @Nullable ByteOrder order) {
 		return new ByteBufferReader(buffer, order);
 	}
@@ -58,6 +78,14 @@ public class ByteBufferReader {
 	 * @param order 字节序
 	 */
 	ByteBufferReader(ByteBuffer buffer, @Nullable ByteOrder order) {
+		if (buffer.hasArray()) {
+			this.array = buffer.array();
+			this.arrayOffset = buffer.arrayOffset();
+		}
+		else {
+			this.array = null;
+			this.arrayOffset = 0;
+		}
 		this.buffer = buffer.asReadOnlyBuffer();
 		if (Objects.nonNull(order)) {
 			this.buffer.order(order);
@@ -91,6 +119,7 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public char readChar() {
+		ensureReadable(Character.BYTES);
 		return buffer.getChar();
 	}
 
@@ -127,6 +156,7 @@ public class ByteBufferReader {
 	 */
 	public byte[] readBytes(int size) {
 		byte[] bytes = new byte[size];
+		ensureReadable(size);
 		buffer.get(bytes);
 		return bytes;
 	}
@@ -137,6 +167,7 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public byte readByte() {
+		ensureReadable(Byte.BYTES);
 		return buffer.get();
 	}
 
@@ -146,6 +177,7 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public short readShort() {
+		ensureReadable(Short.BYTES);
 		return buffer.getShort();
 	}
 
@@ -155,6 +187,7 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public int readInt() {
+		ensureReadable(Integer.BYTES);
 		return buffer.getInt();
 	}
 
@@ -164,6 +197,7 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public long readLong() {
+		ensureReadable(Long.BYTES);
 		return buffer.getLong();
 	}
 
@@ -173,6 +207,7 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public int readU8() {
+		ensureReadable(Byte.BYTES);
 		return Byte.toUnsignedInt(buffer.get());
 	}
 
@@ -182,6 +217,7 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public int readU16() {
+		ensureReadable(Short.BYTES);
 		return Short.toUnsignedInt(buffer.getShort());
 	}
 
@@ -191,6 +227,7 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public long readU32() {
+		ensureReadable(Integer.BYTES);
 		return Integer.toUnsignedLong(buffer.getInt());
 	}
 
@@ -200,15 +237,135 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public BigInteger readU64() {
+		ensureReadable(Long.BYTES);
 		return BigInteger.valueOf(buffer.getLong()).and(U64_MASK);
 	}
 
+	/**
+	 * 读无符号整数,不创建 BigInteger
+	 * @return 原始比特位,大于 {@code Long.MAX_VALUE} 时为负数,使用 {@code Long.compareUnsigned},
+	 * {@code Long.toUnsignedString} 等方法处理
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public long readU64AsLong() {
+		ensureReadable(Long.BYTES);
+		return buffer.getLong();
+	}
+
+	/**
+	 * 读无符号整数
+	 * @return UnsignedLong
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public UnsignedLong readUnsignedLong() {
+		ensureReadable(Long.BYTES);
+		return UnsignedLong.fromLongBits(buffer.getLong());
+	}
+
+	/**
+	 * 批量读无符号整数,语义同 {@code readU64AsLong()}
+	 * @param dest 写入目标
+	 * @param offset dest的写入位置偏移量
+	 * @param length 数量
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public ByteBufferReader readU64Into(long[] dest, int offset, int length) {
+		return readLongs(dest, offset, length);
+	}
+
+	/**
+	 * 批量读无符号整数,填满目标数组,语义同 {@code readU64AsLong()}
+	 * @param dest 写入目标
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public ByteBufferReader readU64Into(long[] dest) {
+		return readLongs(dest, 0, dest.length);
+	}
+
+	/**
+	 * 批量读 short
+	 * @param dest 写入目标
+	 * @param offset dest的写入位置偏移量
+	 * @param length 数量
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public ByteBufferReader readShorts(short[] dest, int offset, int length) {
+		ensureReadable(length * Short.BYTES);
+		buffer.asShortBuffer().get(dest, offset, length);
+		buffer.position(buffer.position() + length * Short.BYTES);
+		return this;
+	}
+
+	/**
+	 * 批量读 short,填满目标数组
+	 * @param dest 写入目标
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public ByteBufferReader readShorts(short[] dest) {
+		return readShorts(dest, 0, dest.length);
+	}
+
+	/**
+	 * 批量读 int
+	 * @param dest 写入目标
+	 * @param offset dest的写入位置偏移量
+	 * @param length 数量
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public ByteBufferReader readInts(int[] dest, int offset, int length) {
+		ensureReadable(length * Integer.BYTES);
+		buffer.asIntBuffer().get(dest, offset, length);
+		buffer.position(buffer.position() + length * Integer.BYTES);
+		return this;
+	}
+
+	/**
+	 * 批量读 int,填满目标数组
+	 * @param dest 写入目标
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public ByteBufferReader readInts(int[] dest) {
+		return readInts(dest, 0, dest.length);
+	}
+
+	/**
+	 * 批量读 long
+	 * @param dest 写入目标
+	 * @param offset dest的写入位置偏移量
+	 * @param length 数量
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public ByteBufferReader readLongs(long[] dest, int offset, int length) {
+		ensureReadable(length * Long.BYTES);
+		buffer.asLongBuffer().get(dest, offset, length);
+		buffer.position(buffer.position() + length * Long.BYTES);
+		return this;
+	}
+
+	/**
+	 * 批量读 long,填满目标数组
+	 * @param dest 写入目标
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public ByteBufferReader readLongs(long[] dest) {
+		return readLongs(dest, 0, dest.length);
+	}
+
 	/**
 	 * 读 float <b>此方法使用默认字节序,如果必要请先设置字节序</b>
 	 * @return long 值
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public float readFloat() {
+		ensureReadable(Float.BYTES);
 		return buffer.getFloat();
 	}
 
@@ -218,9 +375,88 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public double readDouble() {
+		ensureReadable(Double.BYTES);
 		return buffer.getDouble();
 	}
 
+	/**
+	 * 读 LEB128 变长整数
+	 * @return int 值
+	 * @throws BufferUnderflowException 无数据可读,此时读指针不变
+	 * @throws IllegalStateException 数据格式错误(超过5字节)
+	 * @see VarInt
+	 */
+	public int readVarInt() {
+		ensureReadable(VarInt.MAX_VAR_INT_SIZE);
+		if (array != null && readableBytes() >= VarInt.MAX_VAR_INT_SIZE) {
+			return readVarIntFast();
+		}
+		int pos = buffer.position();
+		final int limit = buffer.limit();
+		int result = 0;
+		for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+			if (pos >= limit) {
+				throw new BufferUnderflowException();
+			}
+			byte b = buffer.get(pos++);
+			result |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				buffer.position(pos);
+				return result;
+			}
+		}
+		throw new IllegalStateException("Malformed varint");
+	}
+
+	/**
+	 * 读 LEB128 变长整数
+	 * @return long 值
+	 * @throws BufferUnderflowException 无数据可读,此时读指针不变
+	 * @throws IllegalStateException 数据格式错误(超过10字节)
+	 * @see VarInt
+	 */
+	public long readVarLong() {
+		ensureReadable(VarInt.MAX_VAR_LONG_SIZE);
+		if (array != null && readableBytes() >= VarInt.MAX_VAR_LONG_SIZE) {
+			return readVarLongFast();
+		}
+		int pos = buffer.position();
+		final int limit = buffer.limit();
+		long result = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += 7) {
+			if (pos >= limit) {
+				throw new BufferUnderflowException();
+			}
+			byte b = buffer.get(pos++);
+			result |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				buffer.position(pos);
+				return result;
+			}
+		}
+		throw new IllegalStateException("Malformed varint");
+	}
+
+	/**
+	 * 读 ZigZag 编码的变长整数
+	 * @return int 值
+	 * @throws BufferUnderflowException 无数据可读,此时读指针不变
+	 * @throws IllegalStateException 数据格式错误
+	 */
+	public int readZigZag32() {
+		return VarInt.decodeZigZag(readVarInt());
+	}
+
+	/**
+	 * 读 ZigZag 编码的变长整数
+	 * @return long 值
+	 * @throws BufferUnderflowException 无数据可读,此时读指针不变
+	 * @throws IllegalStateException 数据格式错误
+	 */
+	public long readZigZag64() {
+		return VarInt.decodeZigZag(readVarLong());
+	}
+
 	/**
 	 * 读字符串
 	 * @param length 最大字符长度
@@ -230,12 +466,28 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public String readString(int length, Charset charset, boolean dropTail) {
-		byte[] raw = readBytes(length);
-		int pos;
-		if (dropTail && (pos = findFirst(raw, STR_END)) != NOT_FOUND) {
-			return new String(raw, 0, pos - 1, charset);
+		final int start = consume(length);
+		final int size = dropTail ? stringLength(start, length) : length;
+		if (array != null) {
+			return new String(array, arrayOffset + start, size, charset);
 		}
-		return new String(raw, charset);
+		return decode(start, size, charset).toString();
+	}
+
+	/**
+	 * 读字符串,追加到 {@code StringBuilder},不创建 String 对象
+	 * @param dest 追加目标
+	 * @param length 最大字符长度
+	 * @param charset 字符集
+	 * @param dropTail 丢弃字符串结束符(0x0)以及之后的数据,用于处理C风格字符串
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	public ByteBufferReader readStringInto(StringBuilder dest, int length, Charset charset, boolean dropTail) {
+		final int start = consume(length);
+		final int size = dropTail ? stringLength(start, length) : length;
+		dest.append(decode(start, size, charset));
+		return this;
 	}
 
 	/**
@@ -260,15 +512,20 @@ public class ByteBufferReader {
 	 * @see StandardCharsets#UTF_16
 	 */
 	public String readUnicodeString(int length, Charset charset, boolean dropTail) {
-		byte[] raw = readBytes(length);
+		final int start = consume(length);
+		int size = length;
 		if (dropTail) {
-			for (int i = 0; i < length; i += 2) {
-				if (raw[i] == STR_END && raw[i + 1] == STR_END) {
-					return new String(raw, 0, i, charset);
+			for (int i = 0; i + 1 < length; i += 2) {
+				if (byteAt(start + i) == STR_END && byteAt(start + i + 1) == STR_END) {
+					size = i;
+					break;
 				}
 			}
 		}
-		return new String(raw, charset);
+		if (array != null) {
+			return new String(array, arrayOffset + start, size, charset);
+		}
+		return decode(start, size, charset).toString();
 	}
 
 	/**
@@ -279,12 +536,11 @@ public class ByteBufferReader {
 	 * @throws BufferUnderflowException 无数据可读
 	 */
 	public ByteBufferReader transfer(byte[] dest, int offset, int length) {
-		if (length > readableBytes()) {
+		ensureReadable(length);
+		if (length > buffer.remaining()) {
 			throw new BufferUnderflowException();
 		}
-		while (length-- > 0) {
-			dest[offset++] = readByte();
-		}
+		buffer.get(dest, offset, length);
 		return this;
 	}
 
@@ -297,6 +553,78 @@ public class ByteBufferReader {
 		return transfer(dest, 0, dest.length);
 	}
 
+	/**
+	 * 读数据到目标 ByteBuffer,数量为 {@code min(readableBytes(), dest.remaining())}
+	 * @param dest 写入目标
+	 * @return 传输的字节数
+	 */
+	public int transferTo(ByteBuffer dest) {
+		ensureReadable(dest.remaining());
+		final int length = Math.min(buffer.remaining(), dest.remaining());
+		if (length == buffer.remaining()) {
+			dest.put(buffer);
+		}
+		else {
+			final int limit = buffer.limit();
+			buffer.limit(buffer.position() + length);
+			dest.put(buffer);
+			buffer.limit(limit);
+		}
+		return length;
+	}
+
+	/**
+	 * 读出全部剩余数据写入通道,通道暂时无法写入(返回0)时停止
+	 * @param channel 写入目标
+	 * @return 传输的字节数
+	 * @throws IOException IO异常
+	 */
+	public long transferTo(WritableByteChannel channel) throws IOException {
+		long total = 0;
+		while (buffer.hasRemaining()) {
+			int count = channel.write(buffer);
+			if (count <= 0) {
+				break;
+			}
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * 读出指定长度的数据写入 {@code ByteBufferWriter}
+	 * @param writer 写入目标
+	 * @param length 字节数
+	 * @return ByteBufferReader
+	 * @throws BufferUnderflowException 无数据可读
+	 * @throws java.nio.BufferOverflowException 无空间可写
+	 */
+	public ByteBufferReader transferTo(ByteBufferWriter writer, int length) {
+		ensureReadable(length);
+		if (length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		final int limit = buffer.limit();
+		buffer.limit(buffer.position() + length);
+		try {
+			writer.writeBytes(buffer);
+		}
+		finally {
+			buffer.limit(limit);
+		}
+		return this;
+	}
+
+	/**
+	 * 读出全部剩余数据写入 {@code ByteBufferWriter}
+	 * @param writer 写入目标
+	 * @return ByteBufferReader
+	 * @throws java.nio.BufferOverflowException 无空间可写
+	 */
+	public ByteBufferReader transferTo(ByteBufferWriter writer) {
+		return transferTo(writer, readableBytes());
+	}
+
 	/**
 	 * 可读取的数据量
 	 * @return 字节数
@@ -352,11 +680,17 @@ public class ByteBufferReader {
 	 * @return 无数据可读返回空字符串
 	 */
 	public String dumpHex() {
-		int size = readableBytes();
-		if (size > 0) {
-			return Hex.encodeHexString(readBytes(size));
+		final int size = readableBytes();
+		if (size <= 0) {
+			return "";
+		}
+		final int start = consume(size);
+		if (array != null) {
+			return HexCodec.encodeToString(array, arrayOffset + start, size, false);
 		}
-		return "";
+		ByteBuffer region = buffer.duplicate();
+		region.limit(start + size).position(start);
+		return HexCodec.encodeToString(region, false);
 	}
 
 	/**
@@ -364,11 +698,22 @@ public class ByteBufferReader {
 	 * @return 无数据可读返回空字符串
 	 */
 	public String dumpBase64() {
-		int size = readableBytes();
-		if (size > 0) {
-			return Base64.getEncoder().encodeToString(readBytes(size));
+		final int size = readableBytes();
+		if (size <= 0) {
+			return "";
+		}
+		final int start = consume(size);
+		ByteBuffer region;
+		if (array != null) {
+			region = ByteBuffer.wrap(array, arrayOffset + start, size);
 		}
-		return "";
+		else {
+			region = buffer.duplicate();
+			region.limit(start + size).position(start);
+		}
+		char[] chars = new char[Base64Codec.encodedLength(size)];
+		Base64Codec.encode(region, CharBuffer.wrap(chars), true);
+		return new String(chars);
 	}
 
 	/**
@@ -379,6 +724,191 @@ public class ByteBufferReader {
 		return buffer;
 	}
 
+	// ~ Internal
+	// ===================================================================================================
+
+	/**
+	 * 读取前调用,子类可以在可读数据不足时加载后续数据
+	 * <p>
+	 * 默认不做任何处理,数据不足时由读操作抛出 {@code BufferUnderflowException}
+	 * </p>
+	 * @param length 需要读取的字节数
+	 */
+	protected void ensureReadable(int length) {
+		// 固定内容
+	}
+
+	/**
+	 * 移动读指针
+	 * @param length 字节数
+	 * @return 移动前的读指针
+	 * @throws BufferUnderflowException 无数据可读
+	 */
+	private int consume(int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("length < 0");
+		}
+		ensureReadable(length);
+		if (length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		final int start = buffer.position();
+		buffer.position(start + length);
+		return start;
+	}
+
+	/**
+	 * 展开循环的 VarInt 解码,调用方保证至少有5字节可读并且由数组支持
+	 * @return int 值
+	 */
+	private int readVarIntFast() {
+		final byte[] src = array;
+		final int start = buffer.position();
+		int pos = arrayOffset + start;
+		int x;
+		if ((x = src[pos++]) >= 0) {
+			buffer.position(start + 1);
+			return x;
+		}
+		if ((x ^= src[pos++] << 7) < 0) {
+			x ^= ~0 << 7;
+		}
+		else if ((x ^= src[pos++] << 14) >= 0) {
+			x ^= (~0 << 7) ^ (~0 << 14);
+		}
+		else if ((x ^= src[pos++] << 21) < 0) {
+			x ^= (~0 << 7) ^ (~0 << 14) ^ (~0 << 21);
+		}
+		else {
+			int y = src[pos++];
+			if (y < 0) {
+				throw new IllegalStateException("Malformed varint");
+			}
+			x ^= y << 28;
+			x ^= (~0 << 7) ^ (~0 << 14) ^ (~0 << 21) ^ (~0 << 28);
+		}
+		buffer.position(pos - arrayOffset);
+		return x;
+	}
+
+	/**
+	 * 展开循环的 VarLong 解码,调用方保证至少有10字节可读并且由数组支持
+	 * @return long 值
+	 */
+	private long readVarLongFast() {
+		final byte[] src = array;
+		final int start = buffer.position();
+		int pos = arrayOffset + start;
+		long x;
+		int y;
+		if ((y = src[pos++]) >= 0) {
+			buffer.position(start + 1);
+			return y;
+		}
+		if ((y ^= src[pos++] << 7) < 0) {
+			x = y ^ (~0 << 7);
+		}
+		else if ((y ^= src[pos++] << 14) >= 0) {
+			x = y ^ ((~0 << 7) ^ (~0 << 14));
+		}
+		else if ((y ^= src[pos++] << 21) < 0) {
+			x = y ^ ((~0 << 7) ^ (~0 << 14) ^ (~0 << 21));
+		}
+		else if ((x = y ^ ((long) src[pos++] << 28)) >= 0L) {
+			x ^= (~0L << 7) ^ (~0L << 14) ^ (~0L << 21) ^ (~0L << 28);
+		}
+		else if ((x ^= (long) src[pos++] << 35) < 0L) {
+			x ^= (~0L << 7) ^ (~0L << 14) ^ (~0L << 21) ^ (~0L << 28) ^ (~0L << 35);
+		}
+		else if ((x ^= (long) src[pos++] << 42) >= 0L) {
+			x ^= (~0L << 7) ^ (~0L << 14) ^ (~0L << 21) ^ (~0L << 28) ^ (~0L << 35) ^ (~0L << 42);
+		}
+		else if ((x ^= (long) src[pos++] << 49) < 0L) {
+			x ^= (~0L << 7) ^ (~0L << 14) ^ (~0L << 21) ^ (~0L << 28) ^ (~0L << 35) ^ (~0L << 42) ^ (~0L << 49);
+		}
+		else {
+			x ^= (long) src[pos++] << 56;
+			x ^= (~0L << 7) ^ (~0L << 14) ^ (~0L << 21) ^ (~0L << 28) ^ (~0L << 35) ^ (~0L << 42) ^ (~0L << 49)
+					^ (~0L << 56);
+			if (x < 0L) {
+				// 第10字节只有最低位有效
+				byte b = src[pos++];
+				if (b < 0) {
+					throw new IllegalStateException("Malformed varint");
+				}
+				x = (x & Long.MAX_VALUE) | ((long) b << 63);
+			}
+		}
+		buffer.position(pos - arrayOffset);
+		return x;
+	}
+
+	private byte byteAt(int index) {
+		return array != null ? array[arrayOffset + index] : buffer.get(index);
+	}
+
+	/**
+	 * C风格字符串的长度
+	 * @param start 起始位置
+	 * @param length 最大长度
+	 * @return 第一个字符串结束符之前的字节数
+	 */
+	private int stringLength(int start, int length) {
+		for (int i = 0; i < length; ++i) {
+			if (byteAt(start + i) == STR_END) {
+				return i;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * 解码到内部复用的 CharBuffer,结果在下一次解码前有效
+	 * @param start 起始位置
+	 * @param length 字节数
+	 * @param charset 字符集
+	 * @return CharBuffer
+	 */
+	private CharBuffer decode(int start, int length, Charset charset) {
+		final boolean latin1 = StandardCharsets.ISO_8859_1.equals(charset);
+		if (latin1 || StandardCharsets.US_ASCII.equals(charset)) {
+			CharBuffer out = charBuffer(length);
+			for (int i = 0; i < length; ++i) {
+				byte b = byteAt(start + i);
+				out.put(latin1 || b >= 0 ? (char) (b & 0xFF) : '\uFFFD');
+			}
+			out.flip();
+			return out;
+		}
+		if (decoder == null || !decoder.charset().equals(charset)) {
+			decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+		ByteBuffer in;
+		if (array != null) {
+			in = ByteBuffer.wrap(array, arrayOffset + start, length);
+		}
+		else {
+			in = buffer.duplicate();
+			in.limit(start + length).position(start);
+		}
+		CharBuffer out = charBuffer((int) Math.ceil(length * (double) decoder.maxCharsPerByte()));
+		decoder.reset();
+		decoder.decode(in, out, true);
+		decoder.flush(out);
+		out.flip();
+		return out;
+	}
+
+	private CharBuffer charBuffer(int capacity) {
+		if (chars == null || chars.capacity() < capacity) {
+			chars = CharBuffer.allocate(Math.max(capacity, 64));
+		}
+		chars.clear();
+		return chars;
+	}
+
 	/**
 	 * 查找
 	 * @param src 源
@@ -21,7 +21,11 @@ import org.springframework.lang.Nullable;
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Objects;
@@ -37,6 +41,9 @@ public class ByteBufferWriter {
 
 	protected ByteBuffer buffer;
 
+	@Nullable
+	private CharsetEncoder encoder;
+
 	public static ByteBufferWriter of(ByteBuffer buffer, @Nullable ByteOrder order) {
 		return new ByteBufferWriter(buffer, order);
 	}
@@ -53,6 +60,18 @@ public class ByteBufferWriter {
 		return new ByteBufferWriter(BufferKit.wrap(src, 0, src.length), null);
 	}
 
+	/**
+	 * 使用池中的buffer创建,使用完毕后通过 {@code pool.release(writer.getBuffer())} 归还
+	 * @param pool 缓冲区池
+	 * @param size 可写入的字节数
+	 * @param order 字节序
+	 * @return ByteBufferWriter
+	 * @see ByteDataPool#acquireBuffer(int, boolean)
+	 */
+	public static ByteBufferWriter of(ByteDataPool pool, int size, @Nullable ByteOrder order) {
+		return new ByteBufferWriter(pool.acquireBuffer(size, false), order);
+	}
+
 	/**
 	 * 构造方法
 	 * @param buffer buffer
@@ -75,6 +94,7 @@ public class ByteBufferWriter {
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeByte(int b) {
+		ensureWritable(Byte.BYTES);
 		buffer.put((byte) b);
 		return this;
 	}
@@ -90,9 +110,11 @@ public class ByteBufferWriter {
 		if (count < 0) {
 			throw new IllegalArgumentException("count 不能小于0");
 		}
-		while (count-- > 0) {
-			buffer.put((byte) b);
+		ensureWritable(count);
+		if (count > buffer.remaining()) {
+			throw new BufferOverflowException();
 		}
+		fill((byte) b, count);
 		return this;
 	}
 
@@ -103,6 +125,7 @@ public class ByteBufferWriter {
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeChar(int val) {
+		ensureWritable(Character.BYTES);
 		buffer.putChar((char) val);
 		return this;
 	}
@@ -116,6 +139,7 @@ public class ByteBufferWriter {
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeBytes(byte[] src, int offset, int length) {
+		ensureWritable(length);
 		buffer.put(src, offset, length);
 		return this;
 	}
@@ -127,10 +151,96 @@ public class ByteBufferWriter {
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeBytes(byte[] src) {
-		buffer.put(src, 0, src.length);
+		return writeBytes(src, 0, src.length);
+	}
+
+	/**
+	 * 写入 ByteBuffer 的剩余数据,写入后 {@code src} 的 position 等于 limit
+	 * @param src 数据源
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 */
+	public ByteBufferWriter writeBytes(ByteBuffer src) {
+		ensureWritable(src.remaining());
+		buffer.put(src);
 		return this;
 	}
 
+	/**
+	 * 批量写入 short <b>此方法使用默认字节序,如果必要请先设置字节序</b>
+	 * @param src 数据源
+	 * @param offset 偏移量
+	 * @param length 数量
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 */
+	public ByteBufferWriter writeShorts(short[] src, int offset, int length) {
+		ensureWritable(length * Short.BYTES);
+		buffer.asShortBuffer().put(src, offset, length);
+		buffer.position(buffer.position() + length * Short.BYTES);
+		return this;
+	}
+
+	/**
+	 * 批量写入 short <b>此方法使用默认字节序,如果必要请先设置字节序</b>
+	 * @param src 数据源
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 */
+	public ByteBufferWriter writeShorts(short[] src) {
+		return writeShorts(src, 0, src.length);
+	}
+
+	/**
+	 * 批量写入 int <b>此方法使用默认字节序,如果必要请先设置字节序</b>
+	 * @param src 数据源
+	 * @param offset 偏移量
+	 * @param length 数量
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 */
+	public ByteBufferWriter writeInts(int[] src, int offset, int length) {
+		ensureWritable(length * Integer.BYTES);
+		buffer.asIntBuffer().put(src, offset, length);
+		buffer.position(buffer.position() + length * Integer.BYTES);
+		return this;
+	}
+
+	/**
+	 * 批量写入 int <b>此方法使用默认字节序,如果必要请先设置字节序</b>
+	 * @param src 数据源
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 */
+	public ByteBufferWriter writeInts(int[] src) {
+		return writeInts(src, 0, src.length);
+	}
+
+	/**
+	 * 批量写入 long <b>此方法使用默认字节序,如果必要请先设置字节序</b>
+	 * @param src 数据源
+	 * @param offset 偏移量
+	 * @param length 数量
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 */
+	public ByteBufferWriter writeLongs(long[] src, int offset, int length) {
+		ensureWritable(length * Long.BYTES);
+		buffer.asLongBuffer().put(src, offset, length);
+		buffer.position(buffer.position() + length * Long.BYTES);
+		return this;
+	}
+
+	/**
+	 * 批量写入 long <b>此方法使用默认字节序,如果必要请先设置字节序</b>
+	 * @param src 数据源
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 */
+	public ByteBufferWriter writeLongs(long[] src) {
+		return writeLongs(src, 0, src.length);
+	}
+
 	/**
 	 * 写入 short <b>此方法使用默认字节序,如果必要请先设置字节序</b>
 	 * @param val 写入的值
@@ -138,6 +248,7 @@ public class ByteBufferWriter {
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeShort(int val) {
+		ensureWritable(Short.BYTES);
 		buffer.putShort((short) val);
 		return this;
 	}
@@ -149,6 +260,7 @@ public class ByteBufferWriter {
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeInt(int val) {
+		ensureWritable(Integer.BYTES);
 		buffer.putInt(val);
 		return this;
 	}
@@ -160,6 +272,7 @@ public class ByteBufferWriter {
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeLong(long val) {
+		ensureWritable(Long.BYTES);
 		buffer.putLong(val);
 		return this;
 	}
@@ -171,6 +284,7 @@ public class ByteBufferWriter {
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeFloat(float val) {
+		ensureWritable(Float.BYTES);
 		buffer.putFloat(val);
 		return this;
 	}
@@ -182,33 +296,164 @@ public class ByteBufferWriter {
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeDouble(double val) {
+		ensureWritable(Double.BYTES);
 		buffer.putDouble(val);
 		return this;
 	}
 
+	/**
+	 * 写入 LEB128 变长整数
+	 * @param val 写入的值,按无符号处理,负数固定占用5字节
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 * @see VarInt
+	 */
+	public ByteBufferWriter writeVarInt(int val) {
+		final int size = VarInt.sizeOf(val);
+		ensureWritable(size);
+		if (size > buffer.remaining()) {
+			throw new BufferOverflowException();
+		}
+		final int start = buffer.position();
+		if (buffer.hasArray()) {
+			final byte[] array = buffer.array();
+			int pos = buffer.arrayOffset() + start;
+			while ((val & ~0x7F) != 0) {
+				array[pos++] = (byte) ((val & 0x7F) | 0x80);
+				val >>>= 7;
+			}
+			array[pos] = (byte) val;
+		}
+		else {
+			int pos = start;
+			while ((val & ~0x7F) != 0) {
+				buffer.put(pos++, (byte) ((val & 0x7F) | 0x80));
+				val >>>= 7;
+			}
+			buffer.put(pos, (byte) val);
+		}
+		buffer.position(start + size);
+		return this;
+	}
+
+	/**
+	 * 写入 LEB128 变长整数
+	 * @param val 写入的值,按无符号处理,负数固定占用10字节
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 * @see VarInt
+	 */
+	public ByteBufferWriter writeVarLong(long val) {
+		final int size = VarInt.sizeOf(val);
+		ensureWritable(size);
+		if (size > buffer.remaining()) {
+			throw new BufferOverflowException();
+		}
+		final int start = buffer.position();
+		if (buffer.hasArray()) {
+			final byte[] array = buffer.array();
+			int pos = buffer.arrayOffset() + start;
+			while ((val & ~0x7FL) != 0) {
+				array[pos++] = (byte) ((val & 0x7F) | 0x80);
+				val >>>= 7;
+			}
+			array[pos] = (byte) val;
+		}
+		else {
+			int pos = start;
+			while ((val & ~0x7FL) != 0) {
+				buffer.put(pos++, (byte) ((val & 0x7F) | 0x80));
+				val >>>= 7;
+			}
+			buffer.put(pos, (byte) val);
+		}
+		buffer.position(start + size);
+		return this;
+	}
+
+	/**
+	 * 写入 ZigZag 编码的变长整数,适合绝对值较小的负数
+	 * @param val 写入的值
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 * @see VarInt#encodeZigZag(int)
+	 */
+	public ByteBufferWriter writeZigZag32(int val) {
+		return writeVarInt(VarInt.encodeZigZag(val));
+	}
+
+	/**
+	 * 写入 ZigZag 编码的变长整数,适合绝对值较小的负数
+	 * @param val 写入的值
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写,需要扩容
+	 * @see VarInt#encodeZigZag(long)
+	 */
+	public ByteBufferWriter writeZigZag64(long val) {
+		return writeVarLong(VarInt.encodeZigZag(val));
+	}
+
 	/**
 	 * 写入字符串
 	 * @param str 需要写入的字符串
 	 * @param charset 字符集
-	 * @param length 填充长度,表示数据截断或者填充到指定长度,小于0 表示根据{@code str}实际长度写入
+	 * @param length 填充长度,表示数据截断或者填充到指定长度,小于0 表示根据{@code str}实际长度写入.
+	 * 截断发生在完整字符的边界上,不会写入半个多字节字符
 	 * @param filler 填充值,填充时会用到, 否则无意义
 	 * @return ByteBufferWriter
 	 * @throws BufferOverflowException 无空间可写,需要扩容
 	 */
 	public ByteBufferWriter writeString(String str, Charset charset, int length, byte filler) {
-		byte[] raw = str.getBytes(charset);
+		CharsetEncoder enc = encoder(charset);
 		if (length < 0) {
-			length = raw.length;
+			return writeString(str, enc);
+		}
+		ensureWritable(length);
+		final int start = buffer.position();
+		if (length > buffer.remaining()) {
+			throw new BufferOverflowException();
 		}
-		for (int i = 0; i < length; ++i) {
-			if (i < raw.length) {
-				buffer.put(raw[i]);
+		ByteBuffer out = buffer.duplicate();
+		out.limit(start + length);
+		CoderResult result = enc.encode(CharBuffer.wrap(str), out, true);
+		if (!result.isOverflow()) {
+			enc.flush(out);
+		}
+		buffer.position(out.position());
+		fill(filler, start + length - out.position());
+		return this;
+	}
+
+	/**
+	 * 按实际长度写入字符串.先按平均长度预留空间,空间不足时按剩余字符的最大长度扩容后继续编码
+	 * @param str 需要写入的字符串
+	 * @param enc 编码器
+	 * @return ByteBufferWriter
+	 * @throws BufferOverflowException 无空间可写并且无法扩容,此时写指针不变
+	 */
+	private ByteBufferWriter writeString(String str, CharsetEncoder enc) {
+		final CharBuffer in = CharBuffer.wrap(str);
+		ensureWritable((int) Math.ceil(str.length() * (double) enc.averageBytesPerChar()));
+		final int start = buffer.position();
+		boolean flushing = false;
+		CoderResult result = enc.encode(in, buffer, true);
+		while (true) {
+			if (result.isOverflow()) {
+				final int needed = (int) Math.ceil(Math.max(in.remaining(), 1) * (double) enc.maxBytesPerChar());
+				ensureWritable(needed);
+				if (buffer.remaining() < needed) {
+					buffer.position(start);
+					throw new BufferOverflowException();
+				}
+			}
+			else if (flushing) {
+				return this;
 			}
 			else {
-				buffer.put(filler);
+				flushing = true;
 			}
+			result = flushing ? enc.flush(buffer) : enc.encode(in, buffer, true);
 		}
-		return this;
 	}
 
 	/**
@@ -222,6 +467,42 @@ public class ByteBufferWriter {
 		return writeString(str, StandardCharsets.UTF_8, fixedSize, BYTE_ZERO);
 	}
 
+	/**
+	 * 在指定位置写入 byte,不移动写指针,用于回填
+	 * @param pos 位置,从0开始
+	 * @param b byte
+	 * @return ByteBufferWriter
+	 * @throws IndexOutOfBoundsException 位置越界
+	 */
+	public ByteBufferWriter writeByteAt(int pos, int b) {
+		buffer.put(pos, (byte) b);
+		return this;
+	}
+
+	/**
+	 * 在指定位置写入 short,不移动写指针,用于回填长度前缀等字段
+	 * @param pos 位置,从0开始
+	 * @param val 写入的值
+	 * @return ByteBufferWriter
+	 * @throws IndexOutOfBoundsException 位置越界
+	 */
+	public ByteBufferWriter writeShortAt(int pos, int val) {
+		buffer.putShort(pos, (short) val);
+		return this;
+	}
+
+	/**
+	 * 在指定位置写入 int,不移动写指针,用于回填长度前缀等字段
+	 * @param pos 位置,从0开始
+	 * @param val 写入的值
+	 * @return ByteBufferWriter
+	 * @throws IndexOutOfBoundsException 位置越界
+	 */
+	public ByteBufferWriter writeIntAt(int pos, int val) {
+		buffer.putInt(pos, val);
+		return this;
+	}
+
 	/**
 	 * 丢弃已经写入的数据
 	 * @param length 字节数,最多 {@code hasWritten},超过取下限,小于等于0无效
@@ -244,13 +525,14 @@ public class ByteBufferWriter {
 	}
 
 	/**
-	 * 移动写指针,使得下一次写操作跳过N字节
+	 * 移动写指针,使得下一次写操作跳过N字节,跳过的区域可以稍后通过 {@code writeIntAt} 等方法回填
 	 * @param length 字节数,最多 {@code writeableBytes},超过取下限,小于等于0无效
 	 * @return ByteBufferWriter
 	 */
 	public ByteBufferWriter reserve(int length) {
 		if (length > 0) {
-			buffer.position(Math.min(buffer.position() + length, buffer.capacity()));
+			ensureWritable(length);
+			buffer.position(Math.min(buffer.position() + length, buffer.limit()));
 		}
 		return this;
 	}
@@ -268,7 +550,7 @@ public class ByteBufferWriter {
 	 * @return 字节数
 	 */
 	public int writeableBytes() {
-		return buffer.capacity() - buffer.position();
+		return buffer.remaining();
 	}
 
 	// ~ misc
@@ -319,4 +601,55 @@ public class ByteBufferWriter {
 		return Arrays.copyOfRange(buffer.array(), pos, pos + size);
 	}
 
+	// ~ Internal
+	// ===================================================================================================
+
+	/**
+	 * 写入前调用,子类可以在空间不足时扩容
+	 * <p>
+	 * 默认不做任何处理,空间不足时由写操作抛出 {@code BufferOverflowException}
+	 * </p>
+	 * @param length 需要写入的字节数
+	 */
+	protected void ensureWritable(int length) {
+		// 固定容量
+	}
+
+	/**
+	 * 从写指针开始填充,调用方保证空间足够
+	 * @param value 填充值
+	 * @param count 数量
+	 */
+	private void fill(byte value, int count) {
+		if (count <= 0) {
+			return;
+		}
+		final int start = buffer.position();
+		if (buffer.hasArray()) {
+			final int from = buffer.arrayOffset() + start;
+			Arrays.fill(buffer.array(), from, from + count, value);
+			buffer.position(start + count);
+			return;
+		}
+		// 倍增拷贝已经写入的部分
+		buffer.put(value);
+		int filled = 1;
+		while (filled < count) {
+			int n = Math.min(filled, count - filled);
+			ByteBuffer src = buffer.duplicate();
+			src.limit(start + n).position(start);
+			buffer.put(src);
+			filled += n;
+		}
+	}
+
+	private CharsetEncoder encoder(Charset charset) {
+		if (encoder == null || !encoder.charset().equals(charset)) {
+			encoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+		return encoder.reset();
+	}
+
 }
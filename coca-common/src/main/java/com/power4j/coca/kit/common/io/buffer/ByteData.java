@@ -16,32 +16,42 @@
 
 package com.power4j.coca.kit.common.io.buffer;
 
+import com.power4j.coca.kit.common.codec.binary.HexCodec;
+import com.power4j.coca.kit.common.io.codec.impl.Base64Codec;
 import com.power4j.coca.kit.common.text.Display;
-import org.apache.commons.codec.DecoderException;
-import org.apache.commons.codec.binary.Hex;
 import org.springframework.lang.Nullable;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.Random;
 
 /**
  * Container to store byte data.
  * <p/>
+ * The bytes are kept in a {@link ByteStorage}, either an on-heap array (default) or a
+ * direct {@code ByteBuffer} ({@link #ofDirect(int)}, {@link #shardOf(ByteBuffer)}).
+ * <p/>
  * <pre>
  *     Buffer Layout
- *     +-----------+-------------+
- *     | readable  |  writeable  |
- *     +-----------+-------------+
- *                 ^             ^
- *             writeIndex     capacity
+ *     +-----------+-----------+-------------+
+ *     | discarded | readable  |  writeable  |
+ *     +-----------+-----------+-------------+
+ *     ^           ^           ^             ^
+ *     0       readIndex   writeIndex     capacity
  * </pre>
  * <ul>
+ * <li>带偏移量参数的读方法(如 {@code readAt(int)})使用绝对位置,不影响读指针.</li>
+ * <li>游标读方法(如 {@code readInt32(ByteOrder)})从读指针开始读取并移动读指针, {@code discardReadBytes()}
+ * 回收已读区域,适用于流式解码.</li>
  * <li>This class provides various write methods like {@code writeU8()} to write data into
  * a buffer. The buffer may need to be reallocated during writing to accommodate the
  * data.</li>
@@ -57,18 +67,24 @@ import java.util.Random;
  */
 public class ByteData implements Display {
 
-	private static final byte[] EMPTY_BUFFER = new byte[0];
+	protected static final ByteStorage EMPTY_STORAGE = HeapByteStorage.EMPTY;
+
+	private ByteStorage storage;
 
-	private byte[] buffer;
+	private int readIndex;
 
 	private int writeIndex;
 
+	private int markedReadIndex;
+
+	private GrowthPolicy growthPolicy = GrowthPolicy.DEFAULT;
+
 	/**
 	 * 无数据构造
 	 * @param capacity 初始容量
 	 */
 	protected ByteData(int capacity) {
-		this(capacity == 0 ? EMPTY_BUFFER : new byte[capacity], 0);
+		this(ByteStorage.heap(capacity), 0);
 	}
 
 	/**
@@ -87,7 +103,16 @@ public class ByteData implements Display {
 	 * @param writeIndex 初始写指针
 	 */
 	protected ByteData(byte[] buffer, int writeIndex) {
-		this.buffer = buffer;
+		this(ByteStorage.wrap(buffer, 0, buffer.length), writeIndex);
+	}
+
+	/**
+	 * 共享存储构造
+	 * @param storage 存储
+	 * @param writeIndex 初始写指针
+	 */
+	protected ByteData(ByteStorage storage, int writeIndex) {
+		this.storage = storage;
 		this.writeIndex = writeIndex;
 	}
 
@@ -103,6 +128,16 @@ public class ByteData implements Display {
 		return new ByteData(original, original.length);
 	}
 
+	/**
+	 * 创建BinData对象
+	 * @param buffer 源数据,{@code [position,limit)} 区域作为可读数据
+	 * @return 新的BinData对象,内部存储指向源数据(包括堆外内存),不拷贝数据
+	 * @throws IllegalArgumentException buffer 是只读的
+	 */
+	public static ByteData shardOf(ByteBuffer buffer) {
+		return new ByteData(ByteStorage.wrap(buffer), buffer.remaining());
+	}
+
 	/**
 	 * 创建BinData对象
 	 * @param capacity 初始容量
@@ -112,6 +147,25 @@ public class ByteData implements Display {
 		return new ByteData(capacity);
 	}
 
+	/**
+	 * 创建使用堆外内存的BinData对象,扩容时仍然使用堆外内存
+	 * @param capacity 初始容量
+	 * @return BinData对象
+	 */
+	public static ByteData ofDirect(int capacity) {
+		return new ByteData(ByteStorage.direct(capacity), 0);
+	}
+
+	/**
+	 * 从共享池中获取BinData对象,使用完毕后需要调用 {@link PooledByteData#release()}
+	 * @param capacity 最小容量
+	 * @return PooledByteData
+	 * @see ByteDataPool#shared()
+	 */
+	public static PooledByteData ofPooled(int capacity) {
+		return ByteDataPool.shared().acquire(capacity);
+	}
+
 	/**
 	 * 创建BinData对象
 	 * @return 新的BinData对象
@@ -146,9 +200,14 @@ public class ByteData implements Display {
 	 * 多个BinData对象的数据拷贝
 	 * @param array 源对象数组
 	 * @return 新的BinData对象,按照参数顺序拷贝可读数据
+	 * @see CompositeByteData
 	 */
 	public static ByteData copyOf(ByteData... array) {
-		ByteData data = ByteData.ofCapacity(128);
+		int total = 0;
+		for (ByteData src : array) {
+			total += src.readableBytes();
+		}
+		ByteData data = ByteData.ofCapacity(total);
 		for (ByteData src : array) {
 			data.write(src);
 		}
@@ -159,6 +218,7 @@ public class ByteData implements Display {
 	 * 多个BinData对象的数据拷贝
 	 * @param itr 迭代器
 	 * @return 新的BinData对象,按照参数顺序拷贝可读数据
+	 * @see CompositeByteData
 	 */
 	public static ByteData copyOf(Iterator<ByteData> itr) {
 		ByteData data = ByteData.ofCapacity(128);
@@ -174,7 +234,7 @@ public class ByteData implements Display {
 	 */
 	public static ByteData ofRepeat(int val, int count) {
 		ByteData byteData = ByteData.ofCapacity(count);
-		Arrays.fill(byteData.buffer, 0, count, (byte) val);
+		byteData.storage.fill(0, count, (byte) val);
 		byteData.writeIndex(count);
 		return byteData;
 	}
@@ -186,7 +246,7 @@ public class ByteData implements Display {
 	 */
 	public static ByteData ofRandom(int size) {
 		ByteData byteData = ByteData.ofCapacity(size);
-		new Random().nextBytes(byteData.buffer);
+		new Random().nextBytes(byteData.buffer());
 		byteData.writeIndex(size);
 		return byteData;
 	}
@@ -198,13 +258,8 @@ public class ByteData implements Display {
 	 * @throws IllegalArgumentException hexString不是16进制字符串
 	 */
 	public static ByteData ofHex(String hexString) {
-		try {
-			byte[] bytes = Hex.decodeHex(hexString);
-			return new ByteData(bytes, bytes.length);
-		}
-		catch (DecoderException e) {
-			throw new IllegalArgumentException("not hex string", e);
-		}
+		byte[] bytes = HexCodec.decode(hexString);
+		return new ByteData(bytes, bytes.length);
 	}
 
 	/**
@@ -224,9 +279,37 @@ public class ByteData implements Display {
 	/**
 	 * 内部buffer
 	 * @return 内部buffer
+	 * @throws UnsupportedOperationException 内部存储不是一个完整的字节数组,参考 {@link #hasArray()}
 	 */
 	public byte[] buffer() {
-		return buffer;
+		if (!hasArray()) {
+			throw new UnsupportedOperationException("not backed by a whole byte array");
+		}
+		return storage.array();
+	}
+
+	/**
+	 * 内部存储是否是一个完整的字节数组
+	 * @return 返回true表示可以调用 {@link #buffer()}
+	 */
+	public boolean hasArray() {
+		return storage.hasArray() && storage.arrayOffset() == 0 && storage.array().length == storage.capacity();
+	}
+
+	/**
+	 * 是否使用堆外内存
+	 * @return 返回true表示堆外内存
+	 */
+	public boolean isDirect() {
+		return storage.isDirect();
+	}
+
+	/**
+	 * 内部存储
+	 * @return ByteStorage
+	 */
+	public ByteStorage storage() {
+		return storage;
 	}
 
 	/**
@@ -234,7 +317,7 @@ public class ByteData implements Display {
 	 * @return 返回当前容量
 	 */
 	public int capacity() {
-		return buffer.length;
+		return storage.capacity();
 	}
 
 	/**
@@ -245,6 +328,67 @@ public class ByteData implements Display {
 		return writeIndex;
 	}
 
+	/**
+	 * 当前读指针
+	 * @return 当前读指针位置
+	 */
+	public int readIndex() {
+		return readIndex;
+	}
+
+	/**
+	 * 重置当前读指针位置
+	 * @param value 位置 {@code [0,writeIndex]}
+	 * @throws IndexOutOfBoundsException 读指针位置超过上下限
+	 * @return 返回当前ByteData对象
+	 */
+	public ByteData readIndex(int value) {
+		if (value > writeIndex || value < 0) {
+			throw new IndexOutOfBoundsException("read index overflow");
+		}
+		readIndex = value;
+		return this;
+	}
+
+	/**
+	 * 记录当前读指针,配合 {@code resetReaderIndex()} 使用
+	 * @return 返回当前ByteData对象
+	 */
+	public ByteData markReaderIndex() {
+		markedReadIndex = readIndex;
+		return this;
+	}
+
+	/**
+	 * 将读指针恢复到 {@code markReaderIndex()} 记录的位置,未记录时恢复到0
+	 * @return 返回当前ByteData对象
+	 * @throws IndexOutOfBoundsException 记录的位置已经超过写指针
+	 */
+	public ByteData resetReaderIndex() {
+		return readIndex(markedReadIndex);
+	}
+
+	/**
+	 * 丢弃已读数据,将可读数据移动到存储起始位置,不重新分配存储
+	 * <p>
+	 * 读写指针以及记录的读指针同步前移.
+	 * </p>
+	 * @return 返回当前ByteData对象
+	 */
+	public ByteData discardReadBytes() {
+		if (readIndex == 0) {
+			return this;
+		}
+		final int length = writeIndex - readIndex;
+		if (length > 0) {
+			storage.put(0, storage, readIndex, length);
+		}
+		markedReadIndex = Math.max(0, markedReadIndex - readIndex);
+		writeIndex = length;
+		readIndex = 0;
+		return this;
+	}
+
 	/**
 	 * 重置当前写指针位置
 	 * @param value 位置
@@ -252,10 +396,11 @@ public class ByteData implements Display {
 	 * @return 返回当前ByteData对象
 	 */
 	public ByteData writeIndex(int value) {
-		if (value > buffer.length || value < 0) {
+		if (value > capacity() || value < 0) {
 			throw new IndexOutOfBoundsException("write index overflow");
 		}
 		writeIndex = value;
+		clampReadIndex();
 		return this;
 	}
 
@@ -280,8 +425,8 @@ public class ByteData implements Display {
 		if (value < 0) {
 			value = 0;
 		}
-		if (value > buffer.length) {
-			value = buffer.length;
+		if (value > capacity()) {
+			value = capacity();
 		}
 		writeIndex(value);
 		return this;
@@ -293,16 +438,18 @@ public class ByteData implements Display {
 	 * @return 返回当前ByteData对象
 	 */
 	public ByteData expandBy(int count) {
-		int capacity = buffer.length;
+		int capacity = capacity();
 		int newCapacity = capacity + count;
 		if (newCapacity <= 0) {
-			buffer = EMPTY_BUFFER;
+			storage = reallocate(storage, 0);
 			writeIndex = 0;
+			clampReadIndex();
 			return this;
 		}
 		if (newCapacity != capacity) {
-			buffer = Arrays.copyOf(buffer, newCapacity);
+			storage = reallocate(storage, newCapacity);
 			writeIndex = Math.min(writeIndex, newCapacity);
+			clampReadIndex();
 		}
 		return this;
 	}
@@ -312,44 +459,71 @@ public class ByteData implements Display {
 	 * @return 返回当前ByteData对象
 	 */
 	public ByteData expand() {
-		expandBy(Math.max(1, buffer.length >> 1));
+		expandBy(Math.max(1, capacity() >> 1));
 		return this;
 	}
 
 	/**
-	 * 保证可写容量
+	 * 保证可写容量,容量不足时按照扩容策略重新分配
 	 * @param size 数据量
 	 * @return 返回当前ByteData对象
+	 * @see #growthPolicy(GrowthPolicy)
 	 */
 	public ByteData ensureWriteBytes(int size) {
-		int more = size - writableBytes();
-		if (more > 0) {
-			expandBy(more);
+		if (size > writableBytes()) {
+			int minCapacity = writeIndex + size;
+			if (minCapacity < 0 || minCapacity > GrowthPolicy.MAX_CAPACITY) {
+				throw new OutOfMemoryError("Required capacity too large: " + ((long) writeIndex + size));
+			}
+			int newCapacity = growthPolicy.grow(capacity(), minCapacity);
+			if (newCapacity < minCapacity) {
+				throw new IllegalStateException("Growth policy returned insufficient capacity: " + newCapacity);
+			}
+			storage = reallocate(storage, newCapacity);
 		}
 		return this;
 	}
 
+	/**
+	 * 当前扩容策略
+	 * @return GrowthPolicy
+	 */
+	public GrowthPolicy growthPolicy() {
+		return growthPolicy;
+	}
+
+	/**
+	 * 设置扩容策略
+	 * @param policy 扩容策略,影响 {@code ensureWriteBytes} 以及所有写操作
+	 * @return 返回当前ByteData对象
+	 * @see GrowthPolicy#DEFAULT
+	 */
+	public ByteData growthPolicy(GrowthPolicy policy) {
+		this.growthPolicy = Objects.requireNonNull(policy);
+		return this;
+	}
+
 	/**
 	 * 缓冲区清零
 	 * @return 返回当前ByteData对象
 	 */
 	public ByteData zeroMemory() {
-		Arrays.fill(buffer, (byte) 0);
+		storage.fill(0, capacity(), (byte) 0);
 		return this;
 	}
 
 	/**
 	 * 可读数据的长度
-	 * @return 可读数据的字节数
+	 * @return 读指针到写指针之间的字节数
 	 */
 	public int readableBytes() {
-		return readableBytes(0);
+		return writeIndex - readIndex;
 	}
 
 	/**
 	 * 可读数据的长度
-	 * @param offset 偏移量
-	 * @return 可读数据的字节数
+	 * @param offset 偏移量,绝对位置
+	 * @return 偏移量到写指针之间的字节数
 	 */
 	public int readableBytes(int offset) {
 		if (offset >= writeIndex) {
@@ -363,7 +537,7 @@ public class ByteData implements Display {
 	 * @return 可读数据的字节数
 	 */
 	public int writableBytes() {
-		return buffer.length - writeIndex;
+		return capacity() - writeIndex;
 	}
 
 	// ~ read operation
@@ -378,7 +552,7 @@ public class ByteData implements Display {
 	 */
 	public byte readAt(int offset) {
 		assertReadPos(offset);
-		return buffer[offset];
+		return storage.get(offset);
 	}
 
 	/**
@@ -395,7 +569,7 @@ public class ByteData implements Display {
 			count = readableBytes(offset);
 		}
 		assertReadable(offset, count);
-		return Arrays.copyOfRange(buffer, offset, offset + count);
+		return copyRange(offset, count);
 	}
 
 	/**
@@ -405,7 +579,7 @@ public class ByteData implements Display {
 	 * @throws IndexOutOfBoundsException 可读数据访问越界
 	 */
 	public byte[] read(int count) {
-		return read(0, count);
+		return read(readIndex, count);
 	}
 
 	/**
@@ -414,7 +588,7 @@ public class ByteData implements Display {
 	 * @throws IndexOutOfBoundsException 可读数据访问越界
 	 */
 	public byte[] readAll() {
-		return read(0, readableBytes());
+		return read(readIndex, readableBytes());
 	}
 
 	/**
@@ -430,7 +604,7 @@ public class ByteData implements Display {
 		if (maxCount < 0) {
 			throw new IllegalArgumentException("max count < 0");
 		}
-		return Arrays.copyOfRange(buffer, offset, Math.min(offset + maxCount, writeIndex));
+		return copyRange(offset, Math.max(0, Math.min(offset + maxCount, writeIndex) - offset));
 	}
 
 	/**
@@ -440,7 +614,7 @@ public class ByteData implements Display {
 	 * @throws IndexOutOfBoundsException 偏移量越界,{@code maxCount} 小于0
 	 */
 	public byte[] readSome(int maxCount) {
-		return readSome(0, maxCount);
+		return readSome(readIndex, maxCount);
 	}
 
 	/**
@@ -457,7 +631,10 @@ public class ByteData implements Display {
 			length = readableBytes(offset);
 		}
 		assertReadable(offset, length);
-		return new String(buffer, offset, length, charset);
+		if (storage.hasArray()) {
+			return new String(storage.array(), storage.arrayOffset() + offset, length, charset);
+		}
+		return new String(copyRange(offset, length), charset);
 	}
 
 	/**
@@ -479,7 +656,7 @@ public class ByteData implements Display {
 	 * @throws IndexOutOfBoundsException 可读数据访问越界
 	 */
 	public String readHexLower(int offset, int length) {
-		return Hex.encodeHexString(read(offset, length), true);
+		return hex(offset, length, false);
 	}
 
 	/**
@@ -490,18 +667,48 @@ public class ByteData implements Display {
 	 * @throws IndexOutOfBoundsException 可读数据访问越界
 	 */
 	public String readHexUpper(int offset, int length) {
-		return Hex.encodeHexString(read(offset, length), false);
+		return hex(offset, length, true);
+	}
+
+	/**
+	 * 读出可读数据,编码为HEX字符串并追加到 {@code StringBuilder},不拷贝数据
+	 * @param dest 追加目标
+	 * @param offset 偏移量
+	 * @param length 长度,负数表示全部可读数据
+	 * @param upperCase 是否使用大写字母
+	 * @return 返回 {@code dest}
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public StringBuilder readHexInto(StringBuilder dest, int offset, int length, boolean upperCase) {
+		assertReadPos(offset);
+		if (length < 0) {
+			length = readableBytes(offset);
+		}
+		assertReadable(offset, length);
+		if (storage.hasArray()) {
+			return HexCodec.encode(storage.array(), storage.arrayOffset() + offset, length, dest, upperCase);
+		}
+		char[] chars = new char[length * 2];
+		HexCodec.encode(rangeView(offset, length), chars, 0, upperCase);
+		return dest.append(chars);
 	}
 
 	/**
 	 * 读出可读数据,并编码为BASE64字符串
 	 * @param offset 偏移量
 	 * @param length 长度,负数表示全部可读数据
-	 * @return 大写16进制字符串
+	 * @return BASE64字符串
 	 * @throws IndexOutOfBoundsException 可读数据访问越界
 	 */
 	public String readBase64(int offset, int length) {
-		return Base64.getEncoder().encodeToString(read(offset, length));
+		assertReadPos(offset);
+		if (length < 0) {
+			length = readableBytes(offset);
+		}
+		assertReadable(offset, length);
+		char[] chars = new char[Base64Codec.encodedLength(length)];
+		Base64Codec.encode(rangeView(offset, length), CharBuffer.wrap(chars), true);
+		return new String(chars);
 	}
 
 	/**
@@ -516,11 +723,13 @@ public class ByteData implements Display {
 	 */
 	public int readTo(int offset, byte[] dest, int destOffset, int length, int padding) {
 		assertReadPos(offset);
-		int readable = readableBytes(offset);
-		int count = 0;
-		for (; count < length; ++count) {
-			dest[destOffset + count] = (count < readable) ? buffer[offset + count] : (byte) padding;
+		if (length < 0) {
+			throw new IndexOutOfBoundsException("length < 0");
 		}
+		int readable = readableBytes(offset);
+		int count = Math.min(readable, length);
+		storage.get(offset, dest, destOffset, count);
+		Arrays.fill(dest, destOffset + count, destOffset + length, (byte) padding);
 		return Math.max(0, length - readable);
 	}
 
@@ -536,6 +745,178 @@ public class ByteData implements Display {
 		return readTo(offset, dest, 0, dest.length, padding);
 	}
 
+	/**
+	 * 读出可读数据
+	 * @param offset 可读数据偏移量 {@code [0,writeIndex)}
+	 * @param order 字节序
+	 * @return short 值
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public short getInt16At(int offset, ByteOrder order) {
+		assertReadPos(offset);
+		assertReadable(offset, Short.BYTES);
+		return storage.getShort(offset, isBigEndian(order));
+	}
+
+	/**
+	 * 读出可读数据
+	 * @param offset 可读数据偏移量 {@code [0,writeIndex)}
+	 * @param order 字节序
+	 * @return int 值
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public int getInt32At(int offset, ByteOrder order) {
+		assertReadPos(offset);
+		assertReadable(offset, Integer.BYTES);
+		return storage.getInt(offset, isBigEndian(order));
+	}
+
+	/**
+	 * 读出可读数据
+	 * @param offset 可读数据偏移量 {@code [0,writeIndex)}
+	 * @param order 字节序
+	 * @return long 值
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public long getInt64At(int offset, ByteOrder order) {
+		assertReadPos(offset);
+		assertReadable(offset, Long.BYTES);
+		return storage.getLong(offset, isBigEndian(order));
+	}
+
+	/**
+	 * 读出可读数据
+	 * @param offset 可读数据偏移量 {@code [0,writeIndex)}
+	 * @param order 字节序
+	 * @return float 值
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public float getFloatAt(int offset, ByteOrder order) {
+		return Float.intBitsToFloat(getInt32At(offset, order));
+	}
+
+	/**
+	 * 读出可读数据
+	 * @param offset 可读数据偏移量 {@code [0,writeIndex)}
+	 * @param order 字节序
+	 * @return double 值
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public double getDoubleAt(int offset, ByteOrder order) {
+		return Double.longBitsToDouble(getInt64At(offset, order));
+	}
+
+	/**
+	 * 从读指针读取一个字节,并移动读指针
+	 * @return byte 值
+	 * @throws IndexOutOfBoundsException 可读数据不足
+	 */
+	public byte readInt8() {
+		return storage.get(readIndexAdvance(Byte.BYTES));
+	}
+
+	/**
+	 * 从读指针读取一个无符号字节,并移动读指针
+	 * @return {@code [0,255]}
+	 * @throws IndexOutOfBoundsException 可读数据不足
+	 */
+	public int readU8() {
+		return Byte.toUnsignedInt(readInt8());
+	}
+
+	/**
+	 * 从读指针读取,并移动读指针
+	 * @param order 字节序
+	 * @return short 值
+	 * @throws IndexOutOfBoundsException 可读数据不足
+	 */
+	public short readInt16(ByteOrder order) {
+		return storage.getShort(readIndexAdvance(Short.BYTES), isBigEndian(order));
+	}
+
+	/**
+	 * 从读指针读取,并移动读指针
+	 * @param order 字节序
+	 * @return int 值
+	 * @throws IndexOutOfBoundsException 可读数据不足
+	 */
+	public int readInt32(ByteOrder order) {
+		return storage.getInt(readIndexAdvance(Integer.BYTES), isBigEndian(order));
+	}
+
+	/**
+	 * 从读指针读取,并移动读指针
+	 * @param order 字节序
+	 * @return long 值
+	 * @throws IndexOutOfBoundsException 可读数据不足
+	 */
+	public long readInt64(ByteOrder order) {
+		return storage.getLong(readIndexAdvance(Long.BYTES), isBigEndian(order));
+	}
+
+	/**
+	 * 从读指针读取,并移动读指针
+	 * @param order 字节序
+	 * @return float 值
+	 * @throws IndexOutOfBoundsException 可读数据不足
+	 */
+	public float readFloat(ByteOrder order) {
+		return Float.intBitsToFloat(readInt32(order));
+	}
+
+	/**
+	 * 从读指针读取,并移动读指针
+	 * @param order 字节序
+	 * @return double 值
+	 * @throws IndexOutOfBoundsException 可读数据不足
+	 */
+	public double readDouble(ByteOrder order) {
+		return Double.longBitsToDouble(readInt64(order));
+	}
+
+	/**
+	 * 从读指针读取,并移动读指针
+	 * @param length 长度
+	 * @return 数据拷贝
+	 * @throws IndexOutOfBoundsException 可读数据不足,长度小于0
+	 */
+	public byte[] readBytes(int length) {
+		if (length < 0) {
+			throw new IndexOutOfBoundsException("length < 0");
+		}
+		return copyRange(readIndexAdvance(length), length);
+	}
+
+	/**
+	 * 从读指针读取到目标数组,并移动读指针
+	 * @param dest 目标数组
+	 * @param destOffset 目标数组偏移量
+	 * @param length 长度
+	 * @return 返回当前ByteData对象
+	 * @throws IndexOutOfBoundsException 可读数据不足,目标数组访问越界
+	 */
+	public ByteData readBytes(byte[] dest, int destOffset, int length) {
+		if (length < 0 || destOffset < 0 || destOffset + length > dest.length) {
+			throw new IndexOutOfBoundsException("destOffset = " + destOffset + ", length = " + length);
+		}
+		storage.get(readIndexAdvance(length), dest, destOffset, length);
+		return this;
+	}
+
+	/**
+	 * 跳过可读数据,移动读指针
+	 * @param length 长度
+	 * @return 返回当前ByteData对象
+	 * @throws IndexOutOfBoundsException 可读数据不足,长度小于0
+	 */
+	public ByteData skipBytes(int length) {
+		if (length < 0) {
+			throw new IndexOutOfBoundsException("length < 0");
+		}
+		readIndexAdvance(length);
+		return this;
+	}
+
 	// ~ Write operation
 	// ===================================================================================================
 
@@ -545,7 +926,11 @@ public class ByteData implements Display {
 	 * @return 返回当前对象
 	 */
 	public ByteData write(ByteData src) {
-		return writeBytes(src.buffer, 0, src.writeIndex);
+		final int length = src.readableBytes();
+		ensureWriteBytes(length);
+		storage.put(writeIndex, src.storage, src.readIndex, length);
+		writeIndex += length;
+		return this;
 	}
 
 	/**
@@ -555,7 +940,7 @@ public class ByteData implements Display {
 	 */
 	public ByteData writeInt8(int b) {
 		ensureWriteBytes(1);
-		buffer[writeIndex++] = (byte) b;
+		storage.put(writeIndex++, (byte) b);
 		return this;
 	}
 
@@ -568,8 +953,8 @@ public class ByteData implements Display {
 	public ByteData writeInt16(int value, ByteOrder order) {
 		final int size = Short.BYTES;
 		ensureWriteBytes(size);
-		bufferWriter(order).writeShort((short) value);
-		writeIndexAdvance(size);
+		storage.putShort(writeIndex, (short) value, isBigEndian(order));
+		writeIndex += size;
 		return this;
 	}
 
@@ -582,8 +967,8 @@ public class ByteData implements Display {
 	public ByteData writeInt32(int value, ByteOrder order) {
 		final int size = Integer.BYTES;
 		ensureWriteBytes(size);
-		bufferWriter(order).writeInt(value);
-		writeIndexAdvance(size);
+		storage.putInt(writeIndex, value, isBigEndian(order));
+		writeIndex += size;
 		return this;
 	}
 
@@ -596,8 +981,8 @@ public class ByteData implements Display {
 	public ByteData writeInt64(long value, ByteOrder order) {
 		final int size = Long.BYTES;
 		ensureWriteBytes(size);
-		bufferWriter(order).writeLong(value);
-		writeIndexAdvance(size);
+		storage.putLong(writeIndex, value, isBigEndian(order));
+		writeIndex += size;
 		return this;
 	}
 
@@ -610,8 +995,8 @@ public class ByteData implements Display {
 	public ByteData writeFloat(float value, ByteOrder order) {
 		final int size = Float.BYTES;
 		ensureWriteBytes(size);
-		bufferWriter(order).writeFloat(value);
-		writeIndexAdvance(size);
+		storage.putInt(writeIndex, Float.floatToRawIntBits(value), isBigEndian(order));
+		writeIndex += size;
 		return this;
 	}
 
@@ -624,8 +1009,8 @@ public class ByteData implements Display {
 	public ByteData writeDouble(double value, ByteOrder order) {
 		final int size = Double.BYTES;
 		ensureWriteBytes(size);
-		bufferWriter(order).writeDouble(value);
-		writeIndexAdvance(size);
+		storage.putLong(writeIndex, Double.doubleToRawLongBits(value), isBigEndian(order));
+		writeIndex += size;
 		return this;
 	}
 
@@ -637,10 +1022,9 @@ public class ByteData implements Display {
 	 * @return 返回当前ByteData对象
 	 */
 	public ByteData writeBytes(byte[] src, int offset, int length) {
-		expandBy(length);
-		for (int i = 0; i < length; ++i) {
-			buffer[writeIndex++] = src[offset + i];
-		}
+		ensureWriteBytes(length);
+		storage.put(writeIndex, src, offset, length);
+		writeIndex += length;
 		return this;
 	}
 
@@ -653,6 +1037,43 @@ public class ByteData implements Display {
 		return writeBytes(src, 0, src.length);
 	}
 
+	/**
+	 * 解码16进制字符串并写入
+	 * @param hexString 16进制字符串,长度必须是偶数
+	 * @return 返回当前ByteData对象
+	 * @throws IllegalArgumentException hexString不是16进制字符串,此时写指针不变
+	 */
+	public ByteData writeHex(CharSequence hexString) {
+		final int length = hexString.length() >> 1;
+		ensureWriteBytes(length);
+		ByteBuffer view = storage.nioBuffer();
+		view.position(writeIndex);
+		HexCodec.decode(hexString, 0, hexString.length(), view);
+		writeIndex += length;
+		return this;
+	}
+
+	/**
+	 * 从通道读取数据写入可写区域,容量不足时按照扩容策略重新分配
+	 * @param channel 数据源
+	 * @param maxBytes 最多读取的字节数
+	 * @return 读取的字节数,通道结束返回 -1
+	 * @throws IOException IO异常
+	 */
+	public int writeFrom(ReadableByteChannel channel, int maxBytes) throws IOException {
+		if (maxBytes < 0) {
+			throw new IllegalArgumentException("max bytes < 0");
+		}
+		ensureWriteBytes(maxBytes);
+		ByteBuffer view = storage.nioBuffer();
+		view.limit(writeIndex + maxBytes).position(writeIndex);
+		int count = channel.read(view);
+		if (count > 0) {
+			writeIndex += count;
+		}
+		return count;
+	}
+
 	// ~ Misc
 	// ===================================================================================================
 
@@ -665,7 +1086,10 @@ public class ByteData implements Display {
 	 * @return 返回true表示包含相同数据
 	 */
 	public boolean dataEquals(ByteData that) {
-		return dataEquals(that.read(-1));
+		if (that.readableBytes() != readableBytes()) {
+			return false;
+		}
+		return readableView().equals(that.readableView());
 	}
 
 	/**
@@ -677,17 +1101,123 @@ public class ByteData implements Display {
 	 * @return 返回true表示包含相同数据
 	 */
 	public boolean dataEquals(@Nullable byte[] data) {
-		return Arrays.equals(read(-1), data);
+		if (Objects.isNull(data) || data.length != readableBytes()) {
+			return false;
+		}
+		return readableView().equals(ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * 按无符号字节的字典序比较可读数据,不拷贝数据
+	 * @param that 比较对象
+	 * @return 负数,0,正数分别表示小于,等于,大于 {@code that}
+	 */
+	public int dataCompareTo(ByteData that) {
+		final int length = readableBytes();
+		final int thatLength = that.readableBytes();
+		final int min = Math.min(length, thatLength);
+		if (storage.hasArray() && that.storage.hasArray()) {
+			byte[] a = storage.array();
+			byte[] b = that.storage.array();
+			int aOffset = storage.arrayOffset() + readIndex;
+			int bOffset = that.storage.arrayOffset() + that.readIndex;
+			for (int i = 0; i < min; ++i) {
+				int cmp = Byte.toUnsignedInt(a[aOffset + i]) - Byte.toUnsignedInt(b[bOffset + i]);
+				if (cmp != 0) {
+					return cmp;
+				}
+			}
+		}
+		else {
+			for (int i = 0; i < min; ++i) {
+				int cmp = Byte.toUnsignedInt(storage.get(readIndex + i))
+						- Byte.toUnsignedInt(that.storage.get(that.readIndex + i));
+				if (cmp != 0) {
+					return cmp;
+				}
+			}
+		}
+		return Integer.compare(length, thatLength);
+	}
+
+	/**
+	 * 可读数据的哈希值,不拷贝数据
+	 * @return 与 {@code Arrays.hashCode(readAll())} 相同
+	 */
+	public int dataHashCode() {
+		final int length = readableBytes();
+		int hash = 1;
+		if (storage.hasArray()) {
+			byte[] array = storage.array();
+			int offset = storage.arrayOffset() + readIndex;
+			for (int i = 0; i < length; ++i) {
+				hash = 31 * hash + array[offset + i];
+			}
+			return hash;
+		}
+		for (int i = 0; i < length; ++i) {
+			hash = 31 * hash + storage.get(readIndex + i);
+		}
+		return hash;
+	}
+
+	/**
+	 * 创建共享存储的视图,包含 {@code [offset,offset + length)} 的数据
+	 * <ul>
+	 * <li>视图的容量和写指针都等于 {@code length},索引0对应当前对象的 {@code offset}</li>
+	 * <li>两者对数据的修改互相可见,但是读写指针互相独立</li>
+	 * <li>任何一方扩容后会使用新的存储,不再共享数据</li>
+	 * </ul>
+	 * @param offset 偏移量
+	 * @param length 长度
+	 * @return 新的ByteData对象
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public ByteData slice(int offset, int length) {
+		assertReadPos(offset);
+		if (length < 0) {
+			throw new IndexOutOfBoundsException("length < 0");
+		}
+		assertReadable(offset, length);
+		return newView(storage.slice(offset, length), length).growthPolicy(growthPolicy);
+	}
+
+	/**
+	 * 创建共享全部存储的视图,初始读写指针以及记录的读指针与当前对象相同
+	 * <ul>
+	 * <li>两者对数据的修改互相可见,但是读写指针互相独立</li>
+	 * <li>任何一方扩容后会使用新的存储,不再共享数据</li>
+	 * </ul>
+	 * @return 新的ByteData对象
+	 */
+	public ByteData duplicate() {
+		ByteData data = newView(storage, writeIndex).growthPolicy(growthPolicy);
+		data.readIndex = readIndex;
+		data.markedReadIndex = markedReadIndex;
+		return data;
+	}
+
+	/**
+	 * 以只读 ByteBuffer 访问可读数据,不拷贝数据
+	 * @return ByteBuffer,{@code [position,limit)} 是全部可读数据
+	 */
+	public ByteBuffer asReadOnlyByteBuffer() {
+		return readableView().asReadOnlyBuffer();
 	}
 
 	/**
 	 * 将可写区域委托给 {@code ByteBufferWriter},注意:写入操作不会同步内部写指针
+	 * <p>
+	 * 直接访问内部存储(包括堆外内存),不拷贝数据
+	 * </p>
 	 * @param order 字节序
 	 * @return ByteBufferWriter
 	 * @see ByteBufferWriter
 	 */
 	public ByteBufferWriter bufferWriter(ByteOrder order) {
-		return ByteBufferWriter.of(ByteBuffer.wrap(buffer, writeIndex, writableBytes()), order);
+		ByteBuffer view = storage.nioBuffer();
+		view.position(writeIndex);
+		return ByteBufferWriter.of(view, order);
 	}
 
 	/**
@@ -700,13 +1230,16 @@ public class ByteData implements Display {
 	}
 
 	/**
-	 * 将可读区域委托给 {@code ByteBufferReader}
+	 * 将可读区域委托给 {@code ByteBufferReader},从读指针开始读取,注意:读取操作不会同步内部读指针
+	 * <p>
+	 * 直接访问内部存储(包括堆外内存),不拷贝数据
+	 * </p>
 	 * @param order 字节序
 	 * @return ByteBufferReader
 	 * @see ByteBufferReader
 	 */
 	public ByteBufferReader bufferReader(ByteOrder order) {
-		return ByteBufferReader.of(ByteBuffer.wrap(buffer, 0, readableBytes()), order);
+		return ByteBufferReader.of(readableView().slice(), order);
 	}
 
 	/**
@@ -726,22 +1259,107 @@ public class ByteData implements Display {
 	 * @throws ArrayIndexOutOfBoundsException if {@code offset < 0}
 	 */
 	public ByteData buffCopy(int offset, int length) {
-		return ByteData.copyOf(buffer, offset, length);
+		if (offset < 0 || offset > capacity()) {
+			throw new ArrayIndexOutOfBoundsException("Index out of range: " + offset);
+		}
+		ByteData data = ByteData.ofCapacity(length);
+		storage.get(offset, data.buffer(), 0, Math.min(length, capacity() - offset));
+		data.writeIndex(length);
+		return data;
 	}
 
 	@Override
 	public String toString() {
-		return readHexLower(0, readableBytes());
+		return readHexLower(readIndex, readableBytes());
 	}
 
 	@Override
 	public String display() {
-		return String.format("[%d]%s", readableBytes(), readHexLower(0, readableBytes()));
+		final int length = readableBytes();
+		StringBuilder builder = new StringBuilder(length * 2 + 12).append('[').append(length).append(']');
+		return readHexInto(builder, readIndex, length, false).toString();
 	}
 
 	// ~ Internal
 	// ===================================================================================================
 
+	/**
+	 * 创建共享存储的视图,用于 {@link #slice(int, int)} 和 {@link #duplicate()}
+	 * @param storage 视图使用的存储
+	 * @param writeIndex 写指针
+	 * @return 新的ByteData对象
+	 */
+	protected ByteData newView(ByteStorage storage, int writeIndex) {
+		return new ByteData(storage, writeIndex);
+	}
+
+	/**
+	 * 重新分配内部存储,保留原有数据
+	 * @param old 原存储
+	 * @param newCapacity 新容量
+	 * @return 新的存储
+	 */
+	protected ByteStorage reallocate(ByteStorage old, int newCapacity) {
+		return old.resize(newCapacity);
+	}
+
+	/**
+	 * 替换内部存储
+	 * @param storage 新的存储
+	 * @param writeIndex 写指针
+	 */
+	protected void resetStorage(ByteStorage storage, int writeIndex) {
+		this.storage = storage;
+		this.writeIndex = writeIndex;
+		clampReadIndex();
+	}
+
+	private void clampReadIndex() {
+		readIndex = Math.min(readIndex, writeIndex);
+		markedReadIndex = Math.min(markedReadIndex, writeIndex);
+	}
+
+	private ByteBuffer readableView() {
+		return rangeView(readIndex, writeIndex - readIndex);
+	}
+
+	private ByteBuffer rangeView(int offset, int length) {
+		ByteBuffer view = storage.nioBuffer();
+		view.limit(offset + length).position(offset);
+		return view;
+	}
+
+	private String hex(int offset, int length, boolean upperCase) {
+		assertReadPos(offset);
+		if (length < 0) {
+			length = readableBytes(offset);
+		}
+		assertReadable(offset, length);
+		if (storage.hasArray()) {
+			return HexCodec.encodeToString(storage.array(), storage.arrayOffset() + offset, length, upperCase);
+		}
+		return HexCodec.encodeToString(rangeView(offset, length), upperCase);
+	}
+
+	private int readIndexAdvance(int length) {
+		if (length > writeIndex - readIndex) {
+			throw new IndexOutOfBoundsException("Not enough readable bytes: " + length);
+		}
+		int index = readIndex;
+		readIndex += length;
+		return index;
+	}
+
+	private byte[] copyRange(int offset, int length) {
+		byte[] data = new byte[length];
+		storage.get(offset, data, 0, length);
+		return data;
+	}
+
+	protected static boolean isBigEndian(ByteOrder order) {
+		return ByteOrder.BIG_ENDIAN.equals(order);
+	}
+
 	protected void assertReadPos(int pos) {
 		if (pos < 0) {
 			throw new IndexOutOfBoundsException("Index out of range: " + pos);
@@ -0,0 +1,569 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按容量分级的缓冲区池
+ * <p/>
+ * <ul>
+ * <li>容量按2的幂分级,最小 {@link #MIN_SIZE_CLASS} 字节,超过 {@code maxPooledSize} 的请求直接分配,不进入池</li>
+ * <li>每个线程有一个小的本地缓存,本地缓存满了以后归还到共享的无锁队列</li>
+ * <li>{@link PooledByteData} 可以使用堆内存或者堆外内存,使用引用计数,计数归零时归还内存.{@code ByteBuffer} 需要显式调用
+ * {@link #release(ByteBuffer)},池只弱引用借出的 {@code ByteBuffer},未归还就被回收的计为泄漏</li>
+ * <li>开启泄漏检测后,未调用 {@code release()} 就被回收的 {@link PooledByteData} 会输出告警日志,可以通过系统属性
+ * {@value #LEAK_DETECTION_PROPERTY} 为共享池开启</li>
+ * </ul>
+ * <b>从池中取出的内存不会清零,内容是不确定的</b>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+@Slf4j
+public class ByteDataPool {
+
+	public static final String LEAK_DETECTION_PROPERTY = "coca.buffer.pool.leakDetection";
+
+	public static final int MIN_SIZE_CLASS = 64;
+
+	public static final int DEFAULT_MAX_POOLED_SIZE = 1024 * 1024;
+
+	public static final int DEFAULT_THREAD_CACHE_SIZE = 8;
+
+	public static final int DEFAULT_SHARED_CACHE_SIZE = 256;
+
+	private static final byte[] EMPTY_ARRAY = new byte[0];
+
+	private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_SIZE_CLASS);
+
+	private static final ByteDataPool SHARED = builder().leakDetection(Boolean.getBoolean(LEAK_DETECTION_PROPERTY))
+		.build();
+
+	private final int maxPooledSize;
+
+	private final int threadCacheSize;
+
+	private final int sharedCacheSize;
+
+	private final boolean leakDetection;
+
+	private final List<SizeClass<byte[]>> heapClasses;
+
+	private final List<SizeClass<ByteBuffer>> directClasses;
+
+	private final ThreadLocal<ThreadCache> threadCache;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder outstanding = new LongAdder();
+
+	private final LongAdder leaks = new LongAdder();
+
+	private final ReferenceQueue<PooledByteData> leakQueue = new ReferenceQueue<>();
+
+	private final Set<LeakRecord> leakRecords = ConcurrentHashMap.newKeySet();
+
+	private final ReferenceQueue<Object> leaseQueue = new ReferenceQueue<>();
+
+	private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+
+	ByteDataPool(int maxPooledSize, int threadCacheSize, int sharedCacheSize, boolean leakDetection) {
+		if (maxPooledSize < MIN_SIZE_CLASS) {
+			throw new IllegalArgumentException("max pooled size < " + MIN_SIZE_CLASS);
+		}
+		this.maxPooledSize = sizeOfClass(sizeClassIndex(maxPooledSize));
+		this.threadCacheSize = Math.max(0, threadCacheSize);
+		this.sharedCacheSize = Math.max(0, sharedCacheSize);
+		this.leakDetection = leakDetection;
+		int classes = sizeClassIndex(this.maxPooledSize) + 1;
+		this.heapClasses = new ArrayList<>(classes);
+		this.directClasses = new ArrayList<>(classes);
+		for (int i = 0; i < classes; ++i) {
+			heapClasses.add(new SizeClass<>());
+			directClasses.add(new SizeClass<>());
+		}
+		this.threadCache = ThreadLocal.withInitial(() -> new ThreadCache(classes));
+	}
+
+	/**
+	 * 共享的缓冲区池
+	 * @return ByteDataPool
+	 */
+	public static ByteDataPool shared() {
+		return SHARED;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	// ~ ByteData
+	// ===================================================================================================
+
+	/**
+	 * 从池中获取 ByteData,使用完毕后调用 {@link PooledByteData#release()}
+	 * @param minCapacity 最小容量,实际容量可能更大
+	 * @return PooledByteData,引用计数为1
+	 */
+	public PooledByteData acquire(int minCapacity) {
+		return acquire(minCapacity, false);
+	}
+
+	/**
+	 * 从池中获取使用堆外内存的 ByteData,使用完毕后调用 {@link PooledByteData#release()}
+	 * @param minCapacity 最小容量,实际容量可能更大
+	 * @return PooledByteData,引用计数为1
+	 */
+	public PooledByteData acquireDirect(int minCapacity) {
+		return acquire(minCapacity, true);
+	}
+
+	private PooledByteData acquire(int minCapacity, boolean direct) {
+		PooledByteData data = new PooledByteData(this, allocateStorage(minCapacity, direct), direct);
+		outstanding.increment();
+		if (leakDetection) {
+			reportLeaks();
+			LeakRecord record = new LeakRecord(data, leakQueue);
+			leakRecords.add(record);
+			data.leakRecord = record;
+		}
+		return data;
+	}
+
+	void onDeallocate(PooledByteData data) {
+		outstanding.decrement();
+		LeakRecord record = data.leakRecord;
+		if (Objects.nonNull(record)) {
+			leakRecords.remove(record);
+			record.clear();
+			data.leakRecord = null;
+		}
+	}
+
+	ByteStorage allocateStorage(int minCapacity, boolean direct) {
+		if (direct) {
+			return new DirectByteStorage(allocateDirectBuffer(minCapacity));
+		}
+		byte[] array = allocateArray(minCapacity);
+		return ByteStorage.wrap(array, 0, array.length);
+	}
+
+	void recycleStorage(ByteStorage storage) {
+		if (storage instanceof DirectByteStorage) {
+			recycleDirectBuffer(((DirectByteStorage) storage).buffer());
+		}
+		else if (storage.hasArray() && storage.arrayOffset() == 0 && storage.array().length == storage.capacity()) {
+			recycleArray(storage.array());
+		}
+	}
+
+	byte[] allocateArray(int minCapacity) {
+		if (minCapacity < 0) {
+			throw new IllegalArgumentException("capacity < 0");
+		}
+		if (minCapacity == 0) {
+			return EMPTY_ARRAY;
+		}
+		if (minCapacity > maxPooledSize) {
+			misses.increment();
+			return new byte[minCapacity];
+		}
+		int index = sizeClassIndex(minCapacity);
+		byte[] array = threadCache.get().heap.get(index).pollFirst();
+		if (Objects.isNull(array)) {
+			array = heapClasses.get(index).poll();
+		}
+		if (Objects.isNull(array)) {
+			misses.increment();
+			return new byte[sizeOfClass(index)];
+		}
+		hits.increment();
+		return array;
+	}
+
+	void recycleArray(byte[] array) {
+		int index = pooledIndexOf(array.length);
+		if (index < 0) {
+			return;
+		}
+		ArrayDeque<byte[]> local = threadCache.get().heap.get(index);
+		if (local.size() < threadCacheSize) {
+			local.offerFirst(array);
+			return;
+		}
+		heapClasses.get(index).offer(array, sharedCacheSize);
+	}
+
+	// ~ ByteBuffer
+	// ===================================================================================================
+
+	/**
+	 * 从池中获取 ByteBuffer,使用完毕后调用 {@link #release(ByteBuffer)}
+	 * @param length 需要的长度,返回的 buffer {@code position = 0, limit = length}
+	 * @param direct 是否使用堆外内存
+	 * @return ByteBuffer,容量可能大于 {@code length}
+	 */
+	public ByteBuffer acquireBuffer(int length, boolean direct) {
+		expungeLeases();
+		if (!direct) {
+			byte[] array = allocateArray(length);
+			if (array.length > 0) {
+				leases.add(new Lease(array, leaseQueue));
+				outstanding.increment();
+			}
+			return (ByteBuffer) ByteBuffer.wrap(array).limit(length);
+		}
+		ByteBuffer buffer = allocateDirectBuffer(length);
+		leases.add(new Lease(buffer, leaseQueue));
+		outstanding.increment();
+		buffer.limit(length);
+		return buffer;
+	}
+
+	/**
+	 * 归还 ByteBuffer,归还后不能再使用
+	 * <p/>
+	 * 只接受由本池分配并且尚未归还的buffer(堆内buffer按底层数组识别),其他buffer(包括重复归还)会被忽略
+	 * @param buffer 通过 {@link #acquireBuffer(int, boolean)} 获取的 ByteBuffer
+	 * @return 返回true表示已经归还,false 表示buffer不属于本池或者已经归还
+	 */
+	public boolean release(ByteBuffer buffer) {
+		if (buffer.isReadOnly()) {
+			return false;
+		}
+		if (buffer.isDirect()) {
+			if (!leases.remove(new Lease(buffer, null))) {
+				return false;
+			}
+			outstanding.decrement();
+			recycleDirectBuffer(buffer);
+			return true;
+		}
+		if (!buffer.hasArray() || !leases.remove(new Lease(buffer.array(), null))) {
+			return false;
+		}
+		outstanding.decrement();
+		recycleArray(buffer.array());
+		return true;
+	}
+
+	private ByteBuffer allocateDirectBuffer(int length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("length < 0");
+		}
+		if (length > maxPooledSize) {
+			misses.increment();
+			return ByteBuffer.allocateDirect(length);
+		}
+		int index = sizeClassIndex(length);
+		ByteBuffer buffer = threadCache.get().direct.get(index).pollFirst();
+		if (Objects.isNull(buffer)) {
+			buffer = directClasses.get(index).poll();
+		}
+		if (Objects.isNull(buffer)) {
+			misses.increment();
+			buffer = ByteBuffer.allocateDirect(sizeOfClass(index));
+		}
+		else {
+			hits.increment();
+			// 上一个使用者可能修改了字节序
+			buffer.clear();
+			buffer.order(ByteOrder.BIG_ENDIAN);
+		}
+		return buffer;
+	}
+
+	private void recycleDirectBuffer(ByteBuffer buffer) {
+		int index = pooledIndexOf(buffer.capacity());
+		if (index < 0) {
+			return;
+		}
+		ArrayDeque<ByteBuffer> local = threadCache.get().direct.get(index);
+		if (local.size() < threadCacheSize) {
+			local.offerFirst(buffer);
+			return;
+		}
+		directClasses.get(index).offer(buffer, sharedCacheSize);
+	}
+
+	// ~ Metrics
+	// ===================================================================================================
+
+	/**
+	 * 统计信息
+	 * @return Metrics
+	 */
+	public Metrics metrics() {
+		expungeLeases();
+		if (leakDetection) {
+			reportLeaks();
+		}
+		return new Metrics(hits.sum(), misses.sum(), outstanding.sum(), leaks.sum());
+	}
+
+	public boolean isLeakDetection() {
+		return leakDetection;
+	}
+
+	public int getMaxPooledSize() {
+		return maxPooledSize;
+	}
+
+	@Getter
+	@ToString
+	public static class Metrics {
+
+		/**
+		 * 从池中获取成功的次数
+		 */
+		private final long hits;
+
+		/**
+		 * 池中没有可用内存而新分配的次数
+		 */
+		private final long misses;
+
+		/**
+		 * 尚未归还的数量
+		 */
+		private final long outstanding;
+
+		/**
+		 * 检测到的泄漏数量
+		 */
+		private final long leaks;
+
+		Metrics(long hits, long misses, long outstanding, long leaks) {
+			this.hits = hits;
+			this.misses = misses;
+			this.outstanding = outstanding;
+			this.leaks = leaks;
+		}
+
+	}
+
+	public static class Builder {
+
+		private int maxPooledSize = DEFAULT_MAX_POOLED_SIZE;
+
+		private int threadCacheSize = DEFAULT_THREAD_CACHE_SIZE;
+
+		private int sharedCacheSize = DEFAULT_SHARED_CACHE_SIZE;
+
+		private boolean leakDetection;
+
+		/**
+		 * 池化的最大容量,更大的请求直接分配
+		 * @param maxPooledSize 字节数,向上取整为2的幂
+		 * @return Builder
+		 */
+		public Builder maxPooledSize(int maxPooledSize) {
+			this.maxPooledSize = maxPooledSize;
+			return this;
+		}
+
+		/**
+		 * 每个线程,每个容量级别的本地缓存数量
+		 * @param threadCacheSize 数量,0 表示不使用本地缓存
+		 * @return Builder
+		 */
+		public Builder threadCacheSize(int threadCacheSize) {
+			this.threadCacheSize = threadCacheSize;
+			return this;
+		}
+
+		/**
+		 * 每个容量级别的共享缓存数量
+		 * @param sharedCacheSize 数量
+		 * @return Builder
+		 */
+		public Builder sharedCacheSize(int sharedCacheSize) {
+			this.sharedCacheSize = sharedCacheSize;
+			return this;
+		}
+
+		/**
+		 * 泄漏检测,会记录分配时的调用栈,仅用于调试
+		 * @param leakDetection true 表示开启
+		 * @return Builder
+		 */
+		public Builder leakDetection(boolean leakDetection) {
+			this.leakDetection = leakDetection;
+			return this;
+		}
+
+		public ByteDataPool build() {
+			return new ByteDataPool(maxPooledSize, threadCacheSize, sharedCacheSize, leakDetection);
+		}
+
+	}
+
+	// ~ Internal
+	// ===================================================================================================
+
+	static int sizeClassIndex(int size) {
+		if (size <= MIN_SIZE_CLASS) {
+			return 0;
+		}
+		return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+	}
+
+	static int sizeOfClass(int index) {
+		return MIN_SIZE_CLASS << index;
+	}
+
+	private int pooledIndexOf(int capacity) {
+		if (capacity < MIN_SIZE_CLASS || capacity > maxPooledSize || Integer.bitCount(capacity) != 1) {
+			return -1;
+		}
+		return sizeClassIndex(capacity);
+	}
+
+	private void reportLeaks() {
+		Reference<? extends PooledByteData> ref;
+		while ((ref = leakQueue.poll()) != null) {
+			if (leakRecords.remove(ref)) {
+				leaks.increment();
+				outstanding.decrement();
+				log.warn("PooledByteData was garbage collected before release(), allocated at:",
+						((LeakRecord) ref).trace);
+			}
+		}
+	}
+
+	/**
+	 * 清理已经被回收但没有归还的 {@code ByteBuffer},对应的内存由GC释放,不再进入池
+	 */
+	private void expungeLeases() {
+		Reference<?> ref;
+		while ((ref = leaseQueue.poll()) != null) {
+			if (leases.remove(ref)) {
+				leaks.increment();
+				outstanding.decrement();
+			}
+		}
+	}
+
+	private static class SizeClass<T> {
+
+		private final ConcurrentLinkedQueue<T> free = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Nullable
+		T poll() {
+			T item = free.poll();
+			if (Objects.nonNull(item)) {
+				count.decrementAndGet();
+			}
+			return item;
+		}
+
+		void offer(T item, int max) {
+			if (count.incrementAndGet() > max) {
+				count.decrementAndGet();
+				return;
+			}
+			free.offer(item);
+		}
+
+	}
+
+	private static class ThreadCache {
+
+		private final List<ArrayDeque<byte[]>> heap;
+
+		private final List<ArrayDeque<ByteBuffer>> direct;
+
+		ThreadCache(int classes) {
+			heap = new ArrayList<>(classes);
+			direct = new ArrayList<>(classes);
+			for (int i = 0; i < classes; ++i) {
+				heap.add(new ArrayDeque<>());
+				direct.add(new ArrayDeque<>());
+			}
+		}
+
+	}
+
+	/**
+	 * 借出的 {@code ByteBuffer}(堆内buffer记录底层数组),弱引用,不阻止未归还的内存被回收.
+	 * <p/>
+	 * 按对象身份比较,{@code ByteBuffer} 的 {@code equals} 比较的是内容.被回收后只与自身相等
+	 */
+	private static final class Lease extends WeakReference<Object> {
+
+		private final int hash;
+
+		Lease(Object target, @Nullable ReferenceQueue<Object> queue) {
+			super(target, queue);
+			this.hash = System.identityHashCode(target);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Lease)) {
+				return false;
+			}
+			Object target = get();
+			return target != null && target == ((Lease) o).get();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+	}
+
+	static class LeakRecord extends PhantomReference<PooledByteData> {
+
+		private final Throwable trace = new Throwable("PooledByteData allocation");
+
+		LeakRecord(PooledByteData referent, ReferenceQueue<? super PooledByteData> q) {
+			super(referent, q);
+		}
+
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ByteData} 的底层存储,索引范围 {@code [0,capacity)}
+ * <p>
+ * 存储本身不做边界检查,由调用方保证索引合法。
+ * </p>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+public interface ByteStorage {
+
+	/**
+	 * 创建堆内存储
+	 * @param capacity 容量
+	 * @return ByteStorage
+	 */
+	static ByteStorage heap(int capacity) {
+		return capacity == 0 ? HeapByteStorage.EMPTY : new HeapByteStorage(new byte[capacity], 0, capacity);
+	}
+
+	/**
+	 * 包装字节数组,与该数组共享元素
+	 * @param array 数组
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @return ByteStorage
+	 */
+	static ByteStorage wrap(byte[] array, int offset, int length) {
+		return new HeapByteStorage(array, offset, length);
+	}
+
+	/**
+	 * 创建堆外存储
+	 * @param capacity 容量
+	 * @return ByteStorage
+	 */
+	static ByteStorage direct(int capacity) {
+		return new DirectByteStorage(ByteBuffer.allocateDirect(capacity));
+	}
+
+	/**
+	 * 包装 ByteBuffer 的 {@code [position,limit)} 区域,与该buffer共享元素
+	 * @param buffer ByteBuffer,不能是只读的
+	 * @return ByteStorage
+	 * @throws IllegalArgumentException buffer 是只读的
+	 */
+	static ByteStorage wrap(ByteBuffer buffer) {
+		if (buffer.isReadOnly()) {
+			throw new IllegalArgumentException("read-only buffer");
+		}
+		if (buffer.hasArray()) {
+			return new HeapByteStorage(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		}
+		return new DirectByteStorage(buffer.slice());
+	}
+
+	/**
+	 * 容量
+	 * @return 字节数
+	 */
+	int capacity();
+
+	/**
+	 * 是否是堆外内存
+	 * @return 返回true表示堆外内存
+	 */
+	boolean isDirect();
+
+	/**
+	 * 是否由字节数组支持
+	 * @return 返回true表示可以调用 {@code array()}
+	 */
+	boolean hasArray();
+
+	/**
+	 * 底层数组
+	 * @return 底层数组
+	 * @throws UnsupportedOperationException 不是由数组支持
+	 */
+	byte[] array();
+
+	/**
+	 * 索引0在底层数组中的位置
+	 * @return 偏移量
+	 * @throws UnsupportedOperationException 不是由数组支持
+	 */
+	int arrayOffset();
+
+	byte get(int index);
+
+	void put(int index, byte value);
+
+	/**
+	 * 批量读取
+	 * @param index 起始索引
+	 * @param dst 目标数组
+	 * @param offset 目标数组偏移量
+	 * @param length 字节数
+	 */
+	void get(int index, byte[] dst, int offset, int length);
+
+	/**
+	 * 批量写入
+	 * @param index 起始索引
+	 * @param src 源数组
+	 * @param offset 源数组偏移量
+	 * @param length 字节数
+	 */
+	void put(int index, byte[] src, int offset, int length);
+
+	/**
+	 * 批量写入
+	 * @param index 起始索引
+	 * @param src 源存储
+	 * @param srcIndex 源存储的起始索引
+	 * @param length 字节数
+	 */
+	void put(int index, ByteStorage src, int srcIndex, int length);
+
+	short getShort(int index, boolean bigEndian);
+
+	int getInt(int index, boolean bigEndian);
+
+	long getLong(int index, boolean bigEndian);
+
+	void putShort(int index, short value, boolean bigEndian);
+
+	void putInt(int index, int value, boolean bigEndian);
+
+	void putLong(int index, long value, boolean bigEndian);
+
+	/**
+	 * 填充
+	 * @param from 起始索引(包含)
+	 * @param to 结束索引(不包含)
+	 * @param value 填充值
+	 */
+	void fill(int from, int to, byte value);
+
+	/**
+	 * 创建新的存储并拷贝数据,存储类型保持不变
+	 * @param newCapacity 新容量,小于当前容量时数据被截断
+	 * @return 新的存储
+	 */
+	ByteStorage resize(int newCapacity);
+
+	/**
+	 * 创建共享同一块内存的子存储
+	 * @param index 起始索引
+	 * @param length 长度
+	 * @return 新的存储,索引0对应当前存储的 {@code index}
+	 */
+	ByteStorage slice(int index, int length);
+
+	/**
+	 * 以 ByteBuffer 访问全部存储区域,不拷贝数据
+	 * @return ByteBuffer {@code position = 0, limit = capacity},索引与存储一致
+	 */
+	ByteBuffer nioBuffer();
+
+}
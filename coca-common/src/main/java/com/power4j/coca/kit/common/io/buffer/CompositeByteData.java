@@ -0,0 +1,367 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import com.power4j.coca.kit.common.codec.binary.HexCodec;
+import com.power4j.coca.kit.common.text.Display;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 由多个 {@link ByteData} 拼接而成的只读数据,拼接时不拷贝数据
+ * <ul>
+ * <li>每个组件保存的是加入时可读区域的视图(参考 {@link ByteData#slice(int, int)}),与源对象共享存储</li>
+ * <li>跨组件的读取操作只拷贝涉及的数据,需要连续存储时调用 {@code flatten()},结果会被缓存</li>
+ * <li>可以通过 {@code writeTo(GatheringByteChannel)} 直接聚集写出,不需要拼接</li>
+ * <li>{@link PooledByteData} 组件保存的是引用计数独立的视图,调用方释放自己的引用后存储仍被组合对象持有,需要调用
+ * {@link #release()} 才会归还到池中</li>
+ * </ul>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see ByteData#copyOf(ByteData...)
+ */
+public class CompositeByteData implements Display {
+
+	private final List<ByteData> components = new ArrayList<>();
+
+	/**
+	 * 各组件的起始偏移量
+	 */
+	private int[] offsets = new int[8];
+
+	private int readableBytes;
+
+	@Nullable
+	private ByteData flat;
+
+	// ~ static method
+	// ===================================================================================================
+
+	/**
+	 * 创建空对象
+	 * @return CompositeByteData
+	 */
+	public static CompositeByteData ofEmpty() {
+		return new CompositeByteData();
+	}
+
+	/**
+	 * 拼接数据
+	 * @param array 组件
+	 * @return CompositeByteData
+	 */
+	public static CompositeByteData of(ByteData... array) {
+		return of(Arrays.asList(array));
+	}
+
+	/**
+	 * 拼接数据
+	 * @param components 组件
+	 * @return CompositeByteData
+	 */
+	public static CompositeByteData of(Iterable<ByteData> components) {
+		CompositeByteData composite = new CompositeByteData();
+		for (ByteData component : components) {
+			composite.addComponent(component);
+		}
+		return composite;
+	}
+
+	// ~ component
+	// ===================================================================================================
+
+	/**
+	 * 在末尾追加组件,不拷贝数据
+	 * @param component 组件,只使用当前的可读区域
+	 * @return 返回当前对象
+	 */
+	public CompositeByteData addComponent(ByteData component) {
+		final int length = component.readableBytes();
+		if (length == 0) {
+			return this;
+		}
+		if (readableBytes + length < 0) {
+			throw new OutOfMemoryError("Composite size overflow");
+		}
+		if (components.size() == offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length << 1);
+		}
+		offsets[components.size()] = readableBytes;
+		components.add(component.slice(component.readIndex(), length));
+		readableBytes += length;
+		flat = null;
+		return this;
+	}
+
+	/**
+	 * 组件数量,不包含空组件
+	 * @return 组件数量
+	 */
+	public int numComponents() {
+		return components.size();
+	}
+
+	/**
+	 * 获取组件
+	 * @param index 组件索引
+	 * @return 组件视图,读写指针与内部保存的组件相互独立.池化组件返回新的 {@link PooledByteData},使用完毕后需要调用
+	 * {@link PooledByteData#release()}
+	 */
+	public ByteData component(int index) {
+		return components.get(index).duplicate();
+	}
+
+	// ~ read
+	// ===================================================================================================
+
+	/**
+	 * 可读数据长度
+	 * @return 全部组件的可读数据之和
+	 */
+	public int readableBytes() {
+		return readableBytes;
+	}
+
+	/**
+	 * 读出可读数据
+	 * @param offset 可读数据偏移量 {@code [0,readableBytes)}
+	 * @return 返回偏移量上的值
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public byte readAt(int offset) {
+		assertReadable(offset, 1);
+		int index = componentIndex(offset);
+		return components.get(index).readAt(offset - offsets[index]);
+	}
+
+	/**
+	 * 读出可读数据
+	 * @param offset 可读数据偏移量 {@code [0,readableBytes)}
+	 * @param count 长度,负数表示全部可读数据
+	 * @return 数据拷贝
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public byte[] read(int offset, int count) {
+		if (count < 0) {
+			count = Math.max(0, readableBytes - offset);
+		}
+		assertReadable(offset, count);
+		if (flat != null) {
+			return flat.read(offset, count);
+		}
+		byte[] data = new byte[count];
+		copyTo(offset, data, 0, count);
+		return data;
+	}
+
+	/**
+	 * 读出可读数据
+	 * @param count 长度,负数表示全部可读数据
+	 * @return 数据拷贝
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public byte[] read(int count) {
+		return read(0, count);
+	}
+
+	/**
+	 * 读出全部可读数据
+	 * @return 数据拷贝
+	 */
+	public byte[] readAll() {
+		return read(0, readableBytes);
+	}
+
+	/**
+	 * 将可读数据作为字符串读取
+	 * @param offset 偏移量
+	 * @param length 长度,负数表示全部可读数据
+	 * @param charset 字符集
+	 * @return String
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public String readString(int offset, int length, Charset charset) {
+		if (length < 0) {
+			length = Math.max(0, readableBytes - offset);
+		}
+		assertReadable(offset, length);
+		if (length == 0) {
+			return "";
+		}
+		int index = componentIndex(offset);
+		ByteData component = components.get(index);
+		int local = offset - offsets[index];
+		if (local + length <= component.readableBytes()) {
+			return component.readString(local, length, charset);
+		}
+		return new String(read(offset, length), charset);
+	}
+
+	/**
+	 * 将可读数据作为字符串读取
+	 * @param offset 偏移量
+	 * @param length 长度,负数表示全部可读数据
+	 * @return String
+	 * @throws IndexOutOfBoundsException 可读数据访问越界
+	 */
+	public String readUtf8String(int offset, int length) {
+		return readString(offset, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 将可读区域委托给 {@code ByteBufferReader}
+	 * <p>
+	 * 只有一个组件时直接访问该组件的存储,否则访问 {@code flatten()} 的结果
+	 * </p>
+	 * @param order 字节序
+	 * @return ByteBufferReader
+	 */
+	public ByteBufferReader bufferReader(ByteOrder order) {
+		if (components.size() == 1) {
+			return components.get(0).bufferReader(order);
+		}
+		return flat().bufferReader(order);
+	}
+
+	/**
+	 * 将可读区域委托给 {@code ByteBufferReader},使用本机字节序
+	 * @return ByteBufferReader
+	 */
+	public ByteBufferReader bufferReader() {
+		return bufferReader(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * 拼接为连续存储,结果被缓存直到追加新的组件
+	 * <p>
+	 * 只有一个组件并且不是 {@link PooledByteData} 时不拷贝数据,结果与该组件的源对象共享存储,通过任何一方修改数据对另一方可见.需要独立的副本时使用
+	 * {@code ByteData.copyOf(flatten())}
+	 * </p>
+	 * @return 缓存结果的视图,读写指针与缓存相互独立
+	 */
+	public ByteData flatten() {
+		return flat().duplicate();
+	}
+
+	/**
+	 * 各组件可读区域的只读视图,不拷贝数据
+	 * @return ByteBuffer 数组,顺序与组件一致
+	 */
+	public ByteBuffer[] nioBuffers() {
+		ByteBuffer[] buffers = new ByteBuffer[components.size()];
+		for (int i = 0; i < buffers.length; ++i) {
+			buffers[i] = components.get(i).asReadOnlyByteBuffer();
+		}
+		return buffers;
+	}
+
+	/**
+	 * 聚集写出全部可读数据,直到写完或者通道暂时无法写入
+	 * <p>
+	 * 非阻塞通道可能只写出一部分,此时返回已写出的字节数.需要在下一次可写时继续的,使用 {@link #nioBuffers()} 得到的数组和
+	 * {@link BufferKit#write(GatheringByteChannel, ByteBuffer[])} 代替本方法
+	 * </p>
+	 * @param channel 目标通道
+	 * @return 写出的字节数
+	 * @throws IOException IO异常
+	 */
+	public long writeTo(GatheringByteChannel channel) throws IOException {
+		return BufferKit.write(channel, nioBuffers());
+	}
+
+	/**
+	 * 释放持有的 {@link PooledByteData} 组件视图并清空,之后可以继续追加组件
+	 * <p>
+	 * 不影响调用方持有的引用.没有池化组件时只清空
+	 * </p>
+	 */
+	public void release() {
+		for (ByteData component : components) {
+			if (component instanceof PooledByteData) {
+				((PooledByteData) component).release();
+			}
+		}
+		components.clear();
+		readableBytes = 0;
+		flat = null;
+	}
+
+	@Override
+	public String toString() {
+		return HexCodec.encodeToString(readAll(), false);
+	}
+
+	@Override
+	public String display() {
+		return String.format("[%d]%s", readableBytes, this);
+	}
+
+	// ~ Internal
+	// ===================================================================================================
+
+	private ByteData flat() {
+		if (flat == null) {
+			if (components.isEmpty()) {
+				flat = ByteData.ofEmpty();
+			}
+			else if (components.size() == 1 && !(components.get(0) instanceof PooledByteData)) {
+				flat = components.get(0);
+			}
+			else {
+				flat = ByteData.copyOf(components.toArray(new ByteData[0]));
+			}
+		}
+		return flat;
+	}
+
+	private void copyTo(int offset, byte[] dest, int destOffset, int length) {
+		int index = componentIndex(offset);
+		int local = offset - offsets[index];
+		while (length > 0) {
+			ByteData component = components.get(index);
+			int count = Math.min(length, component.readableBytes() - local);
+			component.storage().get(local, dest, destOffset, count);
+			destOffset += count;
+			length -= count;
+			local = 0;
+			++index;
+		}
+	}
+
+	private int componentIndex(int offset) {
+		int index = Arrays.binarySearch(offsets, 0, components.size(), offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	private void assertReadable(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > readableBytes) {
+			throw new IndexOutOfBoundsException("Index out of range: " + offset + ", length = " + length);
+		}
+	}
+
+}
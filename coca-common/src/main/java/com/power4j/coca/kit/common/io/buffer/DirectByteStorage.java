@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * ByteBuffer 存储,通常用于堆外内存
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+final class DirectByteStorage implements ByteStorage {
+
+	private static final int FILL_CHUNK = 256;
+
+	private final ByteBuffer buffer;
+
+	/**
+	 * 构造方法
+	 * @param buffer 存储区域为 {@code [0,limit)},内部使用大端字节序
+	 */
+	DirectByteStorage(ByteBuffer buffer) {
+		this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		this.buffer.position(0);
+	}
+
+	ByteBuffer buffer() {
+		return buffer;
+	}
+
+	@Override
+	public int capacity() {
+		return buffer.limit();
+	}
+
+	@Override
+	public boolean isDirect() {
+		return buffer.isDirect();
+	}
+
+	@Override
+	public boolean hasArray() {
+		return false;
+	}
+
+	@Override
+	public byte[] array() {
+		throw new UnsupportedOperationException("not array backed");
+	}
+
+	@Override
+	public int arrayOffset() {
+		throw new UnsupportedOperationException("not array backed");
+	}
+
+	@Override
+	public byte get(int index) {
+		return buffer.get(index);
+	}
+
+	@Override
+	public void put(int index, byte value) {
+		buffer.put(index, value);
+	}
+
+	@Override
+	public void get(int index, byte[] dst, int offset, int length) {
+		ByteBuffer view = buffer.duplicate();
+		view.position(index);
+		view.get(dst, offset, length);
+	}
+
+	@Override
+	public void put(int index, byte[] src, int offset, int length) {
+		ByteBuffer view = buffer.duplicate();
+		view.position(index);
+		view.put(src, offset, length);
+	}
+
+	@Override
+	public void put(int index, ByteStorage src, int srcIndex, int length) {
+		if (src.hasArray()) {
+			put(index, src.array(), src.arrayOffset() + srcIndex, length);
+			return;
+		}
+		ByteBuffer from = src.nioBuffer();
+		from.position(srcIndex).limit(srcIndex + length);
+		ByteBuffer view = buffer.duplicate();
+		view.position(index);
+		view.put(from);
+	}
+
+	@Override
+	public short getShort(int index, boolean bigEndian) {
+		short value = buffer.getShort(index);
+		return bigEndian ? value : Short.reverseBytes(value);
+	}
+
+	@Override
+	public int getInt(int index, boolean bigEndian) {
+		int value = buffer.getInt(index);
+		return bigEndian ? value : Integer.reverseBytes(value);
+	}
+
+	@Override
+	public long getLong(int index, boolean bigEndian) {
+		long value = buffer.getLong(index);
+		return bigEndian ? value : Long.reverseBytes(value);
+	}
+
+	@Override
+	public void putShort(int index, short value, boolean bigEndian) {
+		buffer.putShort(index, bigEndian ? value : Short.reverseBytes(value));
+	}
+
+	@Override
+	public void putInt(int index, int value, boolean bigEndian) {
+		buffer.putInt(index, bigEndian ? value : Integer.reverseBytes(value));
+	}
+
+	@Override
+	public void putLong(int index, long value, boolean bigEndian) {
+		buffer.putLong(index, bigEndian ? value : Long.reverseBytes(value));
+	}
+
+	@Override
+	public void fill(int from, int to, byte value) {
+		byte[] chunk = new byte[Math.min(FILL_CHUNK, Math.max(0, to - from))];
+		if (value != 0) {
+			Arrays.fill(chunk, value);
+		}
+		for (int pos = from; pos < to; pos += chunk.length) {
+			put(pos, chunk, 0, Math.min(chunk.length, to - pos));
+		}
+	}
+
+	@Override
+	public ByteStorage resize(int newCapacity) {
+		ByteBuffer newBuffer = buffer.isDirect() ? ByteBuffer.allocateDirect(newCapacity)
+				: ByteBuffer.allocate(newCapacity);
+		DirectByteStorage storage = new DirectByteStorage(newBuffer);
+		storage.put(0, this, 0, Math.min(capacity(), newCapacity));
+		return storage;
+	}
+
+	@Override
+	public ByteStorage slice(int index, int length) {
+		ByteBuffer view = buffer.duplicate();
+		view.limit(index + length).position(index);
+		return new DirectByteStorage(view.slice());
+	}
+
+	@Override
+	public ByteBuffer nioBuffer() {
+		return buffer.duplicate();
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import com.power4j.coca.kit.common.io.codec.CodecException;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+/**
+ * 长度前缀帧的增量解码器,非线程安全
+ * <p>
+ * 数据先累积在内部缓冲区中,{@code decode(ByteData)} 每次取出一个完整的帧,拷贝到调用方提供(可复用)的 ByteData 中.
+ * </p>
+ * <pre>
+ *     FrameDecoder decoder = new FrameDecoder(spec);
+ *     ByteData frame = ByteData.ofCapacity(256);
+ *     while (decoder.readFrom(channel) >= 0) {
+ *         while (decoder.decode(frame)) {
+ *             handle(frame);
+ *         }
+ *     }
+ * </pre>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see FrameSpec
+ */
+public class FrameDecoder {
+
+	public static final int DEFAULT_READ_SIZE = 8192;
+
+	private final FrameSpec spec;
+
+	private final ByteData inbound;
+
+	private final int readSize;
+
+	/**
+	 * 构造方法
+	 * @param spec 帧格式
+	 */
+	public FrameDecoder(FrameSpec spec) {
+		this(spec, DEFAULT_READ_SIZE);
+	}
+
+	/**
+	 * 构造方法
+	 * @param spec 帧格式
+	 * @param readSize 每次从通道读取的最大字节数
+	 */
+	public FrameDecoder(FrameSpec spec, int readSize) {
+		if (readSize <= 0) {
+			throw new IllegalArgumentException("read size must be positive");
+		}
+		this.spec = Objects.requireNonNull(spec);
+		this.readSize = readSize;
+		this.inbound = ByteData.ofCapacity(readSize);
+	}
+
+	/**
+	 * 帧格式
+	 * @return FrameSpec
+	 */
+	public FrameSpec spec() {
+		return spec;
+	}
+
+	/**
+	 * 尚未解码的数据量
+	 * @return 字节数
+	 */
+	public int bufferedBytes() {
+		return inbound.readableBytes();
+	}
+
+	/**
+	 * 从通道读取一次数据
+	 * @param channel 数据源
+	 * @return 读取的字节数,通道结束返回 -1
+	 * @throws IOException IO异常
+	 */
+	public int readFrom(ReadableByteChannel channel) throws IOException {
+		compact();
+		return inbound.writeFrom(channel, readSize);
+	}
+
+	/**
+	 * 追加数据
+	 * @param src 数据源
+	 * @param offset 偏移量
+	 * @param length 长度
+	 * @return 返回当前对象
+	 */
+	public FrameDecoder feed(byte[] src, int offset, int length) {
+		compact();
+		inbound.writeBytes(src, offset, length);
+		return this;
+	}
+
+	/**
+	 * 追加数据
+	 * @param src 数据源,只使用可读区域,不移动读指针
+	 * @return 返回当前对象
+	 */
+	public FrameDecoder feed(ByteData src) {
+		compact();
+		inbound.write(src);
+		return this;
+	}
+
+	/**
+	 * 解码一个帧
+	 * @param frame 输出,原有数据被清空,可读区域为帧的数据部分
+	 * @return 返回false表示数据不足,需要继续读取
+	 * @throws CodecException 长度字段格式错误或者帧长度超过上限,此时解码器不可继续使用
+	 */
+	public boolean decode(ByteData frame) throws CodecException {
+		final long header = spec.peekHeader(inbound);
+		if (header == FrameSpec.INCOMPLETE) {
+			return false;
+		}
+		final int length = (int) (header >>> 32);
+		final int headerSize = (int) header;
+		if (length < 0 || length > spec.getMaxFrameLength()) {
+			throw new CodecException("Frame length out of range: " + Integer.toUnsignedString(length));
+		}
+		if (inbound.readableBytes() - headerSize < length) {
+			// 把不完整的帧移动到起始位置并提前扩容,避免多次读取后才发现空间不足
+			inbound.discardReadBytes();
+			inbound.ensureWriteBytes(headerSize + length - inbound.readableBytes());
+			return false;
+		}
+		inbound.skipBytes(headerSize);
+		frame.writeIndex(0).ensureWriteBytes(length);
+		frame.storage().put(0, inbound.storage(), inbound.readIndex(), length);
+		frame.writeIndex(length);
+		inbound.skipBytes(length);
+		return true;
+	}
+
+	private void compact() {
+		if (inbound.readableBytes() == 0) {
+			inbound.writeIndex(0);
+		}
+		else if (inbound.readIndex() >= (inbound.capacity() >> 1)) {
+			inbound.discardReadBytes();
+		}
+	}
+
+}
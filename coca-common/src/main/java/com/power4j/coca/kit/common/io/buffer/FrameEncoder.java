@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 长度前缀帧的编码器,非线程安全
+ * <p>
+ * 批量编码时所有长度字段写入同一块复用的缓冲区,与各帧的数据视图交替组成 {@code ByteBuffer[]},通过一次聚集写出,不拷贝数据.
+ * </p>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see FrameSpec
+ */
+public class FrameEncoder {
+
+	private final FrameSpec spec;
+
+	private final ByteData headers = ByteData.ofCapacity(64);
+
+	/**
+	 * 构造方法
+	 * @param spec 帧格式
+	 */
+	public FrameEncoder(FrameSpec spec) {
+		this.spec = Objects.requireNonNull(spec);
+	}
+
+	/**
+	 * 帧格式
+	 * @return FrameSpec
+	 */
+	public FrameSpec spec() {
+		return spec;
+	}
+
+	/**
+	 * 编码一个帧,追加到 {@code dest}
+	 * @param dest 写入目标
+	 * @param payload 数据部分,使用可读区域,不移动读指针
+	 * @return 返回 {@code dest}
+	 * @throws IllegalArgumentException 帧长度超过上限
+	 */
+	public ByteData encode(ByteData dest, ByteData payload) {
+		GrowableByteBufferWriter writer = GrowableByteBufferWriter.of(dest, spec.getOrder());
+		spec.writeHeader(writer, payload.readableBytes());
+		return writer.toByteData().write(payload);
+	}
+
+	/**
+	 * 批量编码,不拷贝数据
+	 * @param frames 各帧的数据部分,使用可读区域,不移动读指针
+	 * @return {@code [header0, payload0, header1, payload1 ...]},长度字段的视图在下一次编码前有效
+	 * @throws IllegalArgumentException 帧长度超过上限
+	 */
+	public ByteBuffer[] encode(List<ByteData> frames) {
+		final int count = frames.size();
+		final int[] offsets = new int[count + 1];
+		GrowableByteBufferWriter writer = GrowableByteBufferWriter.of(headers.writeIndex(0), spec.getOrder());
+		for (int i = 0; i < count; ++i) {
+			offsets[i] = writer.hasWritten();
+			spec.writeHeader(writer, frames.get(i).readableBytes());
+		}
+		offsets[count] = writer.hasWritten();
+		ByteBuffer headerBuffer = writer.toByteBuffer();
+		ByteBuffer[] buffers = new ByteBuffer[count << 1];
+		for (int i = 0; i < count; ++i) {
+			ByteBuffer header = headerBuffer.duplicate();
+			header.limit(offsets[i + 1]).position(offsets[i]);
+			buffers[i << 1] = header;
+			buffers[(i << 1) + 1] = frames.get(i).asReadOnlyByteBuffer();
+		}
+		return buffers;
+	}
+
+	/**
+	 * 批量编码并聚集写出,直到写完或者通道暂时无法写入
+	 * <p>
+	 * 非阻塞通道可能只写出一部分,此时返回已写出的字节数.需要在下一次可写时继续的,使用 {@link #encode(List)} 得到的数组和
+	 * {@link BufferKit#write(GatheringByteChannel, ByteBuffer[])} 代替本方法
+	 * </p>
+	 * @param channel 目标通道
+	 * @param frames 各帧的数据部分,使用可读区域,不移动读指针
+	 * @return 写出的字节数
+	 * @throws IOException IO异常
+	 * @throws IllegalArgumentException 帧长度超过上限
+	 */
+	public long writeTo(GatheringByteChannel channel, List<ByteData> frames) throws IOException {
+		return BufferKit.write(channel, encode(frames));
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * 长度前缀帧格式: {@code [长度字段][数据]},长度字段只包含数据部分的长度
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see FrameDecoder
+ * @see FrameEncoder
+ */
+@Getter
+@ToString
+public class FrameSpec {
+
+	static final long INCOMPLETE = -1L;
+
+	/**
+	 * 长度字段类型
+	 */
+	public enum LengthField {
+
+		/**
+		 * 1 字节无符号数
+		 */
+		U8(1, 0xFF),
+
+		/**
+		 * 2 字节无符号数
+		 */
+		U16(2, 0xFFFF),
+
+		/**
+		 * 4 字节有符号数,不能为负数
+		 */
+		INT32(4, Integer.MAX_VALUE),
+
+		/**
+		 * LEB128 变长整数,1到5字节
+		 * @see VarInt
+		 */
+		VAR_INT(VarInt.MAX_VAR_INT_SIZE, Integer.MAX_VALUE);
+
+		private final int maxSize;
+
+		private final int maxValue;
+
+		LengthField(int maxSize, int maxValue) {
+			this.maxSize = maxSize;
+			this.maxValue = maxValue;
+		}
+
+		/**
+		 * 长度字段的最大字节数
+		 * @return 字节数
+		 */
+		public int maxSize() {
+			return maxSize;
+		}
+
+	}
+
+	private final LengthField lengthField;
+
+	private final ByteOrder order;
+
+	private final int maxFrameLength;
+
+	private FrameSpec(LengthField lengthField, ByteOrder order, int maxFrameLength) {
+		this.lengthField = Objects.requireNonNull(lengthField);
+		this.order = Objects.requireNonNull(order);
+		if (maxFrameLength < 0) {
+			throw new IllegalArgumentException("max frame length < 0");
+		}
+		this.maxFrameLength = Math.min(maxFrameLength, lengthField.maxValue);
+	}
+
+	/**
+	 * 创建帧格式
+	 * @param lengthField 长度字段类型
+	 * @param order 长度字段的字节序,对 {@code U8} 和 {@code VAR_INT} 无意义
+	 * @param maxFrameLength 数据部分的最大长度,超过长度字段的表示范围时取长度字段的上限
+	 * @return FrameSpec
+	 */
+	public static FrameSpec of(LengthField lengthField, ByteOrder order, int maxFrameLength) {
+		return new FrameSpec(lengthField, order, maxFrameLength);
+	}
+
+	/**
+	 * 创建使用 VarInt 长度字段的帧格式
+	 * @param maxFrameLength 数据部分的最大长度
+	 * @return FrameSpec
+	 */
+	public static FrameSpec varInt(int maxFrameLength) {
+		return new FrameSpec(LengthField.VAR_INT, ByteOrder.BIG_ENDIAN, maxFrameLength);
+	}
+
+	/**
+	 * 长度字段的字节数
+	 * @param frameLength 数据部分长度
+	 * @return 字节数
+	 */
+	public int headerSize(int frameLength) {
+		return lengthField == LengthField.VAR_INT ? VarInt.sizeOf(frameLength) : lengthField.maxSize;
+	}
+
+	/**
+	 * 写入长度字段
+	 * @param dest 写入目标
+	 * @param frameLength 数据部分长度
+	 * @throws IllegalArgumentException 长度超过 {@code maxFrameLength}
+	 */
+	void writeHeader(ByteBufferWriter dest, int frameLength) {
+		if (frameLength < 0 || frameLength > maxFrameLength) {
+			throw new IllegalArgumentException("Frame length out of range: " + frameLength);
+		}
+		switch (lengthField) {
+			case U8:
+				dest.writeByte(frameLength);
+				break;
+			case U16:
+				dest.writeShort(frameLength);
+				break;
+			case INT32:
+				dest.writeInt(frameLength);
+				break;
+			default:
+				dest.writeVarInt(frameLength);
+				break;
+		}
+	}
+
+	/**
+	 * 从 {@code src} 的读指针处解析长度字段,不移动读指针
+	 * @param src 数据源
+	 * @return 长度字段的值和字节数 {@code (length << 32) | headerSize},数据不足返回 {@code INCOMPLETE}
+	 * @throws CodecException VarInt 格式错误
+	 */
+	long peekHeader(ByteData src) throws CodecException {
+		final int start = src.readIndex();
+		final int readable = src.readableBytes();
+		switch (lengthField) {
+			case U8:
+				return readable < 1 ? INCOMPLETE : header(Byte.toUnsignedInt(src.readAt(start)), 1);
+			case U16:
+				return readable < 2 ? INCOMPLETE : header(Short.toUnsignedInt(src.getInt16At(start, order)), 2);
+			case INT32:
+				return readable < 4 ? INCOMPLETE : header(src.getInt32At(start, order), 4);
+			default:
+				int value = 0;
+				for (int i = 0; i < VarInt.MAX_VAR_INT_SIZE; ++i) {
+					if (i >= readable) {
+						return INCOMPLETE;
+					}
+					byte b = src.readAt(start + i);
+					value |= (b & 0x7F) << (7 * i);
+					if (b >= 0) {
+						return header(value, i + 1);
+					}
+				}
+				throw new CodecException("Malformed varint length field");
+		}
+	}
+
+	private static long header(int length, int size) {
+		return ((long) length << 32) | size;
+	}
+
+}
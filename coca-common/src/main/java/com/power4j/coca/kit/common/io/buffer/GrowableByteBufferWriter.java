@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 自动扩容的 {@link ByteBufferWriter},数据保存在 {@link ByteData} 中
+ * <ul>
+ * <li>空间不足时按照 ByteData 的扩容策略重新分配,不会抛出 {@code BufferOverflowException}</li>
+ * <li>{@code reserve()} 跳过的区域可以通过 {@code writeShortAt()}/{@code writeIntAt()} 回填</li>
+ * <li>{@code toByteBuffer()}/{@code toByteData()} 返回的结果与写入器共享存储,不拷贝数据</li>
+ * </ul>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+public class GrowableByteBufferWriter extends ByteBufferWriter {
+
+	private final ByteData data;
+
+	/**
+	 * 构造方法
+	 * @param data 存储数据,从写指针开始追加
+	 * @param order 字节序
+	 */
+	GrowableByteBufferWriter(ByteData data, @Nullable ByteOrder order) {
+		super(writableView(data), order);
+		this.data = data;
+	}
+
+	/**
+	 * 创建
+	 * @param initialCapacity 初始容量
+	 * @param order 字节序
+	 * @return GrowableByteBufferWriter
+	 */
+	public static GrowableByteBufferWriter of(int initialCapacity, @Nullable ByteOrder order) {
+		return new GrowableByteBufferWriter(ByteData.ofCapacity(initialCapacity), order);
+	}
+
+	/**
+	 * 在已有数据之后追加
+	 * @param data 存储数据,从写指针开始追加
+	 * @param order 字节序
+	 * @return GrowableByteBufferWriter
+	 */
+	public static GrowableByteBufferWriter of(ByteData data, @Nullable ByteOrder order) {
+		return new GrowableByteBufferWriter(data, order);
+	}
+
+	/**
+	 * 使用池中的内存创建,扩容时同样从池中获取,使用完毕后通过 {@code toByteData()} 取得 {@link PooledByteData} 并释放
+	 * @param pool 缓冲区池
+	 * @param initialCapacity 初始容量
+	 * @param order 字节序
+	 * @return GrowableByteBufferWriter
+	 */
+	public static GrowableByteBufferWriter of(ByteDataPool pool, int initialCapacity, @Nullable ByteOrder order) {
+		return new GrowableByteBufferWriter(pool.acquire(initialCapacity), order);
+	}
+
+	/**
+	 * 当前容量
+	 * @return 字节数
+	 */
+	public int capacity() {
+		return buffer.capacity();
+	}
+
+	/**
+	 * 已写入的数据,同步写指针后返回内部的 ByteData
+	 * @return ByteData,可读区域为全部已写入的数据
+	 */
+	public ByteData toByteData() {
+		data.writeIndex(buffer.position());
+		return data;
+	}
+
+	/**
+	 * 已写入数据的视图,不拷贝数据
+	 * @return ByteBuffer,{@code [0,hasWritten())} 是全部已写入的数据
+	 */
+	public ByteBuffer toByteBuffer() {
+		ByteBuffer view = buffer.duplicate().order(buffer.order());
+		view.flip();
+		return view;
+	}
+
+	/**
+	 * 已写入数据的视图,用于聚集写出
+	 * @return ByteBuffer 数组
+	 * @see java.nio.channels.GatheringByteChannel
+	 */
+	public ByteBuffer[] toByteBuffers() {
+		return new ByteBuffer[] { toByteBuffer() };
+	}
+
+	@Override
+	protected void ensureWritable(int length) {
+		if (length > buffer.remaining()) {
+			ByteOrder order = buffer.order();
+			data.writeIndex(buffer.position());
+			data.ensureWriteBytes(length);
+			buffer = writableView(data).order(order);
+		}
+	}
+
+	private static ByteBuffer writableView(ByteData data) {
+		ByteBuffer view = data.storage().nioBuffer();
+		view.position(data.writeIndex());
+		return view;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+/**
+ * 缓冲区扩容策略
+ * <p>
+ * 在可写空间不足时,根据当前容量和需要的最小容量计算新的容量。
+ * </p>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+	/**
+	 * 数组容量上限
+	 */
+	int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	/**
+	 * 默认单次扩容的最大增量 4MB
+	 */
+	int DEFAULT_MAX_STEP = 4 * 1024 * 1024;
+
+	/**
+	 * 按需扩容,新容量等于需要的最小容量
+	 */
+	GrowthPolicy EXACT = (capacity, minCapacity) -> minCapacity;
+
+	/**
+	 * 默认策略:容量翻倍,单次增量不超过 {@link #DEFAULT_MAX_STEP}
+	 */
+	GrowthPolicy DEFAULT = doubling(DEFAULT_MAX_STEP);
+
+	/**
+	 * 计算新容量
+	 * @param capacity 当前容量
+	 * @param minCapacity 需要的最小容量,大于当前容量
+	 * @return 返回新容量,不能小于 {@code minCapacity}
+	 */
+	int grow(int capacity, int minCapacity);
+
+	/**
+	 * 容量翻倍策略
+	 * @param maxStep 单次扩容的最大增量
+	 * @return GrowthPolicy
+	 * @throws IllegalArgumentException {@code maxStep} 小于等于0
+	 */
+	static GrowthPolicy doubling(int maxStep) {
+		if (maxStep <= 0) {
+			throw new IllegalArgumentException("max step must be positive");
+		}
+		return (capacity, minCapacity) -> {
+			int step = Math.min(Math.max(capacity, 1), maxStep);
+			long newCapacity = Math.min((long) capacity + step, MAX_CAPACITY);
+			return (int) Math.max(newCapacity, minCapacity);
+		};
+	}
+
+}
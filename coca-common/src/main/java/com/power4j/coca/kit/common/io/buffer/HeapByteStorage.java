@@ -0,0 +1,156 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 字节数组存储
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+final class HeapByteStorage implements ByteStorage {
+
+	static final HeapByteStorage EMPTY = new HeapByteStorage(new byte[0], 0, 0);
+
+	private final byte[] array;
+
+	private final int offset;
+
+	private final int length;
+
+	HeapByteStorage(byte[] array, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > array.length) {
+			throw new IndexOutOfBoundsException("offset = " + offset + ", length = " + length);
+		}
+		this.array = array;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	@Override
+	public int capacity() {
+		return length;
+	}
+
+	@Override
+	public boolean isDirect() {
+		return false;
+	}
+
+	@Override
+	public boolean hasArray() {
+		return true;
+	}
+
+	@Override
+	public byte[] array() {
+		return array;
+	}
+
+	@Override
+	public int arrayOffset() {
+		return offset;
+	}
+
+	@Override
+	public byte get(int index) {
+		return array[offset + index];
+	}
+
+	@Override
+	public void put(int index, byte value) {
+		array[offset + index] = value;
+	}
+
+	@Override
+	public void get(int index, byte[] dst, int dstOffset, int len) {
+		System.arraycopy(array, offset + index, dst, dstOffset, len);
+	}
+
+	@Override
+	public void put(int index, byte[] src, int srcOffset, int len) {
+		System.arraycopy(src, srcOffset, array, offset + index, len);
+	}
+
+	@Override
+	public void put(int index, ByteStorage src, int srcIndex, int len) {
+		src.get(srcIndex, array, offset + index, len);
+	}
+
+	@Override
+	public short getShort(int index, boolean bigEndian) {
+		return Bits.getShort(array, offset + index, bigEndian);
+	}
+
+	@Override
+	public int getInt(int index, boolean bigEndian) {
+		return Bits.getInt(array, offset + index, bigEndian);
+	}
+
+	@Override
+	public long getLong(int index, boolean bigEndian) {
+		return Bits.getLong(array, offset + index, bigEndian);
+	}
+
+	@Override
+	public void putShort(int index, short value, boolean bigEndian) {
+		Bits.putShort(array, offset + index, value, bigEndian);
+	}
+
+	@Override
+	public void putInt(int index, int value, boolean bigEndian) {
+		Bits.putInt(array, offset + index, value, bigEndian);
+	}
+
+	@Override
+	public void putLong(int index, long value, boolean bigEndian) {
+		Bits.putLong(array, offset + index, value, bigEndian);
+	}
+
+	@Override
+	public void fill(int from, int to, byte value) {
+		Arrays.fill(array, offset + from, offset + to, value);
+	}
+
+	@Override
+	public ByteStorage resize(int newCapacity) {
+		if (newCapacity == 0) {
+			return EMPTY;
+		}
+		byte[] newArray = new byte[newCapacity];
+		System.arraycopy(array, offset, newArray, 0, Math.min(length, newCapacity));
+		return new HeapByteStorage(newArray, 0, newCapacity);
+	}
+
+	@Override
+	public ByteStorage slice(int index, int len) {
+		return new HeapByteStorage(array, offset + index, len);
+	}
+
+	@Override
+	public ByteBuffer nioBuffer() {
+		if (offset == 0 && length == array.length) {
+			return ByteBuffer.wrap(array);
+		}
+		return ByteBuffer.wrap(array, offset, length).slice();
+	}
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 基于内存映射的文件读取器,按窗口映射文件,支持超过 2GB 的文件
+ * <ul>
+ * <li>读操作跨越窗口边界时从当前位置重新映射,单次读取的数据量超过窗口大小时临时扩大窗口</li>
+ * <li>{@code hasRead()}/{@code readableBytes()} 是相对整个文件的值,超过 {@code Integer.MAX_VALUE}
+ * 时取上限,完整的值见 {@code position()}/{@code remaining()}</li>
+ * <li>{@code getBuffer()} 返回当前窗口,重新映射或者关闭后窗口被释放,不能再访问</li>
+ * <li>使用完毕后必须调用 {@code close()} 释放映射</li>
+ * </ul>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see BufferKit#mappedReader(java.nio.file.Path, int, boolean, ByteOrder)
+ */
+public class MappedByteBufferReader extends ByteBufferReader implements Closeable {
+
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+	private final FileChannel channel;
+
+	private final long size;
+
+	private final int windowSize;
+
+	private final boolean preload;
+
+	@Nullable
+	private MappedByteBuffer mapped;
+
+	/**
+	 * 当前窗口在文件中的起始位置
+	 */
+	private long windowStart;
+
+	private boolean closed;
+
+	private MappedByteBufferReader(FileChannel channel, MappedByteBuffer first, int windowSize, boolean preload,
+			@Nullable ByteOrder order) throws IOException {
+		super(first, order);
+		this.channel = channel;
+		this.size = channel.size();
+		this.windowSize = windowSize;
+		this.preload = preload;
+		this.mapped = first;
+	}
+
+	/**
+	 * 创建,映射第一个窗口
+	 * @param channel 文件通道,关闭读取器时一并关闭
+	 * @param windowSize 窗口大小
+	 * @param preload 是否在每次映射窗口后调用 {@code MappedByteBuffer.load()},同步加载整个窗口
+	 * @param order 字节序
+	 * @return MappedByteBufferReader
+	 * @throws IOException IO异常
+	 */
+	static MappedByteBufferReader open(FileChannel channel, int windowSize, boolean preload, @Nullable ByteOrder order)
+			throws IOException {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("window size must be positive");
+		}
+		MappedByteBuffer first = map(channel, 0L, (int) Math.min(channel.size(), windowSize), preload);
+		return new MappedByteBufferReader(channel, first, windowSize, preload, order);
+	}
+
+	/**
+	 * 文件大小
+	 * @return 字节数
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * 读指针在文件中的位置
+	 * @return 字节数
+	 */
+	public long position() {
+		return windowStart + buffer.position();
+	}
+
+	/**
+	 * 移动读指针,目标位置不在当前窗口内时,下一次读取时重新映射
+	 * @param newPosition 文件中的位置
+	 * @return MappedByteBufferReader
+	 * @throws IllegalArgumentException 位置越界
+	 */
+	public MappedByteBufferReader position(long newPosition) {
+		if (newPosition < 0 || newPosition > size) {
+			throw new IllegalArgumentException("position out of range: " + newPosition);
+		}
+		checkOpen();
+		if (newPosition >= windowStart && newPosition <= windowStart + buffer.limit()) {
+			buffer.position((int) (newPosition - windowStart));
+		}
+		else {
+			release(newPosition);
+		}
+		return this;
+	}
+
+	/**
+	 * 剩余的数据量
+	 * @return 字节数
+	 */
+	public long remaining() {
+		return size - position();
+	}
+
+	@Override
+	public int readableBytes() {
+		return (int) Math.min(remaining(), Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int hasRead() {
+		return (int) Math.min(position(), Integer.MAX_VALUE);
+	}
+
+	@Override
+	public MappedByteBufferReader unread(int length) {
+		if (length > 0) {
+			position(Math.max(position() - length, 0L));
+		}
+		return this;
+	}
+
+	@Override
+	public MappedByteBufferReader unreadAll() {
+		return position(0L);
+	}
+
+	@Override
+	public MappedByteBufferReader skip(int length) {
+		if (length > 0) {
+			position(Math.min(position() + length, size));
+		}
+		return this;
+	}
+
+	/**
+	 * 返回当前映射窗口
+	 * <p>
+	 * <b>读操作跨越窗口、移动读指针到窗口以外或者关闭读取器时,窗口会立即释放映射.之后不能再访问返回的 ByteBuffer 以及基于它创建的视图, 否则可能导致
+	 * JVM 崩溃.需要保留数据时先拷贝</b>
+	 * </p>
+	 * @return ByteBuffer
+	 */
+	@Override
+	public ByteBuffer getBuffer() {
+		return super.getBuffer();
+	}
+
+	/**
+	 * 读出全部剩余数据写入通道,使用 {@code FileChannel.transferTo},不经过映射窗口
+	 * @param dest 写入目标
+	 * @return 传输的字节数
+	 * @throws IOException IO异常
+	 */
+	@Override
+	public long transferTo(WritableByteChannel dest) throws IOException {
+		checkOpen();
+		long start = position();
+		long pos = start;
+		while (pos < size) {
+			long count = channel.transferTo(pos, size - pos, dest);
+			if (count <= 0) {
+				break;
+			}
+			pos += count;
+		}
+		position(pos);
+		return pos - start;
+	}
+
+	/**
+	 * 释放映射并关闭文件通道,之后的读操作抛出 {@code IllegalStateException}
+	 * @throws IOException IO异常
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		release(position());
+		channel.close();
+	}
+
+	@Override
+	protected void ensureReadable(int length) {
+		checkOpen();
+		if (length <= buffer.remaining()) {
+			return;
+		}
+		final long pos = position();
+		final long available = size - pos;
+		if (mapped != null && available <= buffer.remaining()) {
+			// 当前窗口已到达文件末尾
+			return;
+		}
+		final int mapSize = (int) Math.min(available, Math.max(windowSize, length));
+		ByteOrder order = buffer.order();
+		release(pos);
+		try {
+			mapped = map(channel, pos, mapSize, preload);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		buffer = mapped.asReadOnlyBuffer().order(order);
+	}
+
+	/**
+	 * 释放当前窗口,读指针移动到 {@code newPosition}
+	 * @param newPosition 文件中的位置
+	 */
+	private void release(long newPosition) {
+		ByteOrder order = buffer.order();
+		if (mapped != null) {
+			BufferKit.unmap(mapped);
+			mapped = null;
+		}
+		windowStart = newPosition;
+		buffer = EMPTY.duplicate().order(order);
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Reader closed");
+		}
+	}
+
+	private static MappedByteBuffer map(FileChannel channel, long position, int length, boolean preload)
+			throws IOException {
+		MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+		if (preload) {
+			// 阻塞直到整个窗口读入内存
+			mapped.load();
+		}
+		return mapped;
+	}
+
+}
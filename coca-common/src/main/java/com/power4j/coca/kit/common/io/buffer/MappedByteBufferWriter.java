@@ -0,0 +1,320 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 基于内存映射的文件写入器,按窗口映射文件,支持超过 2GB 的文件
+ * <ul>
+ * <li>写操作跨越窗口边界时从当前位置重新映射,文件随之扩大,不会抛出 {@code BufferOverflowException}</li>
+ * <li>{@code writeByteAt()} 等回填方法的位置是相对文件起始的位置,可以跨越窗口,超过 2GB 的位置使用 {@code long}
+ * 参数的版本</li>
+ * <li>{@code getBuffer()} 返回当前窗口,重新映射或者关闭后窗口被释放,不能再访问</li>
+ * <li>{@code close()} 时释放映射,并将文件截断到已写入的最大位置</li>
+ * </ul>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see BufferKit#mappedWriter(java.nio.file.Path, int, ByteOrder)
+ */
+public class MappedByteBufferWriter extends ByteBufferWriter implements Closeable {
+
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	private final FileChannel channel;
+
+	private final int windowSize;
+
+	@Nullable
+	private MappedByteBuffer mapped;
+
+	/**
+	 * 当前窗口在文件中的起始位置
+	 */
+	private long windowStart;
+
+	/**
+	 * 已写入的最大位置
+	 */
+	private long size;
+
+	private boolean closed;
+
+	private MappedByteBufferWriter(FileChannel channel, int windowSize, @Nullable ByteOrder order) {
+		super(EMPTY.duplicate(), order);
+		this.channel = channel;
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * 创建,第一次写入时映射窗口
+	 * @param channel 文件通道,需要读写权限,关闭写入器时一并关闭
+	 * @param windowSize 窗口大小
+	 * @param order 字节序
+	 * @return MappedByteBufferWriter
+	 */
+	static MappedByteBufferWriter open(FileChannel channel, int windowSize, @Nullable ByteOrder order) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("window size must be positive");
+		}
+		return new MappedByteBufferWriter(channel, windowSize, order);
+	}
+
+	/**
+	 * 写指针在文件中的位置
+	 * @return 字节数
+	 */
+	public long position() {
+		return windowStart + buffer.position();
+	}
+
+	/**
+	 * 移动写指针,目标位置不在当前窗口内时,下一次写入时重新映射
+	 * @param newPosition 文件中的位置
+	 * @return MappedByteBufferWriter
+	 * @throws IllegalArgumentException 位置为负数
+	 */
+	public MappedByteBufferWriter position(long newPosition) {
+		if (newPosition < 0) {
+			throw new IllegalArgumentException("position out of range: " + newPosition);
+		}
+		checkOpen();
+		if (newPosition >= windowStart && newPosition <= windowStart + buffer.limit()) {
+			updateSize();
+			buffer.position((int) (newPosition - windowStart));
+		}
+		else {
+			release(newPosition);
+		}
+		return this;
+	}
+
+	/**
+	 * 已写入的最大位置,即关闭后的文件大小
+	 * @return 字节数
+	 */
+	public long size() {
+		return Math.max(size, position());
+	}
+
+	@Override
+	public int hasWritten() {
+		return (int) Math.min(position(), Integer.MAX_VALUE);
+	}
+
+	@Override
+	public MappedByteBufferWriter discard(int length) {
+		if (length > 0) {
+			position(Math.max(position() - length, 0L));
+		}
+		return this;
+	}
+
+	@Override
+	public MappedByteBufferWriter writeByteAt(int pos, int b) {
+		return writeByteAt((long) pos, b);
+	}
+
+	@Override
+	public MappedByteBufferWriter writeShortAt(int pos, int val) {
+		return writeShortAt((long) pos, val);
+	}
+
+	@Override
+	public MappedByteBufferWriter writeIntAt(int pos, int val) {
+		return writeIntAt((long) pos, val);
+	}
+
+	/**
+	 * 在指定位置写入一个字节,不移动写指针
+	 * @param pos 文件中的位置
+	 * @param b 数据
+	 * @return MappedByteBufferWriter
+	 */
+	public MappedByteBufferWriter writeByteAt(long pos, int b) {
+		ByteBuffer view = windowAt(pos, Byte.BYTES);
+		if (view == null) {
+			writeAt(pos, (ByteBuffer) ByteBuffer.allocate(Byte.BYTES).put((byte) b).flip());
+		}
+		else {
+			view.put((int) (pos - windowStart), (byte) b);
+		}
+		return this;
+	}
+
+	/**
+	 * 在指定位置写入 short,不移动写指针
+	 * @param pos 文件中的位置
+	 * @param val 数据
+	 * @return MappedByteBufferWriter
+	 */
+	public MappedByteBufferWriter writeShortAt(long pos, int val) {
+		ByteBuffer view = windowAt(pos, Short.BYTES);
+		if (view == null) {
+			writeAt(pos, (ByteBuffer) ByteBuffer.allocate(Short.BYTES).order(order()).putShort((short) val).flip());
+		}
+		else {
+			view.putShort((int) (pos - windowStart), (short) val);
+		}
+		return this;
+	}
+
+	/**
+	 * 在指定位置写入 int,不移动写指针,可用于回填长度前缀
+	 * @param pos 文件中的位置
+	 * @param val 数据
+	 * @return MappedByteBufferWriter
+	 */
+	public MappedByteBufferWriter writeIntAt(long pos, int val) {
+		ByteBuffer view = windowAt(pos, Integer.BYTES);
+		if (view == null) {
+			writeAt(pos, (ByteBuffer) ByteBuffer.allocate(Integer.BYTES).order(order()).putInt(val).flip());
+		}
+		else {
+			view.putInt((int) (pos - windowStart), val);
+		}
+		return this;
+	}
+
+	/**
+	 * 返回当前映射窗口
+	 * <p>
+	 * <b>写操作跨越窗口、移动写指针到窗口以外或者关闭写入器时,窗口会立即释放映射.之后不能再访问返回的 ByteBuffer 以及基于它创建的视图, 否则可能导致
+	 * JVM 崩溃</b>
+	 * </p>
+	 * @return ByteBuffer
+	 */
+	@Override
+	public ByteBuffer getBuffer() {
+		return super.getBuffer();
+	}
+
+	/**
+	 * 将当前窗口中的修改写回存储设备
+	 * @return MappedByteBufferWriter
+	 */
+	public MappedByteBufferWriter force() {
+		checkOpen();
+		if (mapped != null) {
+			mapped.force();
+		}
+		return this;
+	}
+
+	/**
+	 * 释放映射,截断文件并关闭文件通道,之后的写操作抛出 {@code IllegalStateException}
+	 * @throws IOException IO异常
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		release(position());
+		try {
+			channel.truncate(size);
+		}
+		finally {
+			channel.close();
+		}
+	}
+
+	@Override
+	protected void ensureWritable(int length) {
+		checkOpen();
+		if (length <= buffer.remaining()) {
+			return;
+		}
+		final long pos = position();
+		ByteOrder order = buffer.order();
+		release(pos);
+		try {
+			mapped = channel.map(FileChannel.MapMode.READ_WRITE, pos, Math.max(windowSize, length));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		buffer = mapped.order(order);
+	}
+
+	/**
+	 * 回填位置在当前窗口内时返回窗口
+	 * @param pos 文件中的位置
+	 * @param length 字节数
+	 * @return 不在当前窗口内返回null
+	 */
+	@Nullable
+	private ByteBuffer windowAt(long pos, int length) {
+		checkOpen();
+		if (pos < 0) {
+			throw new IndexOutOfBoundsException("position < 0");
+		}
+		size = Math.max(size, pos + length);
+		if (mapped != null && pos >= windowStart && pos + length <= windowStart + buffer.limit()) {
+			return buffer;
+		}
+		return null;
+	}
+
+	private void writeAt(long pos, ByteBuffer src) {
+		try {
+			while (src.hasRemaining()) {
+				pos += channel.write(src, pos);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void updateSize() {
+		size = Math.max(size, position());
+	}
+
+	/**
+	 * 释放当前窗口,写指针移动到 {@code newPosition}
+	 * @param newPosition 文件中的位置
+	 */
+	private void release(long newPosition) {
+		updateSize();
+		ByteOrder order = buffer.order();
+		if (mapped != null) {
+			BufferKit.unmap(mapped);
+			mapped = null;
+		}
+		windowStart = newPosition;
+		buffer = EMPTY.duplicate().order(order);
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Writer closed");
+		}
+	}
+
+}
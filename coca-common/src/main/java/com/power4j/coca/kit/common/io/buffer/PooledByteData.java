@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 从 {@link ByteDataPool} 获取的 ByteData,使用引用计数管理内存
+ * <ul>
+ * <li>创建时引用计数为1,{@code retain()} 加1,{@code release()} 减1</li>
+ * <li>计数归零时内部buffer归还到池中,之后ByteData变为空,不能再使用</li>
+ * <li>扩容时新buffer同样从池中获取,旧buffer归还到池中</li>
+ * <li>{@code slice()} 和 {@code duplicate()} 返回的视图同样是 PooledByteData,有独立的引用计数,使用完毕后也需要调用
+ * {@code release()}.只有当前对象和所有视图都不再使用某个buffer时(释放或者扩容),该buffer才会归还到池中</li>
+ * </ul>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see ByteDataPool
+ */
+public class PooledByteData extends ByteData {
+
+	private final ByteDataPool pool;
+
+	private final boolean direct;
+
+	private final boolean view;
+
+	private final AtomicInteger refCnt = new AtomicInteger(1);
+
+	@Nullable
+	private StorageRef storageRef;
+
+	@Nullable
+	volatile ByteDataPool.LeakRecord leakRecord;
+
+	PooledByteData(ByteDataPool pool, ByteStorage storage, boolean direct) {
+		super(storage, 0);
+		this.pool = pool;
+		this.direct = direct;
+		this.view = false;
+		this.storageRef = new StorageRef(pool, storage);
+	}
+
+	private PooledByteData(PooledByteData parent, StorageRef storageRef, ByteStorage storage, int writeIndex) {
+		super(storage, writeIndex);
+		this.pool = parent.pool;
+		this.direct = parent.direct;
+		this.view = true;
+		this.storageRef = storageRef;
+	}
+
+	/**
+	 * 当前引用计数
+	 * @return 引用计数,0 表示已经释放
+	 */
+	public int refCnt() {
+		return refCnt.get();
+	}
+
+	/**
+	 * 引用计数加1
+	 * @return 返回当前对象
+	 * @throws IllegalStateException 已经释放
+	 */
+	public PooledByteData retain() {
+		int cnt;
+		do {
+			cnt = refCnt.get();
+			if (cnt <= 0) {
+				throw new IllegalStateException("ByteData already released");
+			}
+		}
+		while (!refCnt.compareAndSet(cnt, cnt + 1));
+		return this;
+	}
+
+	/**
+	 * 引用计数减1,计数归零时归还内存
+	 * @return 返回true表示当前对象已经释放,如果还有视图在使用,内存在视图释放后才归还到池中
+	 * @throws IllegalStateException 已经释放
+	 */
+	public boolean release() {
+		int cnt;
+		do {
+			cnt = refCnt.get();
+			if (cnt <= 0) {
+				throw new IllegalStateException("ByteData already released");
+			}
+		}
+		while (!refCnt.compareAndSet(cnt, cnt - 1));
+		if (cnt == 1) {
+			StorageRef ref = storageRef;
+			storageRef = null;
+			resetStorage(EMPTY_STORAGE, 0);
+			if (!view) {
+				pool.onDeallocate(this);
+			}
+			if (Objects.nonNull(ref)) {
+				ref.release();
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 创建共享存储的视图,视图的引用计数为1
+	 * @param offset 偏移量
+	 * @param length 长度
+	 * @return 新的PooledByteData对象,使用完毕后需要调用 {@link #release()}
+	 * @see ByteData#slice(int, int)
+	 */
+	@Override
+	public PooledByteData slice(int offset, int length) {
+		return (PooledByteData) super.slice(offset, length);
+	}
+
+	/**
+	 * 创建共享全部存储的视图,视图的引用计数为1
+	 * @return 新的PooledByteData对象,使用完毕后需要调用 {@link #release()}
+	 * @see ByteData#duplicate()
+	 */
+	@Override
+	public PooledByteData duplicate() {
+		return (PooledByteData) super.duplicate();
+	}
+
+	@Override
+	protected ByteData newView(ByteStorage storage, int writeIndex) {
+		StorageRef ref = storageRef;
+		if (Objects.isNull(ref)) {
+			throw new IllegalStateException("ByteData already released");
+		}
+		return new PooledByteData(this, ref.retain(), storage, writeIndex);
+	}
+
+	@Override
+	protected ByteStorage reallocate(ByteStorage old, int newCapacity) {
+		ByteStorage storage = pool.allocateStorage(newCapacity, direct);
+		storage.put(0, old, 0, Math.min(old.capacity(), newCapacity));
+		StorageRef ref = storageRef;
+		storageRef = new StorageRef(pool, storage);
+		if (Objects.nonNull(ref)) {
+			ref.release();
+		}
+		return storage;
+	}
+
+	/**
+	 * 池中分配的存储,被所有共享该存储的 PooledByteData 引用,计数归零时归还到池中
+	 */
+	private static final class StorageRef {
+
+		private final ByteDataPool pool;
+
+		private final ByteStorage storage;
+
+		private final AtomicInteger refCnt = new AtomicInteger(1);
+
+		StorageRef(ByteDataPool pool, ByteStorage storage) {
+			this.pool = pool;
+			this.storage = storage;
+		}
+
+		StorageRef retain() {
+			int cnt;
+			do {
+				cnt = refCnt.get();
+				if (cnt <= 0) {
+					throw new IllegalStateException("ByteData already released");
+				}
+			}
+			while (!refCnt.compareAndSet(cnt, cnt + 1));
+			return this;
+		}
+
+		void release() {
+			if (refCnt.decrementAndGet() == 0) {
+				pool.recycleStorage(storage);
+			}
+		}
+
+	}
+
+}
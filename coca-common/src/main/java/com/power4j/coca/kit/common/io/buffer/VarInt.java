@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * LEB128 变长整数以及 ZigZag 编码工具
+ * <ul>
+ * <li>VarInt: 每个字节低7位存储数据,最高位表示后续还有字节,低位在前. int 最多5字节,long 最多10字节</li>
+ * <li>ZigZag: 将有符号数映射为无符号数,使绝对值小的负数也能编码为较短的 VarInt</li>
+ * </ul>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see ByteBufferWriter#writeVarInt(int)
+ * @see ByteBufferReader#readVarInt()
+ */
+@UtilityClass
+public class VarInt {
+
+	public final int MAX_VAR_INT_SIZE = 5;
+
+	public final int MAX_VAR_LONG_SIZE = 10;
+
+	/**
+	 * 计算 VarInt 编码后的长度
+	 * @param value 值,按无符号处理
+	 * @return 字节数 {@code [1,5]}
+	 */
+	public int sizeOf(int value) {
+		// 每7位一个字节: ceil(有效位数 / 7)
+		return ((Integer.SIZE - 1 - Integer.numberOfLeadingZeros(value | 1)) / 7) + 1;
+	}
+
+	/**
+	 * 计算 VarLong 编码后的长度
+	 * @param value 值,按无符号处理
+	 * @return 字节数 {@code [1,10]}
+	 */
+	public int sizeOf(long value) {
+		return ((Long.SIZE - 1 - Long.numberOfLeadingZeros(value | 1L)) / 7) + 1;
+	}
+
+	/**
+	 * 计算 ZigZag32 编码后的长度
+	 * @param value 值
+	 * @return 字节数 {@code [1,5]}
+	 */
+	public int sizeOfZigZag(int value) {
+		return sizeOf(encodeZigZag(value));
+	}
+
+	/**
+	 * 计算 ZigZag64 编码后的长度
+	 * @param value 值
+	 * @return 字节数 {@code [1,10]}
+	 */
+	public int sizeOfZigZag(long value) {
+		return sizeOf(encodeZigZag(value));
+	}
+
+	/**
+	 * ZigZag 编码
+	 * @param value 有符号数
+	 * @return 无符号数: 0 -> 0, -1 -> 1, 1 -> 2 ...
+	 */
+	public int encodeZigZag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	/**
+	 * ZigZag 编码
+	 * @param value 有符号数
+	 * @return 无符号数: 0 -> 0, -1 -> 1, 1 -> 2 ...
+	 */
+	public long encodeZigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * ZigZag 解码
+	 * @param value 无符号数
+	 * @return 有符号数
+	 */
+	public int decodeZigZag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * ZigZag 解码
+	 * @param value 无符号数
+	 * @return 有符号数
+	 */
+	public long decodeZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1L);
+	}
+
+}
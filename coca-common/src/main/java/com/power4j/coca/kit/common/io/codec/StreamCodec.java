@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 流式编解码,每次处理一部分数据,使用固定大小的缓冲区即可处理任意长度的输入
+ * <p>
+ * 一个实例只负责一个方向(编码或者解码),非线程安全. 典型用法:
+ * </p>
+ * <pre>
+ *     while (读取数据到 in) {
+ *         while (codec.update(in, out) == Status.OVERFLOW) {
+ *             取走 out 中的数据;
+ *         }
+ *     }
+ *     while (codec.finish(out) != Status.DONE) {
+ *         取走 out 中的数据;
+ *     }
+ * </pre>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see StreamCodecs
+ */
+public interface StreamCodec extends AutoCloseable {
+
+	/**
+	 * 处理结果
+	 */
+	enum Status {
+
+		/**
+		 * 输入已经全部处理,需要更多输入
+		 */
+		UNDERFLOW,
+
+		/**
+		 * 输出缓冲区已满,取走数据后再次调用
+		 */
+		OVERFLOW,
+
+		/**
+		 * 全部输出已经完成
+		 */
+		DONE
+
+	}
+
+	/**
+	 * 名称
+	 * @return 返回编码器名称
+	 */
+	String name();
+
+	/**
+	 * 处理输入数据
+	 * @param in 输入,读取后移动 position
+	 * @param out 输出,写入后移动 position
+	 * @return {@code UNDERFLOW} 表示 {@code in} 已经全部读取(可能暂存在内部),{@code OVERFLOW} 表示
+	 * {@code out} 空间不足
+	 * @throws CodecException 数据格式错误
+	 */
+	Status update(ByteBuffer in, ByteBuffer out) throws CodecException;
+
+	/**
+	 * 没有更多输入,输出剩余数据. 返回 {@code DONE} 之前需要反复调用
+	 * @param out 输出,写入后移动 position
+	 * @return {@code OVERFLOW} 表示 {@code out} 空间不足,{@code DONE} 表示全部完成
+	 * @throws CodecException 数据格式错误,例如输入数据不完整
+	 */
+	Status finish(ByteBuffer out) throws CodecException;
+
+	/**
+	 * 释放资源,例如 {@code Deflater} 占用的本地内存
+	 */
+	@Override
+	default void close() {
+		// 默认无资源
+	}
+
+}
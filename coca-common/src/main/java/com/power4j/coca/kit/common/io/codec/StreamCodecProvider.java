@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec;
+
+/**
+ * 可以提供流式编解码器的 {@code Codec},组合使用时可以把结果直接写入调用方复用的缓冲区
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see StreamCodecs#process(StreamCodec, java.nio.ByteBuffer,
+ * com.power4j.coca.kit.common.io.buffer.ByteData)
+ */
+public interface StreamCodecProvider {
+
+	/**
+	 * 创建流式编码器
+	 * @return StreamCodec,使用完毕后需要关闭
+	 */
+	StreamCodec newStreamEncoder();
+
+	/**
+	 * 创建流式解码器
+	 * @return StreamCodec,使用完毕后需要关闭
+	 */
+	StreamCodec newStreamDecoder();
+
+}
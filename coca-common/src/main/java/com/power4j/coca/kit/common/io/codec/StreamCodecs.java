@@ -0,0 +1,377 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec;
+
+import com.power4j.coca.kit.common.io.buffer.ByteData;
+import lombok.experimental.UtilityClass;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * {@link StreamCodec} 工具
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+@UtilityClass
+public class StreamCodecs {
+
+	public final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private final int MIN_GROW_SIZE = 256;
+
+	private final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+	/**
+	 * 将整体编码的 {@link Encoder} 适配为流式接口
+	 * <p>
+	 * 输入数据先全部缓存,{@code finish} 时一次性编码,内存占用与数据量成正比,只用于没有流式实现的编码器
+	 * </p>
+	 * @param encoder 编码器
+	 * @return StreamCodec
+	 */
+	public StreamCodec encoding(Encoder<ByteBuffer, ByteBuffer> encoder) {
+		return new Buffered(encoder.name(), encoder::encode);
+	}
+
+	/**
+	 * 将整体解码的 {@link Decoder} 适配为流式接口
+	 * <p>
+	 * 输入数据先全部缓存,{@code finish} 时一次性解码,内存占用与数据量成正比,只用于没有流式实现的解码器
+	 * </p>
+	 * @param decoder 解码器
+	 * @return StreamCodec
+	 */
+	public StreamCodec decoding(Decoder<ByteBuffer, ByteBuffer> decoder) {
+		return new Buffered(decoder.name(), decoder::decode);
+	}
+
+	/**
+	 * 串联多个编解码器,前一个的输出作为后一个的输入,中间结果使用固定大小的缓冲区
+	 * @param bufferSize 中间缓冲区大小
+	 * @param stages 编解码器,按处理顺序排列
+	 * @return StreamCodec
+	 */
+	public StreamCodec chain(int bufferSize, StreamCodec... stages) {
+		if (stages.length == 0) {
+			throw new IllegalArgumentException("no codec");
+		}
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("buffer size must be positive");
+		}
+		return stages.length == 1 ? stages[0] : new Chain(stages, bufferSize);
+	}
+
+	/**
+	 * 串联多个编解码器,使用默认的中间缓冲区大小
+	 * @param stages 编解码器,按处理顺序排列
+	 * @return StreamCodec
+	 */
+	public StreamCodec chain(StreamCodec... stages) {
+		return chain(DEFAULT_BUFFER_SIZE, stages);
+	}
+
+	/**
+	 * 读出全部输入,处理后写入输出流. 不关闭输入输出流
+	 * @param codec 编解码器
+	 * @param input 输入流
+	 * @param output 输出流
+	 * @param bufferSize 缓冲区大小
+	 * @return 写入的字节数
+	 * @throws IOException IO异常或者编解码异常({@link CodecException})
+	 */
+	public long transfer(StreamCodec codec, InputStream input, OutputStream output, int bufferSize) throws IOException {
+		final byte[] src = new byte[bufferSize];
+		final ByteBuffer in = ByteBuffer.wrap(src);
+		final ByteBuffer out = ByteBuffer.allocate(bufferSize);
+		long total = 0;
+		int n;
+		while ((n = input.read(src)) >= 0) {
+			in.limit(n).position(0);
+			while (codec.update(in, out) == StreamCodec.Status.OVERFLOW) {
+				total += drain(out, output);
+			}
+		}
+		while (codec.finish(out) != StreamCodec.Status.DONE) {
+			total += drain(out, output);
+		}
+		return total + drain(out, output);
+	}
+
+	/**
+	 * 处理全部输入并结束编解码,结果追加到 {@code out} 的写指针处,空间不足时自动扩容
+	 * @param codec 编解码器,调用结束后处于完成状态
+	 * @param in 输入,处理完成后没有剩余数据
+	 * @param out 输出
+	 * @return 写入的字节数
+	 * @throws CodecException 编解码失败
+	 */
+	public int process(StreamCodec codec, ByteBuffer in, ByteData out) throws CodecException {
+		final int start = out.writeIndex();
+		out.ensureWriteBytes(Math.max(in.remaining(), MIN_GROW_SIZE));
+		ByteBuffer view = writableView(out);
+		while (codec.update(in, view) == StreamCodec.Status.OVERFLOW) {
+			view = grow(out, view);
+		}
+		while (codec.finish(view) != StreamCodec.Status.DONE) {
+			view = grow(out, view);
+		}
+		out.writeIndex(view.position());
+		return out.writeIndex() - start;
+	}
+
+	private ByteBuffer grow(ByteData data, ByteBuffer view) {
+		data.writeIndex(view.position());
+		data.ensureWriteBytes(Math.max(data.capacity() >> 1, MIN_GROW_SIZE));
+		return writableView(data);
+	}
+
+	private ByteBuffer writableView(ByteData data) {
+		ByteBuffer view = data.storage().nioBuffer();
+		view.position(data.writeIndex());
+		return view;
+	}
+
+	private int drain(ByteBuffer out, OutputStream output) throws IOException {
+		out.flip();
+		final int length = out.remaining();
+		output.write(out.array(), out.arrayOffset(), length);
+		out.clear();
+		return length;
+	}
+
+	private interface Transform {
+
+		ByteBuffer apply(ByteBuffer src) throws CodecException;
+
+	}
+
+	/**
+	 * 缓存全部输入的适配器
+	 */
+	private static class Buffered implements StreamCodec {
+
+		private final String name;
+
+		private final Transform transform;
+
+		private ByteBuffer input = ByteBuffer.allocate(256);
+
+		@Nullable
+		private ByteBuffer output;
+
+		Buffered(String name, Transform transform) {
+			this.name = name;
+			this.transform = transform;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public Status update(ByteBuffer in, ByteBuffer out) {
+			if (output != null) {
+				throw new IllegalStateException("Already finished");
+			}
+			if (in.remaining() > input.remaining()) {
+				final int required = input.position() + in.remaining();
+				if (required < 0) {
+					throw new IllegalStateException("Input too large");
+				}
+				ByteBuffer grown = ByteBuffer.allocate(Math.max(required, input.capacity() << 1));
+				input.flip();
+				input = grown.put(input);
+			}
+			input.put(in);
+			return Status.UNDERFLOW;
+		}
+
+		@Override
+		public Status finish(ByteBuffer out) throws CodecException {
+			if (output == null) {
+				input.flip();
+				// 已有的实现可能直接使用 array(),保证底层数组只包含输入数据
+				if (input.remaining() != input.capacity()) {
+					input = ByteBuffer.wrap(Arrays.copyOf(input.array(), input.remaining()));
+				}
+				output = transform.apply(input);
+			}
+			if (output.remaining() > out.remaining()) {
+				final int limit = output.limit();
+				output.limit(output.position() + out.remaining());
+				out.put(output);
+				output.limit(limit);
+				return Status.OVERFLOW;
+			}
+			out.put(output);
+			return Status.DONE;
+		}
+
+	}
+
+	/**
+	 * 串联的编解码器,中间缓冲区保持写模式
+	 */
+	private static class Chain implements StreamCodec {
+
+		private final StreamCodec[] stages;
+
+		private final ByteBuffer[] buffers;
+
+		private final Status[] status;
+
+		/**
+		 * 已经完成的数量,按顺序完成
+		 */
+		private int finished;
+
+		/**
+		 * 第 {@code finished} 级已经调用过 {@code finish},不能再调用 {@code update}
+		 */
+		private boolean finishing;
+
+		Chain(StreamCodec[] stages, int bufferSize) {
+			this.stages = stages.clone();
+			this.buffers = new ByteBuffer[stages.length - 1];
+			for (int i = 0; i < buffers.length; ++i) {
+				buffers[i] = ByteBuffer.allocate(bufferSize);
+			}
+			this.status = new Status[stages.length];
+			Arrays.fill(status, Status.UNDERFLOW);
+		}
+
+		@Override
+		public String name() {
+			return Arrays.stream(stages).map(StreamCodec::name).collect(Collectors.joining("+"));
+		}
+
+		@Override
+		public Status update(ByteBuffer in, ByteBuffer out) throws CodecException {
+			if (finished > 0) {
+				throw new IllegalStateException("Already finished");
+			}
+			pump(in, out);
+			for (Status s : status) {
+				if (s == Status.OVERFLOW) {
+					return Status.OVERFLOW;
+				}
+			}
+			return Status.UNDERFLOW;
+		}
+
+		@Override
+		public Status finish(ByteBuffer out) throws CodecException {
+			final int last = stages.length - 1;
+			while (finished <= last) {
+				final boolean progress = pump(EMPTY, out);
+				final int k = finished;
+				if (k > 0 && buffers[k - 1].position() > 0) {
+					// 上一级的输出还没有处理完
+					if (!progress) {
+						return stalled();
+					}
+					continue;
+				}
+				if (!finishing && status[k] == Status.OVERFLOW) {
+					// 本级还有待输出的数据,需要先通过 update 输出,不能直接 finish
+					if (k == last) {
+						return Status.OVERFLOW;
+					}
+					if (!progress) {
+						return stalled();
+					}
+					continue;
+				}
+				final ByteBuffer dst = k == last ? out : buffers[k];
+				final int pos = dst.position();
+				finishing = true;
+				if (stages[k].finish(dst) == Status.DONE) {
+					++finished;
+					finishing = false;
+				}
+				else if (k == last) {
+					return Status.OVERFLOW;
+				}
+				else if (dst.position() == pos && !progress) {
+					return stalled();
+				}
+			}
+			return Status.DONE;
+		}
+
+		@Override
+		public void close() {
+			for (StreamCodec stage : stages) {
+				stage.close();
+			}
+		}
+
+		/**
+		 * 在各级之间传递数据,直到无法继续
+		 * @param in 输入
+		 * @param out 输出
+		 * @return 是否有数据被处理
+		 * @throws CodecException 编解码异常
+		 */
+		private boolean pump(ByteBuffer in, ByteBuffer out) throws CodecException {
+			final int last = stages.length - 1;
+			boolean any = false;
+			boolean progress;
+			do {
+				progress = false;
+				for (int i = finishing ? finished + 1 : finished; i <= last; ++i) {
+					final ByteBuffer src = i == 0 ? in : buffers[i - 1];
+					final ByteBuffer dst = i == last ? out : buffers[i];
+					if (i > 0) {
+						src.flip();
+					}
+					final int srcPos = src.position();
+					final int dstPos = dst.position();
+					status[i] = stages[i].update(src, dst);
+					progress |= src.position() != srcPos || dst.position() != dstPos;
+					if (i > 0) {
+						src.compact();
+					}
+				}
+				any |= progress;
+			}
+			while (progress);
+			return any;
+		}
+
+		/**
+		 * 无法继续处理时,如果最后一级在等待输出空间则返回 {@code OVERFLOW}
+		 */
+		private Status stalled() throws CodecException {
+			if (status[stages.length - 1] == Status.OVERFLOW) {
+				return Status.OVERFLOW;
+			}
+			throw new CodecException("Codec chain stalled: " + name());
+		}
+
+	}
+
+}
@@ -18,11 +18,23 @@ package com.power4j.coca.kit.common.io.codec.impl;
 
 import com.power4j.coca.kit.common.io.codec.Codec;
 import com.power4j.coca.kit.common.io.codec.CodecException;
+import com.power4j.coca.kit.common.io.codec.StreamCodec;
 import org.apache.commons.codec.binary.Base64;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 
 /**
+ * BASE64 编解码
+ * <ul>
+ * <li>{@code encode(ByteBuffer)} 只编码 {@code [position,limit)} 区域,不移动
+ * position,支持堆外buffer</li>
+ * <li>{@code encode(ByteBuffer, CharBuffer, boolean)} 增量编码,可以使用固定大小的缓冲区处理任意长度的数据</li>
+ * <li>{@code wrap(OutputStream)}/{@code wrap(InputStream)} 流式编解码,内存占用与数据量无关</li>
+ * </ul>
+ *
  * @author CJ (power4j@outlook.com)
  * @date 2021/10/25
  * @since 1.0
@@ -31,6 +43,10 @@ public class Base64Codec implements Codec<ByteBuffer, String> {
 
 	public final static String NAME = "b64";
 
+	final static char PAD = '=';
+
+	final static char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
 	@Override
 	public String name() {
 		return NAME;
@@ -44,7 +60,110 @@ public class Base64Codec implements Codec<ByteBuffer, String> {
 
 	@Override
 	public String encode(ByteBuffer src) throws CodecException {
-		return Base64.encodeBase64String(src.array());
+		char[] chars = new char[encodedLength(src.remaining())];
+		encode(src.duplicate(), CharBuffer.wrap(chars), true);
+		return new String(chars);
+	}
+
+	/**
+	 * 编码后的长度
+	 * @param length 数据长度
+	 * @return 字符数,包含填充字符
+	 */
+	public static int encodedLength(int length) {
+		return (length + 2) / 3 * 4;
+	}
+
+	/**
+	 * 增量编码,每次处理尽可能多的完整分组(3字节对应4个字符)
+	 * <p>
+	 * 不足一个分组的数据保留在 {@code in} 中,调用方补充数据后继续编码,最后一次调用时 {@code endOfInput} 为
+	 * true,编码剩余数据并添加填充字符
+	 * </p>
+	 * @param in 输入,读取后移动 position
+	 * @param out 输出,写入后移动 position
+	 * @param endOfInput 是否没有后续数据
+	 * @return 返回false表示 {@code out} 空间不足,需要取走数据后继续调用
+	 */
+	public static boolean encode(ByteBuffer in, CharBuffer out, boolean endOfInput) {
+		final int groups = Math.min(in.remaining() / 3, out.remaining() / 4);
+		if (in.hasArray() && out.hasArray()) {
+			final byte[] src = in.array();
+			final char[] dst = out.array();
+			int sp = in.arrayOffset() + in.position();
+			int dp = out.arrayOffset() + out.position();
+			for (int i = 0; i < groups; ++i) {
+				final int bits = (src[sp++] & 0xFF) << 16 | (src[sp++] & 0xFF) << 8 | (src[sp++] & 0xFF);
+				dst[dp++] = ALPHABET[(bits >>> 18) & 0x3F];
+				dst[dp++] = ALPHABET[(bits >>> 12) & 0x3F];
+				dst[dp++] = ALPHABET[(bits >>> 6) & 0x3F];
+				dst[dp++] = ALPHABET[bits & 0x3F];
+			}
+			in.position(in.position() + groups * 3);
+			out.position(out.position() + groups * 4);
+		}
+		else {
+			for (int i = 0; i < groups; ++i) {
+				final int bits = (in.get() & 0xFF) << 16 | (in.get() & 0xFF) << 8 | (in.get() & 0xFF);
+				out.put(ALPHABET[(bits >>> 18) & 0x3F])
+					.put(ALPHABET[(bits >>> 12) & 0x3F])
+					.put(ALPHABET[(bits >>> 6) & 0x3F])
+					.put(ALPHABET[bits & 0x3F]);
+			}
+		}
+		if (in.remaining() >= 3) {
+			return false;
+		}
+		if (endOfInput && in.hasRemaining()) {
+			if (out.remaining() < 4) {
+				return false;
+			}
+			final int b0 = in.get() & 0xFF;
+			final int b1 = in.hasRemaining() ? in.get() & 0xFF : -1;
+			out.put(ALPHABET[b0 >>> 2]);
+			if (b1 < 0) {
+				out.put(ALPHABET[(b0 << 4) & 0x3F]).put(PAD);
+			}
+			else {
+				out.put(ALPHABET[(b0 << 4 | b1 >>> 4) & 0x3F]).put(ALPHABET[(b1 << 2) & 0x3F]);
+			}
+			out.put(PAD);
+		}
+		return true;
+	}
+
+	/**
+	 * 创建流式编码器,输出 ASCII 字节
+	 * @return StreamCodec
+	 */
+	public static StreamCodec streamEncoder() {
+		return new Base64StreamEncoder();
+	}
+
+	/**
+	 * 创建流式解码器,输入为 ASCII 字节,忽略空白字符
+	 * @return StreamCodec
+	 */
+	public static StreamCodec streamDecoder() {
+		return new Base64StreamDecoder();
+	}
+
+	/**
+	 * 包装输出流,写入的数据编码后输出,关闭时输出剩余数据和填充字符,并关闭 {@code out}
+	 * @param out 输出流
+	 * @return OutputStream
+	 */
+	public static OutputStream wrap(OutputStream out) {
+		return java.util.Base64.getEncoder().wrap(out);
+	}
+
+	/**
+	 * 包装输入流,读出的数据为解码后的数据,忽略换行等非BASE64字符
+	 * @param in 输入流
+	 * @return InputStream
+	 */
+	public static InputStream wrap(InputStream in) {
+		return java.util.Base64.getMimeDecoder().wrap(in);
 	}
 
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec.impl;
+
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import com.power4j.coca.kit.common.io.codec.StreamCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * BASE64 流式解码,输入为 ASCII 字节,忽略空白字符,填充字符可以省略
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see Base64Codec#streamDecoder()
+ */
+class Base64StreamDecoder implements StreamCodec {
+
+	private final static int WHITESPACE = -2;
+
+	private final static int PADDING = -3;
+
+	private final static byte[] VALUES = new byte[256];
+
+	static {
+		Arrays.fill(VALUES, (byte) -1);
+		for (int i = 0; i < Base64Codec.ALPHABET.length; ++i) {
+			VALUES[Base64Codec.ALPHABET[i]] = (byte) i;
+		}
+		VALUES[' '] = WHITESPACE;
+		VALUES['\t'] = WHITESPACE;
+		VALUES['\r'] = WHITESPACE;
+		VALUES['\n'] = WHITESPACE;
+		VALUES[Base64Codec.PAD] = PADDING;
+	}
+
+	private int bits;
+
+	/**
+	 * 当前分组已读取的字符数
+	 */
+	private int chars;
+
+	/**
+	 * 已解码但尚未输出的字节,位于 {@code pending} 的高位
+	 */
+	private int pending;
+
+	private int pendingSize;
+
+	private boolean padded;
+
+	@Override
+	public String name() {
+		return Base64Codec.NAME;
+	}
+
+	@Override
+	public Status update(ByteBuffer in, ByteBuffer out) throws CodecException {
+		while (true) {
+			if (!flush(out)) {
+				return Status.OVERFLOW;
+			}
+			if (!in.hasRemaining()) {
+				return Status.UNDERFLOW;
+			}
+			final int value = VALUES[in.get() & 0xFF];
+			if (value == WHITESPACE) {
+				continue;
+			}
+			if (value == PADDING) {
+				if (padded) {
+					continue;
+				}
+				if (chars < 2) {
+					throw new CodecException("Illegal base64 padding");
+				}
+				endGroup();
+				padded = true;
+				continue;
+			}
+			if (value < 0 || padded) {
+				throw new CodecException("Illegal base64 character");
+			}
+			bits = bits << 6 | value;
+			if (++chars == 4) {
+				endGroup();
+			}
+		}
+	}
+
+	@Override
+	public Status finish(ByteBuffer out) throws CodecException {
+		if (chars == 1) {
+			throw new CodecException("Incomplete base64 data");
+		}
+		endGroup();
+		return flush(out) ? Status.DONE : Status.OVERFLOW;
+	}
+
+	/**
+	 * 结束当前分组,解码结果放入待输出区域
+	 */
+	private void endGroup() {
+		if (chars == 0) {
+			return;
+		}
+		final int size = chars - 1;
+		pending = bits << (6 * (4 - chars)) << 8;
+		pendingSize = size;
+		bits = 0;
+		chars = 0;
+	}
+
+	private boolean flush(ByteBuffer out) {
+		while (pendingSize > 0) {
+			if (!out.hasRemaining()) {
+				return false;
+			}
+			out.put((byte) (pending >>> 24));
+			pending <<= 8;
+			--pendingSize;
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec.impl;
+
+import com.power4j.coca.kit.common.io.codec.StreamCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * BASE64 流式编码,输出 ASCII 字节,不换行
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see Base64Codec#streamEncoder()
+ */
+class Base64StreamEncoder implements StreamCodec {
+
+	private final static byte[] ALPHABET = new byte[64];
+
+	static {
+		for (int i = 0; i < ALPHABET.length; ++i) {
+			ALPHABET[i] = (byte) Base64Codec.ALPHABET[i];
+		}
+	}
+
+	/**
+	 * 不足一个分组的输入
+	 */
+	private final byte[] group = new byte[3];
+
+	private int groupSize;
+
+	@Override
+	public String name() {
+		return Base64Codec.NAME;
+	}
+
+	@Override
+	public Status update(ByteBuffer in, ByteBuffer out) {
+		while (groupSize > 0 && groupSize < 3 && in.hasRemaining()) {
+			group[groupSize++] = in.get();
+		}
+		if (groupSize == 3) {
+			if (out.remaining() < 4) {
+				return Status.OVERFLOW;
+			}
+			put(out, (group[0] & 0xFF) << 16 | (group[1] & 0xFF) << 8 | (group[2] & 0xFF));
+			groupSize = 0;
+		}
+		if (groupSize > 0) {
+			return Status.UNDERFLOW;
+		}
+		final int groups = Math.min(in.remaining() / 3, out.remaining() / 4);
+		for (int i = 0; i < groups; ++i) {
+			put(out, (in.get() & 0xFF) << 16 | (in.get() & 0xFF) << 8 | (in.get() & 0xFF));
+		}
+		if (in.remaining() >= 3) {
+			return Status.OVERFLOW;
+		}
+		while (in.hasRemaining()) {
+			group[groupSize++] = in.get();
+		}
+		return Status.UNDERFLOW;
+	}
+
+	@Override
+	public Status finish(ByteBuffer out) {
+		if (groupSize == 0) {
+			return Status.DONE;
+		}
+		if (out.remaining() < 4) {
+			return Status.OVERFLOW;
+		}
+		if (groupSize == 3) {
+			// update 返回 OVERFLOW 时可能保留一个完整的分组
+			put(out, (group[0] & 0xFF) << 16 | (group[1] & 0xFF) << 8 | (group[2] & 0xFF));
+			groupSize = 0;
+			return Status.DONE;
+		}
+		final int b0 = group[0] & 0xFF;
+		out.put(ALPHABET[b0 >>> 2]);
+		if (groupSize == 1) {
+			out.put(ALPHABET[(b0 << 4) & 0x3F]).put((byte) Base64Codec.PAD);
+		}
+		else {
+			final int b1 = group[1] & 0xFF;
+			out.put(ALPHABET[(b0 << 4 | b1 >>> 4) & 0x3F]).put(ALPHABET[(b1 << 2) & 0x3F]);
+		}
+		out.put((byte) Base64Codec.PAD);
+		groupSize = 0;
+		return Status.DONE;
+	}
+
+	private static void put(ByteBuffer out, int bits) {
+		out.put(ALPHABET[(bits >>> 18) & 0x3F])
+			.put(ALPHABET[(bits >>> 12) & 0x3F])
+			.put(ALPHABET[(bits >>> 6) & 0x3F])
+			.put(ALPHABET[bits & 0x3F]);
+	}
+
+}
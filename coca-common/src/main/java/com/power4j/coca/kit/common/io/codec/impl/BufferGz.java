@@ -19,16 +19,24 @@ package com.power4j.coca.kit.common.io.codec.impl;
 import com.power4j.coca.kit.common.compress.CompressUtil;
 import com.power4j.coca.kit.common.io.codec.Codec;
 import com.power4j.coca.kit.common.io.codec.CodecException;
+import com.power4j.coca.kit.common.io.codec.StreamCodec;
+import com.power4j.coca.kit.common.io.codec.StreamCodecProvider;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
 
 /**
+ * GZip 压缩
+ * <p>
+ * 只处理 {@code [position,limit)} 区域,不移动 position,支持堆外buffer和只读buffer. 返回结果的底层数组长度与数据长度相同.
+ * </p>
+ *
  * @author CJ (power4j@outlook.com)
  * @date 2021/10/25
  * @since 1.0
  */
-public class BufferGz implements Codec<ByteBuffer, ByteBuffer> {
+public class BufferGz implements Codec<ByteBuffer, ByteBuffer>, StreamCodecProvider {
 
 	public final static String NAME = "gz";
 
@@ -40,8 +48,7 @@ public class BufferGz implements Codec<ByteBuffer, ByteBuffer> {
 	@Override
 	public ByteBuffer decode(ByteBuffer src) throws CodecException {
 		try {
-			byte[] data = CompressUtil.unGzip(src.array());
-			return ByteBuffer.wrap(data);
+			return CompressUtil.unGzip(src);
 		}
 		catch (IOException e) {
 			throw new CodecException(e.getMessage(), e);
@@ -51,12 +58,46 @@ public class BufferGz implements Codec<ByteBuffer, ByteBuffer> {
 	@Override
 	public ByteBuffer encode(ByteBuffer src) throws CodecException {
 		try {
-			byte[] data = CompressUtil.gzip(src.array());
-			return ByteBuffer.wrap(data);
+			return CompressUtil.gzip(src);
 		}
 		catch (IOException e) {
 			throw new CodecException(e.getMessage(), e);
 		}
 	}
 
+	@Override
+	public StreamCodec newStreamEncoder() {
+		return streamEncoder();
+	}
+
+	@Override
+	public StreamCodec newStreamDecoder() {
+		return streamDecoder();
+	}
+
+	/**
+	 * 创建流式压缩器,使用默认压缩级别
+	 * @return StreamCodec,使用完毕后需要关闭
+	 */
+	public static StreamCodec streamEncoder() {
+		return streamEncoder(Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * 创建流式压缩器
+	 * @param level 压缩级别 {@code [0,9]} 或者 {@code Deflater.DEFAULT_COMPRESSION}
+	 * @return StreamCodec,使用完毕后需要关闭
+	 */
+	public static StreamCodec streamEncoder(int level) {
+		return new GzipStreamEncoder(level);
+	}
+
+	/**
+	 * 创建流式解压器
+	 * @return StreamCodec,使用完毕后需要关闭
+	 */
+	public static StreamCodec streamDecoder() {
+		return new GzipStreamDecoder();
+	}
+
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec.impl;
+
+import com.power4j.coca.kit.common.compress.GzipFormat;
+import com.power4j.coca.kit.common.compress.ZlibPool;
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import com.power4j.coca.kit.common.io.codec.StreamCodec;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * GZIP 流式解压,支持多个 member 串联的数据
+ * <p>
+ * 与 {@code CompressUtil.unGzip} 以及 {@code GZIPInputStream} 一致: 至少一个完整的 member 之后,不以 gzip
+ * 标识开头的数据被忽略; 头部包含 FHCRC 时校验头部的 CRC16
+ * </p>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see BufferGz#streamDecoder()
+ */
+class GzipStreamDecoder implements StreamCodec {
+
+	private final static int CHUNK_SIZE = 8192;
+
+	private final static ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	private enum State {
+
+		/**
+		 * 头部,包括可选字段,由 {@link GzipFormat.HeaderParser} 解析
+		 */
+		HEADER, BODY, TRAILER,
+
+		/**
+		 * 最后一个 member 之后的其他数据,忽略
+		 */
+		IGNORED
+
+	}
+
+	private final Inflater inflater = ZlibPool.inflater(true);
+
+	private boolean closed;
+
+	private final CRC32 crc = new CRC32();
+
+	private final GzipFormat.HeaderParser header = new GzipFormat.HeaderParser();
+
+	private final byte[] trailer = new byte[GzipFormat.TRAILER_SIZE];
+
+	private final byte[] input = new byte[CHUNK_SIZE];
+
+	private final byte[] output = new byte[CHUNK_SIZE];
+
+	/**
+	 * 已经交给 Inflater 但尚未使用的数据位于 {@code input[leftPos, leftEnd)},解压结束后作为后续数据处理
+	 */
+	private int leftPos;
+
+	private int leftEnd;
+
+	private State state = State.HEADER;
+
+	/**
+	 * 尾部已读取的字节数
+	 */
+	private int count;
+
+	private int members;
+
+	@Override
+	public String name() {
+		return BufferGz.NAME;
+	}
+
+	@Override
+	public Status update(ByteBuffer in, ByteBuffer out) throws CodecException {
+		while (true) {
+			if (state == State.BODY) {
+				if (!inflate(in, out)) {
+					return out.hasRemaining() ? Status.UNDERFLOW : Status.OVERFLOW;
+				}
+				continue;
+			}
+			if (state == State.IGNORED) {
+				leftPos = leftEnd;
+				in.position(in.limit());
+				return Status.UNDERFLOW;
+			}
+			final int b = next(in);
+			if (b < 0) {
+				return Status.UNDERFLOW;
+			}
+			parse(b);
+		}
+	}
+
+	@Override
+	public Status finish(ByteBuffer out) throws CodecException {
+		if (update(EMPTY, out) == Status.OVERFLOW) {
+			return Status.OVERFLOW;
+		}
+		if (members == 0 || (state != State.IGNORED && (state != State.HEADER || header.bytesRead() > 1))) {
+			throw new CodecException("Unexpected end of gzip data");
+		}
+		return Status.DONE;
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			ZlibPool.release(inflater);
+		}
+	}
+
+	/**
+	 * 解压
+	 * @return 返回false表示需要更多输入或者输出空间不足
+	 */
+	private boolean inflate(ByteBuffer in, ByteBuffer out) throws CodecException {
+		while (!inflater.finished()) {
+			if (inflater.needsInput()) {
+				if (leftPos < leftEnd) {
+					inflater.setInput(input, leftPos, leftEnd - leftPos);
+				}
+				else if (in.hasRemaining()) {
+					leftPos = 0;
+					leftEnd = Math.min(in.remaining(), input.length);
+					in.get(input, 0, leftEnd);
+					inflater.setInput(input, 0, leftEnd);
+				}
+				else {
+					return false;
+				}
+				leftPos = leftEnd;
+			}
+			if (!out.hasRemaining()) {
+				return false;
+			}
+			try {
+				final int n;
+				if (out.hasArray()) {
+					final int off = out.arrayOffset() + out.position();
+					n = inflater.inflate(out.array(), off, out.remaining());
+					crc.update(out.array(), off, n);
+					out.position(out.position() + n);
+				}
+				else {
+					n = inflater.inflate(output, 0, Math.min(output.length, out.remaining()));
+					crc.update(output, 0, n);
+					out.put(output, 0, n);
+				}
+				if (n == 0 && inflater.needsDictionary()) {
+					throw new CodecException("Preset dictionary is not supported");
+				}
+			}
+			catch (DataFormatException e) {
+				throw new CodecException(e.getMessage(), e);
+			}
+		}
+		// 未使用的数据属于尾部
+		leftPos = leftEnd - inflater.getRemaining();
+		enter(State.TRAILER);
+		return true;
+	}
+
+	private int next(ByteBuffer in) {
+		if (leftPos < leftEnd) {
+			return input[leftPos++] & 0xFF;
+		}
+		return in.hasRemaining() ? in.get() & 0xFF : -1;
+	}
+
+	private void parse(int b) throws CodecException {
+		if (state == State.HEADER) {
+			final boolean magic = header.bytesRead() < 2;
+			try {
+				if (header.update(b)) {
+					enter(State.BODY);
+				}
+			}
+			catch (ZipException e) {
+				// 第一个 member 之后不以 gzip 标识开头的数据被忽略
+				if (magic && members > 0) {
+					enter(State.IGNORED);
+					return;
+				}
+				throw new CodecException(e.getMessage(), e);
+			}
+			return;
+		}
+		trailer[count++] = (byte) b;
+		if (count == GzipFormat.TRAILER_SIZE) {
+			try {
+				GzipFormat.checkTrailer(trailer, 0, crc.getValue(), inflater.getBytesWritten());
+			}
+			catch (ZipException e) {
+				throw new CodecException(e.getMessage(), e);
+			}
+			++members;
+			inflater.reset();
+			crc.reset();
+			header.reset();
+			enter(State.HEADER);
+		}
+	}
+
+	private void enter(State next) {
+		state = next;
+		count = 0;
+	}
+
+}
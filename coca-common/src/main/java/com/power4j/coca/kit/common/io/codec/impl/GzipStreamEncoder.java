@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec.impl;
+
+import com.power4j.coca.kit.common.compress.GzipFormat;
+import com.power4j.coca.kit.common.compress.ZlibPool;
+import com.power4j.coca.kit.common.io.codec.StreamCodec;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GZIP 流式压缩,输出格式与 {@code GZIPOutputStream} 相同
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ * @see BufferGz#streamEncoder()
+ */
+class GzipStreamEncoder implements StreamCodec {
+
+	private final static int CHUNK_SIZE = 8192;
+
+	private final Deflater deflater;
+
+	private boolean closed;
+
+	private final CRC32 crc = new CRC32();
+
+	private final byte[] input = new byte[CHUNK_SIZE];
+
+	/**
+	 * 堆外输出缓冲区使用的临时数组
+	 */
+	private final byte[] output = new byte[CHUNK_SIZE];
+
+	/**
+	 * 等待输出的头部或者尾部
+	 */
+	private byte[] pending = new byte[GzipFormat.HEADER_SIZE];
+
+	private int pendingPos;
+
+	private boolean trailerWritten;
+
+	GzipStreamEncoder(int level) {
+		this.deflater = ZlibPool.deflater(level, true);
+		GzipFormat.writeHeader(pending, 0);
+	}
+
+	@Override
+	public String name() {
+		return BufferGz.NAME;
+	}
+
+	@Override
+	public Status update(ByteBuffer in, ByteBuffer out) {
+		if (!drainPending(out)) {
+			return Status.OVERFLOW;
+		}
+		while (true) {
+			if (deflater.needsInput()) {
+				if (!in.hasRemaining()) {
+					return Status.UNDERFLOW;
+				}
+				final int n = Math.min(in.remaining(), input.length);
+				in.get(input, 0, n);
+				crc.update(input, 0, n);
+				deflater.setInput(input, 0, n);
+			}
+			if (!out.hasRemaining()) {
+				return Status.OVERFLOW;
+			}
+			deflate(out);
+		}
+	}
+
+	@Override
+	public Status finish(ByteBuffer out) {
+		if (!drainPending(out)) {
+			return Status.OVERFLOW;
+		}
+		if (trailerWritten) {
+			return Status.DONE;
+		}
+		deflater.finish();
+		while (!deflater.finished()) {
+			if (!out.hasRemaining()) {
+				return Status.OVERFLOW;
+			}
+			deflate(out);
+		}
+		pending = trailer();
+		pendingPos = 0;
+		trailerWritten = true;
+		return drainPending(out) ? Status.DONE : Status.OVERFLOW;
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			ZlibPool.release(deflater);
+		}
+	}
+
+	private void deflate(ByteBuffer out) {
+		if (out.hasArray()) {
+			final int n = deflater.deflate(out.array(), out.arrayOffset() + out.position(), out.remaining());
+			out.position(out.position() + n);
+		}
+		else {
+			final int n = deflater.deflate(output, 0, Math.min(output.length, out.remaining()));
+			out.put(output, 0, n);
+		}
+	}
+
+	private boolean drainPending(ByteBuffer out) {
+		final int n = Math.min(pending.length - pendingPos, out.remaining());
+		out.put(pending, pendingPos, n);
+		pendingPos += n;
+		return pendingPos == pending.length;
+	}
+
+	private byte[] trailer() {
+		byte[] trailer = new byte[GzipFormat.TRAILER_SIZE];
+		GzipFormat.writeTrailer(trailer, 0, crc.getValue(), deflater.getBytesRead());
+		return trailer;
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.number;
+
+import java.math.BigInteger;
+
+/**
+ * 64位无符号整数,内部使用 long 保存原始比特位
+ * <p>
+ * 比较,格式化等操作都按无符号语义处理,只在 {@code toBigInteger()} 时才创建 BigInteger.
+ * </p>
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+public final class UnsignedLong extends Number implements Comparable<UnsignedLong> {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final UnsignedLong ZERO = new UnsignedLong(0L);
+
+	public static final UnsignedLong ONE = new UnsignedLong(1L);
+
+	public static final UnsignedLong MAX_VALUE = new UnsignedLong(-1L);
+
+	private final long value;
+
+	private UnsignedLong(long value) {
+		this.value = value;
+	}
+
+	/**
+	 * 使用原始比特位创建
+	 * @param bits 原始比特位,例如 {@code -1L} 表示 {@code 2^64 - 1}
+	 * @return UnsignedLong
+	 */
+	public static UnsignedLong fromLongBits(long bits) {
+		return new UnsignedLong(bits);
+	}
+
+	/**
+	 * 使用非负数创建
+	 * @param value 非负数
+	 * @return UnsignedLong
+	 * @throws IllegalArgumentException 参数为负数
+	 */
+	public static UnsignedLong valueOf(long value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("value is negative: " + value);
+		}
+		return new UnsignedLong(value);
+	}
+
+	/**
+	 * 解析十进制字符串
+	 * @param str 字符串
+	 * @return UnsignedLong
+	 * @throws NumberFormatException 格式错误或超出范围
+	 */
+	public static UnsignedLong valueOf(String str) {
+		return new UnsignedLong(Long.parseUnsignedLong(str));
+	}
+
+	/**
+	 * 原始比特位
+	 * @return long 值,大于 {@code Long.MAX_VALUE} 时为负数
+	 */
+	public long toLongBits() {
+		return value;
+	}
+
+	/**
+	 * 转换为 BigInteger
+	 * @return BigInteger
+	 */
+	public BigInteger toBigInteger() {
+		BigInteger big = BigInteger.valueOf(value & Long.MAX_VALUE);
+		return value < 0 ? big.setBit(Long.SIZE - 1) : big;
+	}
+
+	@Override
+	public int intValue() {
+		return (int) value;
+	}
+
+	@Override
+	public long longValue() {
+		return value;
+	}
+
+	@Override
+	public float floatValue() {
+		return (float) doubleValue();
+	}
+
+	@Override
+	public double doubleValue() {
+		if (value >= 0) {
+			return value;
+		}
+		// 保留最低位用于舍入
+		return ((value >>> 1) | (value & 1L)) * 2.0;
+	}
+
+	@Override
+	public int compareTo(UnsignedLong o) {
+		return Long.compareUnsigned(value, o.value);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		return o instanceof UnsignedLong && ((UnsignedLong) o).value == value;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(value);
+	}
+
+	@Override
+	public String toString() {
+		return Long.toUnsignedString(value);
+	}
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.text.obscure;
+
+import com.power4j.coca.kit.common.io.buffer.ByteData;
+import com.power4j.coca.kit.common.io.codec.Codec;
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import com.power4j.coca.kit.common.io.codec.Decoder;
+import com.power4j.coca.kit.common.io.codec.Encoder;
+import com.power4j.coca.kit.common.io.codec.StreamCodec;
+import com.power4j.coca.kit.common.io.codec.StreamCodecProvider;
+import com.power4j.coca.kit.common.io.codec.StreamCodecs;
+import com.power4j.coca.kit.common.io.codec.impl.Base64Codec;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 预先编译的混淆流程,对应一种算法组合(即一种头部字符串)
+ * <ul>
+ * <li>编码器和解码器的顺序在创建时确定,调用时不再查找和排序</li>
+ * <li>实现了 {@link StreamCodecProvider} 的算法直接写入线程内复用的两个缓冲区,交替作为输入和输出</li>
+ * <li>其他算法的输入保证是独占底层数组的 ByteBuffer,结果的可读区域原样传递给下一个阶段</li>
+ * </ul>
+ * 线程安全,缓冲区按线程隔离
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+final class ObscurePipeline {
+
+	/**
+	 * 线程内保留的缓冲区容量上限,超过后丢弃,避免长期占用大块内存
+	 */
+	private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	private static final ThreadLocal<ByteData[]> BUFFERS = ThreadLocal.withInitial(
+			() -> new ByteData[] { ByteData.ofCapacity(INITIAL_CAPACITY), ByteData.ofCapacity(INITIAL_CAPACITY) });
+
+	private final String header;
+
+	private final List<Encoder<ByteBuffer, ByteBuffer>> encoders;
+
+	/**
+	 * 解码顺序,与编码顺序相反. 为 null 表示无法解码
+	 */
+	@Nullable
+	private final List<Decoder<ByteBuffer, ByteBuffer>> decoders;
+
+	private final List<String> names;
+
+	private ObscurePipeline(String header, List<? extends Encoder<ByteBuffer, ByteBuffer>> encoders,
+			@Nullable List<? extends Decoder<ByteBuffer, ByteBuffer>> decoders) {
+		this.header = header;
+		this.encoders = Collections.unmodifiableList(new ArrayList<>(encoders));
+		if (decoders == null) {
+			this.decoders = null;
+		}
+		else {
+			List<Decoder<ByteBuffer, ByteBuffer>> list = new ArrayList<>(decoders);
+			Collections.reverse(list);
+			this.decoders = Collections.unmodifiableList(list);
+		}
+		this.names = Collections.unmodifiableList(encoders.stream().map(Encoder::name).collect(Collectors.toList()));
+	}
+
+	/**
+	 * 创建可编码可解码的流程
+	 * @param header 头部字符串
+	 * @param codecs 算法,按编码顺序排列
+	 * @return ObscurePipeline
+	 */
+	static ObscurePipeline of(String header, List<? extends Codec<ByteBuffer, ByteBuffer>> codecs) {
+		return new ObscurePipeline(header, codecs, codecs);
+	}
+
+	/**
+	 * 创建只能编码的流程
+	 * @param header 头部字符串
+	 * @param encoders 编码器,按编码顺序排列
+	 * @return ObscurePipeline
+	 */
+	static ObscurePipeline encodeOnly(String header, List<? extends Encoder<ByteBuffer, ByteBuffer>> encoders) {
+		return new ObscurePipeline(header, encoders, null);
+	}
+
+	/**
+	 * 头部字符串,包含与正文之间的分隔符
+	 * @return 没有算法时为空字符串
+	 */
+	String header() {
+		return header;
+	}
+
+	/**
+	 * 算法名称
+	 * @return 按编码顺序排列
+	 */
+	List<String> names() {
+		return names;
+	}
+
+	/**
+	 * 编码
+	 * @param str 原始字符串
+	 * @param charset 字符集
+	 * @param strCodec 正文编码
+	 * @return 返回包含头部的结果
+	 * @throws CodecException 编码失败
+	 */
+	String encode(String str, Charset charset, Codec<ByteBuffer, String> strCodec) throws CodecException {
+		ByteBuffer data = ByteBuffer.wrap(str.getBytes(charset));
+		if (encoders.isEmpty()) {
+			return header + strCodec.encode(data);
+		}
+		final ByteData[] buffers = BUFFERS.get();
+		try {
+			data = run(encoders, data, buffers, true);
+			// Base64Codec 只读取可读区域,其他实现可能直接访问 array()
+			return header + strCodec.encode(strCodec instanceof Base64Codec ? data : exact(data));
+		}
+		finally {
+			release(buffers);
+		}
+	}
+
+	/**
+	 * 解码
+	 * @param body 正文,不包含头部
+	 * @param charset 字符集
+	 * @param strCodec 正文编码
+	 * @return 返回原始字符串
+	 * @throws CodecException 解码失败
+	 */
+	String decode(String body, Charset charset, Codec<ByteBuffer, String> strCodec) throws CodecException {
+		ByteBuffer data = strCodec.decode(body);
+		if (requireDecoders().isEmpty()) {
+			return toString(data, charset);
+		}
+		final ByteData[] buffers = BUFFERS.get();
+		try {
+			return toString(run(requireDecoders(), data, buffers, false), charset);
+		}
+		finally {
+			release(buffers);
+		}
+	}
+
+	/**
+	 * 解码二进制数据
+	 * @param data 数据
+	 * @return 返回解码结果,不与线程内缓冲区共享存储
+	 * @throws CodecException 解码失败
+	 */
+	ByteBuffer decode(ByteBuffer data) throws CodecException {
+		if (requireDecoders().isEmpty()) {
+			return data;
+		}
+		final ByteData[] buffers = BUFFERS.get();
+		try {
+			ByteBuffer result = run(requireDecoders(), data, buffers, false);
+			return isView(result, buffers) ? exact(result) : result;
+		}
+		finally {
+			release(buffers);
+		}
+	}
+
+	private List<Decoder<ByteBuffer, ByteBuffer>> requireDecoders() throws CodecException {
+		if (decoders == null) {
+			throw new CodecException("Missing decoder :" + header);
+		}
+		return decoders;
+	}
+
+	/**
+	 * 依次执行每个阶段
+	 * @param stages 编码器或者解码器
+	 * @param data 输入
+	 * @param buffers 两个交替使用的缓冲区
+	 * @param encode 是否编码
+	 * @return 返回最后一个阶段的结果,可能是缓冲区的视图
+	 * @throws CodecException 编解码失败
+	 */
+	private static ByteBuffer run(List<?> stages, ByteBuffer data, ByteData[] buffers, boolean encode)
+			throws CodecException {
+		int next = 0;
+		for (Object stage : stages) {
+			if (stage instanceof StreamCodecProvider) {
+				StreamCodecProvider provider = (StreamCodecProvider) stage;
+				ByteData out = buffers[next].writeIndex(0);
+				try (StreamCodec codec = encode ? provider.newStreamEncoder() : provider.newStreamDecoder()) {
+					StreamCodecs.process(codec, data, out);
+				}
+				data = readableView(out);
+				next ^= 1;
+			}
+			else {
+				data = unflipped(encode ? encoder(stage).encode(exact(data)) : decoder(stage).decode(exact(data)));
+			}
+		}
+		return data;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Encoder<ByteBuffer, ByteBuffer> encoder(Object stage) {
+		return (Encoder<ByteBuffer, ByteBuffer>) stage;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Decoder<ByteBuffer, ByteBuffer> decoder(Object stage) {
+		return (Decoder<ByteBuffer, ByteBuffer>) stage;
+	}
+
+	private static ByteBuffer readableView(ByteData data) {
+		ByteBuffer view = data.storage().nioBuffer();
+		view.limit(data.writeIndex()).position(data.readIndex());
+		return view;
+	}
+
+	/**
+	 * 兼容写满底层数组后没有 flip 的结果(如 {@code BufferKit.copyFrom}),按原有约定把整个底层数组作为数据
+	 */
+	private static ByteBuffer unflipped(ByteBuffer data) {
+		if (!data.hasRemaining() && data.capacity() > 0 && data.limit() == data.capacity() && data.hasArray()
+				&& data.arrayOffset() == 0 && data.array().length == data.capacity()) {
+			return ByteBuffer.wrap(data.array());
+		}
+		return data;
+	}
+
+	/**
+	 * 保证底层数组只包含可读数据,兼容直接使用 {@code array()} 的实现
+	 */
+	private static ByteBuffer exact(ByteBuffer data) {
+		if (data.hasArray() && data.arrayOffset() == 0 && data.position() == 0 && data.limit() == data.array().length) {
+			return data;
+		}
+		byte[] copy = new byte[data.remaining()];
+		data.duplicate().get(copy);
+		return ByteBuffer.wrap(copy);
+	}
+
+	private static boolean isView(ByteBuffer data, ByteData[] buffers) {
+		return data.hasArray() && (data.array() == buffers[0].buffer() || data.array() == buffers[1].buffer());
+	}
+
+	static String toString(ByteBuffer data, Charset charset) {
+		if (data.hasArray()) {
+			return new String(data.array(), data.arrayOffset() + data.position(), data.remaining(), charset);
+		}
+		byte[] bytes = new byte[data.remaining()];
+		data.duplicate().get(bytes);
+		return new String(bytes, charset);
+	}
+
+	private static void release(ByteData[] buffers) {
+		for (int i = 0; i < buffers.length; ++i) {
+			if (buffers[i].capacity() > MAX_RETAINED_CAPACITY) {
+				buffers[i] = ByteData.ofCapacity(INITIAL_CAPACITY);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ObscurePipeline{" + encoders + "}";
+	}
+
+}
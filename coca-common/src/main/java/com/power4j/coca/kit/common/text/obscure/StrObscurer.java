@@ -16,9 +16,9 @@
 
 package com.power4j.coca.kit.common.text.obscure;
 
+import com.power4j.coca.kit.common.concurrent.CompletableFutureKit;
 import com.power4j.coca.kit.common.io.codec.Codec;
 import com.power4j.coca.kit.common.io.codec.CodecException;
-import com.power4j.coca.kit.common.io.codec.Decoder;
 import com.power4j.coca.kit.common.io.codec.Encoder;
 import com.power4j.coca.kit.common.io.codec.impl.Base64Codec;
 import com.power4j.coca.kit.common.lang.Pair;
@@ -30,15 +30,29 @@ import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
+ * 字符串混淆
+ * <p>
+ * 线程安全: 配置保存在不可变的快照中,setter 以写时复制的方式替换快照,每次调用只读取一次快照(覆盖 {@code restoreData} 的默认实现会重新读取),
+ * 因此并发修改配置不会影响正在进行的调用.
+ * </p>
+ *
  * @author CJ (power4j@outlook.com)
  * @date 2021/10/22
  * @since 1.0
@@ -65,11 +79,19 @@ public class StrObscurer {
 
 	private final static Charset CHARSET = StandardCharsets.UTF_8;
 
-	private String flagPrefix = StringPool.PLUS;
+	/**
+	 * 缓存的流程数量上限,头部来自外部输入,避免无限增长
+	 */
+	private final static int MAX_CACHED_PIPELINES = 256;
 
-	private Codec<ByteBuffer, String> strCodec = new Base64Codec();
+	/**
+	 * 批量处理时每个任务处理的数据量
+	 */
+	private final static int BATCH_SIZE = 1024;
+
+	private final Object lock = new Object();
 
-	private Map<String, Codec<ByteBuffer, ByteBuffer>> codecRegistry = Collections.emptyMap();
+	private volatile Snapshot snapshot = new Snapshot(StringPool.PLUS, new Base64Codec(), Collections.emptyMap());
 
 	public static StrObscurer ofEncoders(List<Codec<ByteBuffer, ByteBuffer>> codecs) {
 		StrObscurer obscurer = new StrObscurer();
@@ -85,12 +107,7 @@ public class StrObscurer {
 	 * @throws CodecException 编码失败
 	 */
 	public String obscure(String str, EncoderSelector selector) throws CodecException {
-		List<Encoder<ByteBuffer, ByteBuffer>> encoders = selector.select(str, new ArrayList<>(codecRegistry.values()));
-		ByteBuffer buffer = ByteBuffer.wrap(str.getBytes(CHARSET));
-		for (Encoder<ByteBuffer, ByteBuffer> encoder : encoders) {
-			buffer = encoder.encode(buffer);
-		}
-		return buildHeader(encoders) + strCodec.encode(buffer);
+		return snapshot.obscure(str, selector);
 	}
 
 	/**
@@ -110,17 +127,61 @@ public class StrObscurer {
 	 * @throws CodecException 编码失败
 	 */
 	public String parse(String str) throws CodecException {
-		Pair<List<String>, String> flagAndBody = parseFlagAndBody(str);
-		List<String> flags = Objects.requireNonNull(flagAndBody.getKey());
-		ByteBuffer raw = strCodec.decode(flagAndBody.getValue());
-		if (!flags.isEmpty()) {
-			raw = restoreData(flags, raw);
-		}
-		return new String(raw.array(), CHARSET);
+		return snapshot.parse(str, this);
+	}
+
+	/**
+	 * 批量混淆,所有数据使用同一份配置
+	 * @param values 原始字符串
+	 * @return 返回混淆后的字符串,顺序与输入一致
+	 * @throws CodecException 编码失败
+	 */
+	public List<String> obscureAll(Collection<String> values) throws CodecException {
+		return obscureAll(values, EncoderSelector.ALL, null);
+	}
+
+	/**
+	 * 批量混淆,所有数据使用同一份配置
+	 * @param values 原始字符串
+	 * @param selector EncoderSelector,并发执行时需要是线程安全的
+	 * @param executor 执行器,为 null 时在当前线程执行
+	 * @return 返回混淆后的字符串,顺序与输入一致
+	 * @throws CodecException 编码失败
+	 */
+	public List<String> obscureAll(Collection<String> values, EncoderSelector selector, @Nullable Executor executor)
+			throws CodecException {
+		final Snapshot current = snapshot;
+		return batch(values, executor, str -> current.obscure(str, selector));
+	}
+
+	/**
+	 * 批量解析,所有数据使用同一份配置
+	 * @param values 经过混淆的字符串
+	 * @return 返回原始字符串,顺序与输入一致
+	 * @throws CodecException 解码失败
+	 */
+	public List<String> parseAll(Collection<String> values) throws CodecException {
+		return parseAll(values, null);
+	}
+
+	/**
+	 * 批量解析,所有数据使用同一份配置
+	 * @param values 经过混淆的字符串
+	 * @param executor 执行器,为 null 时在当前线程执行
+	 * @return 返回原始字符串,顺序与输入一致
+	 * @throws CodecException 解码失败
+	 */
+	public List<String> parseAll(Collection<String> values, @Nullable Executor executor) throws CodecException {
+		final Snapshot current = snapshot;
+		return batch(values, executor, str -> current.parse(str, this));
 	}
 
 	public void setStrCodec(Codec<ByteBuffer, String> strCodec) {
-		this.strCodec = strCodec;
+		Objects.requireNonNull(strCodec);
+		synchronized (lock) {
+			Snapshot old = snapshot;
+			snapshot = new Snapshot(old.flagPrefix, strCodec, old.codecRegistry);
+		}
 	}
 
 	/**
@@ -128,54 +189,254 @@ public class StrObscurer {
 	 * @param flagPrefix 前缀字符串,建议控制在2个字符内
 	 */
 	public void setFlagPrefix(String flagPrefix) {
-		this.flagPrefix = flagPrefix;
+		Objects.requireNonNull(flagPrefix);
+		synchronized (lock) {
+			Snapshot old = snapshot;
+			snapshot = new Snapshot(flagPrefix, old.strCodec, old.codecRegistry);
+		}
 	}
 
 	public void setCodecList(List<Codec<ByteBuffer, ByteBuffer>> codecs) {
 		Map<String, Codec<ByteBuffer, ByteBuffer>> map = new TreeMap<>();
 		codecs.forEach(o -> map.put(o.name(), o));
-		this.codecRegistry = map;
+		synchronized (lock) {
+			Snapshot old = snapshot;
+			snapshot = new Snapshot(old.flagPrefix, old.strCodec, Collections.unmodifiableMap(map));
+		}
 	}
 
+	/**
+	 * 解码数据,{@link #parse(String)} 在存在算法标记时调用
+	 * @param flags 算法标记,不包含前缀,按编码顺序排列
+	 * @param buffer 数据
+	 * @return 返回解码结果
+	 * @throws CodecException 解码失败
+	 */
 	protected ByteBuffer restoreData(List<String> flags, ByteBuffer buffer) throws CodecException {
-		flags = new ArrayList<>(flags);
-		Collections.reverse(flags);
-		for (String name : flags) {
-			Decoder<ByteBuffer, ByteBuffer> decoder = codecRegistry.get(name);
-			if (Objects.isNull(decoder)) {
-				throw new CodecException("Missing decoder :" + name);
-			}
-			buffer = decoder.decode(buffer);
-		}
-		return buffer;
+		return snapshot.restore(flags, buffer);
+	}
+
+	ObscurePipeline pipelineOf(List<Encoder<ByteBuffer, ByteBuffer>> encoders) {
+		return snapshot.pipelineOf(encoders);
+	}
+
+	ObscurePipeline pipelineOf(String flagHeader) throws CodecException {
+		return snapshot.pipelineOf(flagHeader);
 	}
 
 	String encodeFlag(Encoder<?, ?> encoder) {
-		return flagPrefix + encoder.name();
+		return snapshot.encodeFlag(encoder);
 	}
 
 	String extractFlag(String value) {
-		return StringUtils.removeStart(value, flagPrefix);
+		return snapshot.extractFlag(value);
 	}
 
 	String buildHeader(@Nullable List<? extends Encoder<?, ?>> encoders) {
-		if (Objects.isNull(encoders) || encoders.isEmpty()) {
-			return StringPool.EMPTY;
-		}
-		String header = encoders.stream().map(this::encodeFlag).collect(Collectors.joining(FLAG_SEPARATOR));
-		return header + BODY_SEPARATOR;
+		return snapshot.buildHeader(encoders);
 	}
 
 	Pair<List<String>, String> parseFlagAndBody(String input) {
+		final Snapshot current = snapshot;
 		final int piece = 2;
 		String[] flagAndBody = StringUtils.split(input, BODY_SEPARATOR, piece);
 		if (flagAndBody.length >= piece) {
 			List<String> flags = Stream.of(StringUtils.split(flagAndBody[0], FLAG_SEPARATOR))
-				.map(this::extractFlag)
+				.map(current::extractFlag)
 				.collect(Collectors.toList());
 			return Pair.of(flags, flagAndBody[1]);
 		}
 		return Pair.of(Collections.emptyList(), flagAndBody[0]);
 	}
 
+	private interface Task {
+
+		String apply(String value) throws CodecException;
+
+	}
+
+	private static List<String> batch(Collection<String> values, @Nullable Executor executor, Task task)
+			throws CodecException {
+		final String[] result = new String[values.size()];
+		if (executor == null || result.length <= BATCH_SIZE) {
+			int i = 0;
+			for (String value : values) {
+				result[i++] = task.apply(value);
+			}
+			return Arrays.asList(result);
+		}
+		final List<CompletableFuture<Void>> futures = new ArrayList<>(result.length / BATCH_SIZE + 1);
+		final Iterator<String> itr = values.iterator();
+		// 任意一个任务失败后,其他任务不再处理剩余的数据
+		final AtomicBoolean failed = new AtomicBoolean();
+		for (int start = 0; start < result.length; start += BATCH_SIZE) {
+			final String[] chunk = new String[Math.min(BATCH_SIZE, result.length - start)];
+			for (int i = 0; i < chunk.length; ++i) {
+				chunk[i] = itr.next();
+			}
+			final int offset = start;
+			futures.add(CompletableFutureKit.runAsync(() -> {
+				try {
+					for (int i = 0; i < chunk.length && !failed.get(); ++i) {
+						result[offset + i] = task.apply(chunk[i]);
+					}
+				}
+				catch (CodecException | RuntimeException e) {
+					failed.set(true);
+					throw e;
+				}
+			}, executor));
+			if (failed.get()) {
+				break;
+			}
+		}
+		try {
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof CodecException) {
+				throw (CodecException) e.getCause();
+			}
+			throw e;
+		}
+		return Arrays.asList(result);
+	}
+
+	/**
+	 * 不可变的配置快照,以及基于该配置编译的流程缓存
+	 */
+	private static final class Snapshot {
+
+		private final String flagPrefix;
+
+		private final Codec<ByteBuffer, String> strCodec;
+
+		private final Map<String, Codec<ByteBuffer, ByteBuffer>> codecRegistry;
+
+		private final List<Encoder<ByteBuffer, ByteBuffer>> encoderList;
+
+		private final Map<String, ObscurePipeline> headerCache = new ConcurrentHashMap<>();
+
+		private final Map<List<Encoder<ByteBuffer, ByteBuffer>>, ObscurePipeline> selectionCache = new ConcurrentHashMap<>();
+
+		Snapshot(String flagPrefix, Codec<ByteBuffer, String> strCodec,
+				Map<String, Codec<ByteBuffer, ByteBuffer>> codecRegistry) {
+			this.flagPrefix = flagPrefix;
+			this.strCodec = strCodec;
+			this.codecRegistry = codecRegistry;
+			this.encoderList = Collections.unmodifiableList(new ArrayList<>(codecRegistry.values()));
+		}
+
+		String obscure(String str, EncoderSelector selector) throws CodecException {
+			List<Encoder<ByteBuffer, ByteBuffer>> encoders = selector.select(str, encoderList);
+			return pipelineOf(encoders).encode(str, CHARSET, strCodec);
+		}
+
+		String parse(String str, StrObscurer owner) throws CodecException {
+			final int pos = str.indexOf(BODY_SEPARATOR);
+			if (pos < 0) {
+				return pipelineOf(StringPool.EMPTY).decode(str, CHARSET, strCodec);
+			}
+			ObscurePipeline pipeline = pipelineOf(str.substring(0, pos));
+			if (pipeline.names().isEmpty()) {
+				return pipeline.decode(str.substring(pos + 1), CHARSET, strCodec);
+			}
+			ByteBuffer raw = owner.restoreData(pipeline.names(), strCodec.decode(str.substring(pos + 1)));
+			return ObscurePipeline.toString(raw, CHARSET);
+		}
+
+		ByteBuffer restore(List<String> flags, ByteBuffer buffer) throws CodecException {
+			String header = flags.stream().map(o -> flagPrefix + o).collect(Collectors.joining(FLAG_SEPARATOR));
+			return pipelineOf(header).decode(buffer);
+		}
+
+		/**
+		 * 根据编码器选择结果获取流程
+		 * @param encoders 编码器列表
+		 * @return ObscurePipeline
+		 */
+		ObscurePipeline pipelineOf(List<Encoder<ByteBuffer, ByteBuffer>> encoders) {
+			ObscurePipeline pipeline = selectionCache.get(encoders);
+			if (pipeline != null) {
+				return pipeline;
+			}
+			String header = buildHeader(encoders);
+			for (Encoder<ByteBuffer, ByteBuffer> encoder : encoders) {
+				if (codecRegistry.get(encoder.name()) != encoder) {
+					// 未注册的编码器,无法解码,不缓存
+					return ObscurePipeline.encodeOnly(header, encoders);
+				}
+			}
+			pipeline = headerCache.get(header);
+			if (pipeline == null) {
+				pipeline = ObscurePipeline.of(header,
+						resolve(encoders.stream().map(Encoder::name).collect(Collectors.toList())));
+				cache(headerCache, header, pipeline);
+			}
+			// 选择器可能复用并修改返回的列表,保存副本作为键
+			cache(selectionCache, new ArrayList<>(encoders), pipeline);
+			return pipeline;
+		}
+
+		/**
+		 * 根据头部获取流程
+		 * @param flagHeader 头部,不包含与正文之间的分隔符
+		 * @return ObscurePipeline
+		 * @throws CodecException 存在未注册的算法
+		 */
+		ObscurePipeline pipelineOf(String flagHeader) throws CodecException {
+			final String header = flagHeader.isEmpty() ? StringPool.EMPTY : flagHeader + BODY_SEPARATOR;
+			ObscurePipeline pipeline = headerCache.get(header);
+			if (pipeline == null) {
+				List<String> flags = Stream.of(StringUtils.split(flagHeader, FLAG_SEPARATOR))
+					.map(this::extractFlag)
+					.collect(Collectors.toList());
+				pipeline = compile(flags);
+				cache(headerCache, header, pipeline);
+			}
+			return pipeline;
+		}
+
+		ObscurePipeline compile(List<String> flags) throws CodecException {
+			List<Codec<ByteBuffer, ByteBuffer>> codecs = resolve(flags);
+			for (int i = 0; i < codecs.size(); ++i) {
+				if (Objects.isNull(codecs.get(i))) {
+					throw new CodecException("Missing decoder :" + flags.get(i));
+				}
+			}
+			return ObscurePipeline.of(buildHeader(codecs), codecs);
+		}
+
+		String encodeFlag(Encoder<?, ?> encoder) {
+			return flagPrefix + encoder.name();
+		}
+
+		String extractFlag(String value) {
+			return StringUtils.removeStart(value, flagPrefix);
+		}
+
+		String buildHeader(@Nullable List<? extends Encoder<?, ?>> encoders) {
+			if (Objects.isNull(encoders) || encoders.isEmpty()) {
+				return StringPool.EMPTY;
+			}
+			String header = encoders.stream().map(this::encodeFlag).collect(Collectors.joining(FLAG_SEPARATOR));
+			return header + BODY_SEPARATOR;
+		}
+
+		private List<Codec<ByteBuffer, ByteBuffer>> resolve(List<String> names) {
+			List<Codec<ByteBuffer, ByteBuffer>> codecs = new ArrayList<>(names.size());
+			for (String name : names) {
+				codecs.add(codecRegistry.get(name));
+			}
+			return codecs;
+		}
+
+		private static <K> void cache(Map<K, ObscurePipeline> cache, K key, ObscurePipeline pipeline) {
+			if (cache.size() < MAX_CACHED_PIPELINES) {
+				cache.putIfAbsent(key, pipeline);
+			}
+		}
+
+	}
+
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.codec.binary;
+
+import com.power4j.coca.kit.common.io.buffer.ByteData;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @since 1.0
+ */
+class HexCodecTest {
+
+	@Test
+	public void shouldEncodeAllBytes() {
+		byte[] bytes = new byte[256];
+		for (int i = 0; i < bytes.length; ++i) {
+			bytes[i] = (byte) i;
+		}
+		assertEquals(Hex.encodeHexString(bytes, true), HexCodec.encodeToString(bytes, false));
+		assertEquals(Hex.encodeHexString(bytes, false), HexCodec.encodeToString(bytes, true));
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip().position(250);
+		assertEquals("fafbfcfdfeff", HexCodec.encodeToString(direct, false));
+		assertEquals(250, direct.position());
+	}
+
+	@Test
+	public void shouldEncodeIntoBuffers() {
+		byte[] bytes = { 0x12, (byte) 0xAB, 0x00 };
+		char[] chars = new char[8];
+		assertEquals(4, HexCodec.encode(bytes, 1, 2, chars, 2, true));
+		assertEquals("AB00", new String(chars, 2, 4));
+		StringBuilder builder = new StringBuilder("0x");
+		assertEquals("0x12ab", HexCodec.encode(bytes, 0, 2, builder, false).toString());
+	}
+
+	@Test
+	public void shouldDecode() {
+		byte[] bytes = new byte[100];
+		new Random(1).nextBytes(bytes);
+		assertArrayEquals(bytes, HexCodec.decode(Hex.encodeHexString(bytes, false)));
+		assertArrayEquals(bytes, HexCodec.decode(Hex.encodeHexString(bytes, true)));
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(4);
+		direct.put((byte) 1);
+		assertEquals(2, HexCodec.decode("--aBcD--", 2, 6, direct));
+		assertEquals(3, direct.position());
+		assertEquals((byte) 0xCD, direct.get(2));
+	}
+
+	@Test
+	public void shouldRejectInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> HexCodec.decode("abc"));
+		assertThrows(IllegalArgumentException.class, () -> HexCodec.decode("0g"));
+		assertThrows(IllegalArgumentException.class, () -> HexCodec.decode("İİ"));
+		assertTrue(HexCodec.isHexString("09afAF"));
+		assertFalse(HexCodec.isHexString(""));
+		assertFalse(HexCodec.isHexString("0"));
+		assertEquals(2, HexCodec.firstInvalid("00x0", 0, 4));
+		assertEquals(-1, HexCodec.digit('١'));
+		assertEquals(15, HexCodec.digit('F'));
+	}
+
+	@Test
+	public void shouldWorkWithByteData() {
+		ByteData data = ByteData.ofHex("0102");
+		data.writeHex("A0B0");
+		assertEquals("0102a0b0", data.toString());
+		assertEquals("[4]0102a0b0", data.display());
+		assertEquals("A0B0", data.readHexUpper(2, -1));
+		assertEquals(">0102", data.readHexInto(new StringBuilder(">"), 0, 2, false).toString());
+		assertThrows(IllegalArgumentException.class, () -> data.writeHex("zz"));
+		assertEquals(4, data.readableBytes());
+
+		ByteData direct = ByteData.ofDirect(2).writeHex("ffee");
+		assertEquals("[2]ffee", direct.display());
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+class AdaptiveCodecTest {
+
+	private static byte[] json(int count) {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < count; ++i) {
+			builder.append("{\"id\":").append(i).append(",\"name\":\"user-").append(i % 17).append("\"},");
+		}
+		return builder.append("{}]").toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testSelectBestRatio() throws CodecException {
+		AdaptiveCodec codec = AdaptiveCodec.builder()
+			.candidates(Arrays.asList(Compressors.lz4Framed(), Compressors.deflate(), Compressors.bzip2()))
+			.build();
+		byte[] data = json(2000);
+		ByteBuffer encoded = codec.encode(ByteBuffer.wrap(data));
+		int best = Integer.MAX_VALUE;
+		for (Compressor compressor : Arrays.asList(Compressors.lz4Framed(), Compressors.deflate(),
+				Compressors.bzip2())) {
+			best = Math.min(best, compressor.encode(ByteBuffer.wrap(data)).remaining());
+		}
+		Assertions.assertEquals(best + 1, encoded.remaining());
+		Assertions.assertArrayEquals(data, codec.decode(encoded).array());
+		for (int i = 0; i < 5; ++i) {
+			Assertions.assertArrayEquals(data, codec.decode(codec.encode(ByteBuffer.wrap(data))).array());
+		}
+	}
+
+	@Test
+	public void testStored() throws CodecException {
+		AdaptiveCodec codec = AdaptiveCodec.builder().candidate(Compressors.gzip()).sampleInterval(2).build();
+		byte[] random = new byte[500];
+		new Random(1).nextBytes(random);
+		for (byte[] data : new byte[][] { random, new byte[0], random }) {
+			ByteBuffer encoded = codec.encode(ByteBuffer.wrap(data));
+			Assertions.assertEquals(0, encoded.get(0));
+			Assertions.assertEquals(data.length + 1, encoded.remaining());
+			Assertions.assertArrayEquals(data, codec.decode(encoded).array());
+		}
+	}
+
+	@Test
+	public void testLatencyBudget() throws CodecException {
+		AdaptiveCodec codec = AdaptiveCodec.builder()
+			.candidates(Arrays.asList(Compressors.deflate(), Compressors.bzip2()))
+			.latencyBudget(0)
+			.sampleInterval(1)
+			.build();
+		byte[] data = json(500);
+		for (int i = 0; i < 3; ++i) {
+			Assertions.assertArrayEquals(data, codec.decode(codec.encode(ByteBuffer.wrap(data))).array());
+		}
+		Assertions.assertTrue(codec.candidates().contains(codec.selected()));
+	}
+
+	@Test
+	public void testSampleExecutor() throws CodecException {
+		List<Runnable> tasks = new ArrayList<>();
+		AdaptiveCodec codec = AdaptiveCodec.builder()
+			.candidates(Arrays.asList(Compressors.lz4Framed(), Compressors.bzip2()))
+			.sampleInterval(1)
+			.sampleSize(1024)
+			.sampleExecutor(tasks::add)
+			.build();
+		byte[] data = json(2000);
+		ByteBuffer encoded = codec.encode(ByteBuffer.wrap(data));
+		// 采样尚未执行,使用第一个候选算法
+		Assertions.assertEquals(1, encoded.get(0));
+		Assertions.assertArrayEquals(data, codec.decode(encoded).array());
+		// 已有采样任务时不再提交
+		codec.encode(ByteBuffer.wrap(data));
+		Assertions.assertEquals(1, tasks.size());
+
+		tasks.remove(0).run();
+		Assertions.assertSame(codec.candidates().get(1), codec.selected());
+		encoded = codec.encode(ByteBuffer.wrap(data));
+		Assertions.assertEquals(2, encoded.get(0));
+		Assertions.assertArrayEquals(data, codec.decode(encoded).array());
+		Assertions.assertEquals(1, tasks.size());
+	}
+
+	@Test
+	public void testUnknownId() {
+		AdaptiveCodec codec = AdaptiveCodec.builder().candidate(Compressors.gzip()).build();
+		Assertions.assertThrows(CodecException.class, () -> codec.decode(ByteBuffer.wrap(new byte[] { 9, 1 })));
+		Assertions.assertThrows(CodecException.class, () -> codec.decode(ByteBuffer.allocate(0)));
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+class CompressUtilTest {
+
+	private static byte[] jdkGzip(byte[] data) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(os)) {
+			gzip.write(data);
+		}
+		return os.toByteArray();
+	}
+
+	private static byte[] jdkUnGzip(byte[] data) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+			byte[] buff = new byte[1024];
+			int read;
+			while ((read = gzip.read(buff)) != -1) {
+				os.write(buff, 0, read);
+			}
+		}
+		return os.toByteArray();
+	}
+
+	@Test
+	public void testByteArray() throws IOException {
+		for (int size : new int[] { 0, 1, 100, 65536, 300000 }) {
+			byte[] data = SampleData.text(size);
+			byte[] gz = CompressUtil.gzip(data);
+			Assertions.assertArrayEquals(data, jdkUnGzip(gz));
+			Assertions.assertArrayEquals(data, CompressUtil.unGzip(gz));
+			Assertions.assertArrayEquals(data, CompressUtil.unGzip(jdkGzip(data)));
+		}
+	}
+
+	@Test
+	public void testByteBuffer() throws IOException {
+		byte[] data = SampleData.text(50000);
+		byte[] padded = new byte[data.length + 20];
+		System.arraycopy(data, 0, padded, 10, data.length);
+		ByteBuffer slice = ByteBuffer.wrap(padded, 10, data.length);
+		ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+		direct.put(data).flip();
+		for (ByteBuffer src : new ByteBuffer[] { slice, slice.slice(), slice.asReadOnlyBuffer(), direct }) {
+			final int position = src.position();
+			ByteBuffer gz = CompressUtil.gzip(src, Deflater.BEST_SPEED, Deflater.FILTERED);
+			Assertions.assertEquals(position, src.position());
+			Assertions.assertArrayEquals(data, jdkUnGzip(gz.array()));
+
+			ByteBuffer gzDirect = ByteBuffer.allocateDirect(gz.remaining() + 3);
+			gzDirect.position(3);
+			gzDirect.put(gz.duplicate()).position(3);
+			ByteBuffer result = CompressUtil.unGzip(gzDirect);
+			Assertions.assertEquals(3, gzDirect.position());
+			// ISIZE 预估准确时不需要额外拷贝
+			Assertions.assertEquals(data.length, result.array().length);
+			Assertions.assertArrayEquals(data, result.array());
+		}
+	}
+
+	@Test
+	public void testConcatenated() throws IOException {
+		byte[] a = "hello ".getBytes(StandardCharsets.UTF_8);
+		byte[] b = SampleData.text(10000);
+		byte[] ga = CompressUtil.gzip(a);
+		byte[] gb = jdkGzip(b);
+		byte[] joined = new byte[ga.length + gb.length];
+		System.arraycopy(ga, 0, joined, 0, ga.length);
+		System.arraycopy(gb, 0, joined, ga.length, gb.length);
+		byte[] expected = new byte[a.length + b.length];
+		System.arraycopy(a, 0, expected, 0, a.length);
+		System.arraycopy(b, 0, expected, a.length, b.length);
+
+		Assertions.assertArrayEquals(expected, CompressUtil.unGzip(joined));
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		CompressUtil.unGzip(64, new ByteArrayInputStream(joined), os);
+		Assertions.assertArrayEquals(expected, os.toByteArray());
+	}
+
+	@Test
+	public void testStream() throws IOException {
+		byte[] data = SampleData.text(200000);
+		ByteArrayOutputStream gz = new ByteArrayOutputStream();
+		CompressUtil.gzip(1000, new ByteArrayInputStream(data), gz, Deflater.BEST_COMPRESSION,
+				Deflater.DEFAULT_STRATEGY);
+		Assertions.assertArrayEquals(data, jdkUnGzip(gz.toByteArray()));
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		CompressUtil.unGzip(777, new ByteArrayInputStream(gz.toByteArray()), os);
+		Assertions.assertArrayEquals(data, os.toByteArray());
+	}
+
+	@Test
+	public void testCorrupt() throws IOException {
+		byte[] gz = CompressUtil.gzip(SampleData.text(1000));
+		gz[gz.length - 6] ^= 1;
+		Assertions.assertThrows(ZipException.class, () -> CompressUtil.unGzip(gz));
+		Assertions.assertThrows(IOException.class, () -> CompressUtil.unGzip(new byte[] { 1, 2, 3 }));
+		byte[] truncated = new byte[gz.length / 2];
+		System.arraycopy(gz, 0, truncated, 0, truncated.length);
+		Assertions.assertThrows(IOException.class, () -> CompressUtil.unGzip(truncated));
+	}
+
+	@Test
+	public void testHeaderCrc() throws IOException {
+		byte[] data = SampleData.text(1000);
+		byte[] gz = CompressUtil.gzip(data);
+		// 设置 FHCRC,在头部之后插入 CRC16
+		byte[] withCrc = new byte[gz.length + 2];
+		System.arraycopy(gz, 0, withCrc, 0, 10);
+		withCrc[3] = 2;
+		CRC32 crc = new CRC32();
+		crc.update(withCrc, 0, 10);
+		withCrc[10] = (byte) crc.getValue();
+		withCrc[11] = (byte) (crc.getValue() >>> 8);
+		System.arraycopy(gz, 10, withCrc, 12, gz.length - 10);
+		Assertions.assertArrayEquals(data, jdkUnGzip(withCrc));
+		Assertions.assertArrayEquals(data, CompressUtil.unGzip(withCrc));
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		CompressUtil.unGzip(7, new ByteArrayInputStream(withCrc), os);
+		Assertions.assertArrayEquals(data, os.toByteArray());
+
+		withCrc[11] ^= 1;
+		Assertions.assertThrows(ZipException.class, () -> jdkUnGzip(withCrc));
+		Assertions.assertThrows(ZipException.class, () -> CompressUtil.unGzip(withCrc));
+	}
+
+	@Test
+	public void testPoolReuse() {
+		Deflater deflater = ZlibPool.deflater(Deflater.BEST_SPEED, true);
+		ZlibPool.release(deflater);
+		Deflater reused = ZlibPool.deflater(Deflater.BEST_COMPRESSION, true);
+		Assertions.assertSame(deflater, reused);
+		Deflater other = ZlibPool.deflater(Deflater.BEST_COMPRESSION, true);
+		Assertions.assertNotSame(reused, other);
+		ZlibPool.release(reused);
+		ZlibPool.release(other);
+	}
+
+}
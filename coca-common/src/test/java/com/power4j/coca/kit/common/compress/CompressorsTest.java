@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+class CompressorsTest {
+
+	private static byte[] bytes(ByteBuffer buffer) {
+		byte[] data = new byte[buffer.remaining()];
+		buffer.duplicate().get(data);
+		return data;
+	}
+
+	@Test
+	public void testBuffer() throws CodecException {
+		List<Compressor> compressors = Compressors.available();
+		Assertions.assertTrue(compressors.size() >= 6);
+		for (int size : new int[] { 0, 1, 1000, 200000 }) {
+			byte[] data = SampleData.text(size);
+			byte[] padded = new byte[size + 8];
+			System.arraycopy(data, 0, padded, 4, size);
+			ByteBuffer slice = ByteBuffer.wrap(padded, 4, size);
+			ByteBuffer direct = ByteBuffer.allocateDirect(size);
+			direct.put(data).flip();
+			for (Compressor compressor : compressors) {
+				for (ByteBuffer src : new ByteBuffer[] { slice, slice.asReadOnlyBuffer(), direct }) {
+					ByteBuffer compressed = compressor.encode(src);
+					Assertions.assertEquals(4, slice.position());
+					Assertions.assertEquals(compressed.remaining(), compressed.array().length);
+
+					ByteBuffer compressedDirect = ByteBuffer.allocateDirect(compressed.remaining());
+					compressedDirect.put(compressed.duplicate()).flip();
+					Assertions.assertArrayEquals(data, bytes(compressor.decode(compressed)));
+					Assertions.assertArrayEquals(data, compressor.decode(compressedDirect).array());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testStream() throws IOException {
+		byte[] data = SampleData.text(100000);
+		for (Compressor compressor : Compressors.available()) {
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			compressor.compress(new ByteArrayInputStream(data), compressed);
+			Assertions.assertArrayEquals(data, compressor.decode(ByteBuffer.wrap(compressed.toByteArray())).array());
+
+			ByteArrayOutputStream restored = new ByteArrayOutputStream();
+			byte[] encoded = compressor.encode(ByteBuffer.wrap(data)).array();
+			compressor.decompress(new ByteArrayInputStream(encoded), restored);
+			Assertions.assertArrayEquals(data, restored.toByteArray());
+		}
+	}
+
+	@Test
+	public void testZlibCompatible() throws IOException {
+		byte[] data = SampleData.text(5000);
+		byte[] compressed = Compressors.zlib().encode(ByteBuffer.wrap(data)).array();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		try (InflaterInputStream is = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+			byte[] buff = new byte[512];
+			int read;
+			while ((read = is.read(buff)) != -1) {
+				os.write(buff, 0, read);
+			}
+		}
+		Assertions.assertArrayEquals(data, os.toByteArray());
+	}
+
+	@Test
+	public void testByName() {
+		Assertions.assertEquals(Compressors.BZIP2, Compressors.byName(Compressors.BZIP2).get().name());
+		Assertions.assertFalse(Compressors.byName("none").isPresent());
+		Assertions.assertEquals(Compressors.byName(Compressors.XZ).isPresent(), Compressors.xz().isAvailable());
+	}
+
+	@Test
+	public void testCorrupt() throws CodecException {
+		byte[] data = SampleData.text(1000);
+		for (Compressor compressor : Compressors.available()) {
+			byte[] compressed = compressor.encode(ByteBuffer.wrap(data)).array();
+			byte[] truncated = new byte[compressed.length / 2];
+			System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+			Assertions.assertThrows(CodecException.class, () -> compressor.decode(ByteBuffer.wrap(truncated)));
+		}
+	}
+
+}
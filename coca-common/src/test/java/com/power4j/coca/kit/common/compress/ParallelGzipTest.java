@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+class ParallelGzipTest {
+
+	private static byte[] jdkUnGzip(byte[] data) throws IOException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+			byte[] buff = new byte[4096];
+			int read;
+			while ((read = gzip.read(buff)) != -1) {
+				os.write(buff, 0, read);
+			}
+		}
+		return os.toByteArray();
+	}
+
+	@Test
+	public void testCombineCrc() {
+		byte[] data = SampleData.text(100000);
+		for (int split : new int[] { 0, 1, 777, 65536, data.length }) {
+			CRC32 a = new CRC32();
+			a.update(data, 0, split);
+			CRC32 b = new CRC32();
+			b.update(data, split, data.length - split);
+			CRC32 all = new CRC32();
+			all.update(data);
+			Assertions.assertEquals(all.getValue(),
+					GzipFormat.combineCrc(a.getValue(), b.getValue(), data.length - split));
+		}
+	}
+
+	@Test
+	public void testCompress() throws IOException {
+		final int blockSize = ParallelGzip.DICTIONARY_SIZE;
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ParallelGzip gzip = ParallelGzip.builder().executor(executor).blockSize(blockSize).maxInFlight(3).build();
+			for (int size : new int[] { 0, 1, blockSize, blockSize + 1, blockSize * 7 / 2, 1000000 }) {
+				byte[] data = SampleData.text(size);
+				ByteArrayOutputStream os = new ByteArrayOutputStream();
+				gzip.compress(new ByteArrayInputStream(data), os);
+				byte[] compressed = os.toByteArray();
+				Assertions.assertArrayEquals(data, jdkUnGzip(compressed));
+				Assertions.assertArrayEquals(data, CompressUtil.unGzip(compressed));
+				if (size > 0) {
+					// 使用预置字典后压缩率接近单线程
+					Assertions.assertTrue(compressed.length < CompressUtil.gzip(data).length * 1.05 + 64);
+				}
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testCompressUtil() throws IOException {
+		byte[] data = SampleData.text(500000);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		CompressUtil.gzip(new ByteArrayInputStream(data), os, Runnable::run);
+		Assertions.assertArrayEquals(data, CompressUtil.unGzip(os.toByteArray()));
+	}
+
+	@Test
+	public void testReusedDeflater() throws IOException {
+		byte[] data = SampleData.text(500000);
+		// 当前线程的压缩器先以其他级别和策略使用过
+		CompressUtil.gzip(ByteBuffer.wrap(data), 9, Deflater.DEFAULT_STRATEGY);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		CompressUtil.gzip(new ByteArrayInputStream(data), os, Runnable::run);
+		Assertions.assertArrayEquals(data, CompressUtil.unGzip(os.toByteArray()));
+
+		CompressUtil.gzip(ByteBuffer.wrap(data), 1, Deflater.HUFFMAN_ONLY);
+		os.reset();
+		ParallelGzip.builder()
+			.executor(Runnable::run)
+			.level(6)
+			.strategy(Deflater.FILTERED)
+			.build()
+			.compress(new ByteArrayInputStream(data), os);
+		Assertions.assertArrayEquals(data, jdkUnGzip(os.toByteArray()));
+	}
+
+	@Test
+	public void testInvalidBlockSize() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ParallelGzip.builder().blockSize(1024).build());
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.compress;
+
+import java.util.Random;
+
+/**
+ * 压缩和编解码测试使用的数据,相同长度的结果总是相同
+ *
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+public final class SampleData {
+
+	private SampleData() {
+	}
+
+	/**
+	 * 由8个小写字母随机组成的文本,可压缩
+	 * @param size 长度
+	 * @return byte[]
+	 */
+	public static byte[] text(int size) {
+		byte[] bytes = new byte[size];
+		Random random = new Random(size);
+		for (int i = 0; i < size; ++i) {
+			bytes[i] = (byte) ('a' + random.nextInt(8));
+		}
+		return bytes;
+	}
+
+	/**
+	 * 前一半为重复的文本,后一半为随机数据
+	 * @param size 长度
+	 * @return byte[]
+	 */
+	public static byte[] mixed(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		for (int i = 0; i < size / 2; ++i) {
+			bytes[i] = (byte) ('a' + i % 7);
+		}
+		return bytes;
+	}
+
+}
@@ -16,10 +16,18 @@
 
 package com.power4j.coca.kit.common.io.buffer;
 
+import com.power4j.coca.kit.common.number.UnsignedLong;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -89,6 +97,27 @@ class ByteBufferReaderTest {
 		Assertions.assertEquals(4, dest2[4]);
 	}
 
+	@Test
+	void transferTo() throws IOException {
+		byte[] data = { (byte) 1, (byte) 2, (byte) 3, (byte) 4 };
+		ByteBufferReader reader = ByteBufferReader.of(BufferKit.wrap(data));
+		ByteBuffer dest = ByteBuffer.allocate(3);
+		Assertions.assertEquals(3, reader.transferTo(dest));
+		Assertions.assertEquals(1, reader.readableBytes());
+		Assertions.assertEquals(0, reader.transferTo(dest));
+
+		reader.unreadAll();
+		ByteBufferWriter writer = ByteBufferWriter.of(new byte[3]);
+		reader.transferTo(writer, 2);
+		Assertions.assertEquals(2, writer.hasWritten());
+		Assertions.assertThrows(BufferOverflowException.class, () -> reader.transferTo(writer));
+		Assertions.assertEquals(2, reader.readableBytes());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Assertions.assertEquals(2, reader.transferTo(Channels.newChannel(out)));
+		Assertions.assertArrayEquals(new byte[] { 3, 4 }, out.toByteArray());
+	}
+
 	@Test
 	void readShort() {
 		byte[] data = { (byte) 1, (byte) 2, (byte) 3, (byte) 4 };
@@ -145,6 +174,45 @@ class ByteBufferReaderTest {
 				ByteBufferReader.of(BufferKit.wrap(u64Max)).readU64().toString());
 	}
 
+	@Test
+	void readU64AsLong() {
+		byte[] data = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+				(byte) 0xFE, 0, 0, 0, 0, 0, 0, 0, 1 };
+		ByteBufferReader reader = ByteBufferReader.of(BufferKit.wrap(data), ByteOrder.BIG_ENDIAN);
+		long value = reader.readU64AsLong();
+		Assertions.assertEquals("18446744073709551614", Long.toUnsignedString(value));
+		Assertions.assertTrue(Long.compareUnsigned(value, 1L) > 0);
+
+		reader.unreadAll();
+		UnsignedLong big = reader.readUnsignedLong();
+		UnsignedLong one = reader.readUnsignedLong();
+		Assertions.assertEquals("18446744073709551614", big.toString());
+		Assertions.assertEquals(new BigInteger("18446744073709551614"), big.toBigInteger());
+		Assertions.assertEquals(1.8446744073709552E19, big.doubleValue());
+		Assertions.assertEquals(UnsignedLong.ONE, one);
+		Assertions.assertTrue(big.compareTo(one) > 0);
+		Assertions.assertEquals(big, UnsignedLong.valueOf("18446744073709551614"));
+
+		long[] values = new long[2];
+		reader.unreadAll().readU64Into(values);
+		Assertions.assertArrayEquals(new long[] { -2L, 1L }, values);
+		Assertions.assertEquals(0, reader.readableBytes());
+	}
+
+	@Test
+	void readArray() {
+		byte[] data = { 1, 2, 3, 4, 5, 6, 7, 8 };
+		ByteBufferReader reader = ByteBufferReader.of(BufferKit.wrap(data), ByteOrder.LITTLE_ENDIAN);
+		short[] shorts = new short[2];
+		reader.readShorts(shorts);
+		Assertions.assertArrayEquals(new short[] { 0x0201, 0x0403 }, shorts);
+		int[] ints = new int[2];
+		reader.readInts(ints, 1, 1);
+		Assertions.assertArrayEquals(new int[] { 0, 0x08070605 }, ints);
+		Assertions.assertThrows(BufferUnderflowException.class, () -> reader.readLongs(new long[1]));
+		Assertions.assertEquals(0x0807060504030201L, reader.unreadAll().order(ByteOrder.LITTLE_ENDIAN).readLong());
+	}
+
 	@Test
 	void readString() {
 		// C String : "123\0" , ISO_8859_1 encode
@@ -190,6 +258,36 @@ class ByteBufferReaderTest {
 		Assertions.assertEquals("", val);
 	}
 
+	@Test
+	void readStringDirect() {
+		final byte[] utf8 = "中文ab\0cd".getBytes(StandardCharsets.UTF_8);
+		ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length);
+		direct.put(utf8).flip();
+		ByteBufferReader reader = ByteBufferReader.of(direct);
+		Assertions.assertEquals("中文ab", reader.readString(utf8.length, StandardCharsets.UTF_8, true));
+		Assertions.assertEquals(0, reader.readableBytes());
+
+		reader.unreadAll();
+		Assertions.assertEquals("\uFFFD\uFFFD\uFFFD", reader.readString(3, StandardCharsets.US_ASCII, false));
+		Assertions.assertEquals(0xE4, reader.unread(3).readString(1, StandardCharsets.ISO_8859_1, false).charAt(0));
+		Assertions.assertThrows(BufferUnderflowException.class,
+				() -> reader.readString(utf8.length, StandardCharsets.UTF_8, false));
+
+		ByteBufferReader readOnly = ByteBufferReader.of(BufferKit.wrap(utf8).asReadOnlyBuffer());
+		Assertions.assertEquals("中文ab\0cd", readOnly.readString(utf8.length, StandardCharsets.UTF_8, false));
+	}
+
+	@Test
+	void readStringInto() {
+		final byte[] data = "key=值\0\0".getBytes(StandardCharsets.UTF_8);
+		StringBuilder builder = new StringBuilder();
+		ByteBufferReader reader = ByteBufferReader.of(BufferKit.wrap(data));
+		reader.readStringInto(builder, 4, StandardCharsets.US_ASCII, true)
+			.readStringInto(builder, data.length - 4, StandardCharsets.UTF_8, true);
+		Assertions.assertEquals("key=值", builder.toString());
+		Assertions.assertEquals(0, reader.readableBytes());
+	}
+
 	@Test
 	void readableBytes() {
 		byte[] data = { (byte) 1, (byte) 2, (byte) 3, (byte) 4 };
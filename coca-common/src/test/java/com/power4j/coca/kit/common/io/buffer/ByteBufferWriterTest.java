@@ -20,6 +20,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -143,6 +145,44 @@ class ByteBufferWriterTest {
 		Assertions.assertEquals(0, writer.peekAt(3));
 	}
 
+	@Test
+	void writeStringEncode() {
+		ByteBufferWriter writer = ByteBufferWriter.of(ByteBuffer.allocateDirect(8));
+		writer.writeString("中文", StandardCharsets.UTF_8, 5, (byte) 0x20);
+		Assertions.assertEquals(5, writer.hasWritten());
+		ByteBuffer buffer = writer.getBuffer();
+		Assertions.assertEquals(0x20, buffer.get(3));
+		Assertions.assertEquals(0x20, buffer.get(4));
+
+		Assertions.assertThrows(BufferOverflowException.class,
+				() -> writer.writeString("中文", StandardCharsets.UTF_8, -1, (byte) 0));
+		Assertions.assertEquals(5, writer.hasWritten());
+		writer.writeString("abc", StandardCharsets.US_ASCII, -1, (byte) 0);
+		Assertions.assertEquals(8, writer.hasWritten());
+	}
+
+	@Test
+	void writeByteRepeatDirect() {
+		ByteBufferWriter writer = ByteBufferWriter.of(ByteBuffer.allocateDirect(100));
+		writer.writeByte(0).writeByteRepeat(0x7F, 99);
+		ByteBuffer buffer = writer.getBuffer();
+		for (int i = 1; i < 100; ++i) {
+			Assertions.assertEquals(0x7F, buffer.get(i));
+		}
+		Assertions.assertThrows(BufferOverflowException.class, () -> writer.writeByteRepeat(1, 1));
+	}
+
+	@Test
+	void writeArray() {
+		ByteBufferWriter writer = ByteBufferWriter.of(BufferKit.allocate(14)).order(ByteOrder.BIG_ENDIAN);
+		writer.writeShorts(new short[] { 0x0102 }).writeInts(new int[] { 0, 0x03040506 }, 1, 1);
+		writer.writeLongs(new long[] { 0x0708090A0B0C0D0EL });
+		Assertions.assertEquals(14, writer.hasWritten());
+		Assertions.assertArrayEquals(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14 },
+				writer.peekRange(0, 14));
+		Assertions.assertThrows(BufferOverflowException.class, () -> writer.writeShorts(new short[1]));
+	}
+
 	@Test
 	void writeFixedString() {
 		ByteBufferWriter writer = ByteBufferWriter.of(BufferKit.allocate(4));
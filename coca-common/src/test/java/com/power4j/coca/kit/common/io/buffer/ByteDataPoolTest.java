@@ -0,0 +1,263 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @since 1.0
+ */
+class ByteDataPoolTest {
+
+	@Test
+	void sizeClass() {
+		Assertions.assertEquals(0, ByteDataPool.sizeClassIndex(1));
+		Assertions.assertEquals(0, ByteDataPool.sizeClassIndex(64));
+		Assertions.assertEquals(1, ByteDataPool.sizeClassIndex(65));
+		Assertions.assertEquals(1, ByteDataPool.sizeClassIndex(128));
+		Assertions.assertEquals(256, ByteDataPool.sizeOfClass(ByteDataPool.sizeClassIndex(200)));
+	}
+
+	@Test
+	void acquireAndRelease() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		PooledByteData data = pool.acquire(100);
+		Assertions.assertEquals(128, data.capacity());
+		Assertions.assertEquals(0, data.readableBytes());
+		Assertions.assertEquals(1, pool.metrics().getOutstanding());
+		Assertions.assertEquals(1, pool.metrics().getMisses());
+
+		byte[] buffer = data.writeInt32(1, ByteOrder.BIG_ENDIAN).buffer();
+		Assertions.assertTrue(data.release());
+		Assertions.assertEquals(0, data.refCnt());
+		Assertions.assertEquals(0, data.capacity());
+		Assertions.assertEquals(0, pool.metrics().getOutstanding());
+		Assertions.assertThrows(IllegalStateException.class, data::release);
+		Assertions.assertThrows(IllegalStateException.class, data::retain);
+
+		PooledByteData reused = pool.acquire(128);
+		Assertions.assertSame(buffer, reused.buffer());
+		Assertions.assertEquals(1, pool.metrics().getHits());
+		reused.release();
+	}
+
+	@Test
+	void retain() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		PooledByteData data = pool.acquire(1).retain();
+		Assertions.assertEquals(2, data.refCnt());
+		Assertions.assertFalse(data.release());
+		Assertions.assertEquals(1, pool.metrics().getOutstanding());
+		Assertions.assertTrue(data.release());
+		Assertions.assertEquals(0, pool.metrics().getOutstanding());
+	}
+
+	@Test
+	void grow() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		PooledByteData data = pool.acquire(64);
+		byte[] first = data.buffer();
+		data.writeBytes(new byte[64]).writeInt8(0x7F);
+		Assertions.assertEquals(128, data.capacity());
+		Assertions.assertEquals(65, data.readableBytes());
+		Assertions.assertEquals(0x7F, data.readAt(64));
+
+		PooledByteData other = pool.acquire(64);
+		Assertions.assertSame(first, other.buffer());
+		other.release();
+		data.release();
+	}
+
+	@Test
+	void viewKeepsStorage() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		PooledByteData data = pool.acquire(64);
+		byte[] first = data.buffer();
+		data.writeBytes(ByteData.ofRepeat(1, 64).readAll());
+		PooledByteData slice = data.slice(8, 16);
+		PooledByteData duplicate = data.duplicate();
+
+		// 扩容后旧buffer仍被视图引用,不能归还到池中
+		data.writeInt8(0x7F);
+		PooledByteData other = pool.acquire(64);
+		Assertions.assertNotSame(first, other.buffer());
+		other.buffer()[8] = 2;
+		Assertions.assertEquals(1, slice.readAt(0));
+		Assertions.assertEquals(1, duplicate.readAt(8));
+
+		// 视图扩容使用新的buffer,同样不影响其他视图
+		slice.writeInt8(0x7F);
+		Assertions.assertEquals(17, slice.readableBytes());
+		Assertions.assertEquals(1, duplicate.readAt(8));
+
+		Assertions.assertTrue(duplicate.release());
+		Assertions.assertSame(first, pool.acquire(64).buffer());
+		Assertions.assertTrue(slice.release());
+		Assertions.assertTrue(data.release());
+		Assertions.assertThrows(IllegalStateException.class, data::duplicate);
+	}
+
+	@Test
+	void releaseWithView() {
+		ByteDataPool pool = ByteDataPool.builder().threadCacheSize(0).build();
+		PooledByteData data = pool.acquireDirect(64);
+		data.writeInt32(0x12345678, ByteOrder.BIG_ENDIAN);
+		PooledByteData slice = data.slice(0, 4);
+		Assertions.assertTrue(data.release());
+		Assertions.assertEquals(0, pool.metrics().getOutstanding());
+
+		PooledByteData other = pool.acquireDirect(64);
+		other.writeInt32(0, ByteOrder.BIG_ENDIAN);
+		Assertions.assertEquals(0x12345678, slice.getInt32At(0, ByteOrder.BIG_ENDIAN));
+		Assertions.assertEquals(0, pool.metrics().getHits());
+		other.release();
+		Assertions.assertTrue(slice.release());
+		pool.acquireDirect(64).release();
+		pool.acquireDirect(64).release();
+		Assertions.assertEquals(2, pool.metrics().getHits());
+	}
+
+	@Test
+	void direct() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		PooledByteData data = pool.acquireDirect(64);
+		Assertions.assertTrue(data.isDirect());
+		data.writeBytes(new byte[64]).writeInt8(0x7F);
+		Assertions.assertTrue(data.isDirect());
+		Assertions.assertEquals(128, data.capacity());
+		Assertions.assertEquals(0x7F, data.readAt(64));
+		Assertions.assertTrue(data.release());
+		Assertions.assertEquals(0, pool.metrics().getOutstanding());
+	}
+
+	@Test
+	void largeNotPooled() {
+		ByteDataPool pool = ByteDataPool.builder().maxPooledSize(1024).build();
+		Assertions.assertEquals(1024, pool.getMaxPooledSize());
+		PooledByteData data = pool.acquire(1025);
+		Assertions.assertEquals(1025, data.capacity());
+		byte[] buffer = data.buffer();
+		data.release();
+		PooledByteData next = pool.acquire(1025);
+		Assertions.assertNotSame(buffer, next.buffer());
+		next.release();
+	}
+
+	@Test
+	void buffer() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		ByteBuffer heap = pool.acquireBuffer(10, false);
+		Assertions.assertEquals(0, heap.position());
+		Assertions.assertEquals(10, heap.limit());
+		Assertions.assertFalse(heap.isDirect());
+		pool.release(heap);
+		Assertions.assertSame(heap.array(), pool.acquireBuffer(20, false).array());
+
+		ByteBuffer direct = pool.acquireBuffer(100, true);
+		Assertions.assertTrue(direct.isDirect());
+		Assertions.assertEquals(100, direct.limit());
+		Assertions.assertEquals(128, direct.capacity());
+		direct.position(50);
+		pool.release(direct);
+		ByteBuffer reused = pool.acquireBuffer(70, true);
+		Assertions.assertSame(direct, reused);
+		Assertions.assertEquals(0, reused.position());
+		Assertions.assertEquals(70, reused.limit());
+	}
+
+	@Test
+	void releaseUnknownBuffer() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		ByteBuffer buffer = pool.acquireBuffer(64, false);
+		Assertions.assertEquals(1, pool.metrics().getOutstanding());
+		Assertions.assertTrue(pool.release(buffer));
+		Assertions.assertFalse(pool.release(buffer));
+		Assertions.assertEquals(0, pool.metrics().getOutstanding());
+		ByteBuffer first = pool.acquireBuffer(64, false);
+		ByteBuffer second = pool.acquireBuffer(64, false);
+		Assertions.assertNotSame(first.array(), second.array());
+
+		byte[] own = new byte[64];
+		Assertions.assertFalse(pool.release(ByteBuffer.wrap(own)));
+		Assertions.assertFalse(pool.release(first.asReadOnlyBuffer()));
+		Assertions.assertFalse(pool.release(ByteBuffer.allocateDirect(64)));
+		Assertions.assertEquals(2, pool.metrics().getOutstanding());
+		Assertions.assertNotSame(own, pool.acquireBuffer(64, false).array());
+
+		ByteBuffer direct = pool.acquireBuffer(64, true);
+		Assertions.assertTrue(pool.release(direct));
+		Assertions.assertFalse(pool.release(direct));
+		Assertions.assertNotSame(pool.acquireBuffer(64, true), pool.acquireBuffer(64, true));
+	}
+
+	@Test
+	void directBufferOrder() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		ByteBuffer buffer = pool.acquireBuffer(64, true);
+		buffer.order(ByteOrder.LITTLE_ENDIAN).putInt(0, 1);
+		pool.release(buffer);
+		ByteBuffer reused = pool.acquireBuffer(64, true);
+		Assertions.assertSame(buffer, reused);
+		Assertions.assertEquals(ByteOrder.BIG_ENDIAN, reused.order());
+		Assertions.assertEquals(0x01000000, reused.getInt(0));
+	}
+
+	@Test
+	void bufferLeak() throws InterruptedException {
+		ByteDataPool pool = ByteDataPool.builder().maxPooledSize(1024).build();
+		pool.acquireBuffer(4096, false);
+		pool.acquireBuffer(4096, true);
+		Assertions.assertEquals(2, pool.metrics().getOutstanding());
+		// 未归还的buffer不被池引用,可以被回收
+		for (int i = 0; i < 50 && pool.metrics().getLeaks() < 2; ++i) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assertions.assertEquals(2, pool.metrics().getLeaks());
+		Assertions.assertEquals(0, pool.metrics().getOutstanding());
+	}
+
+	@Test
+	void pooledWriter() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		ByteBufferWriter writer = ByteBufferWriter.of(pool, 2, ByteOrder.BIG_ENDIAN);
+		Assertions.assertEquals(2, writer.writeableBytes());
+		writer.writeShort(0x1234);
+		Assertions.assertEquals(0, writer.writeableBytes());
+		pool.release(writer.getBuffer());
+		Assertions.assertEquals(0, pool.metrics().getOutstanding());
+	}
+
+	@Test
+	void leakDetection() throws InterruptedException {
+		ByteDataPool pool = ByteDataPool.builder().leakDetection(true).build();
+		Assertions.assertTrue(pool.isLeakDetection());
+		pool.acquire(16);
+		for (int i = 0; i < 50 && pool.metrics().getLeaks() == 0; ++i) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assertions.assertEquals(1, pool.metrics().getLeaks());
+		Assertions.assertEquals(0, pool.metrics().getOutstanding());
+	}
+
+}
@@ -19,8 +19,13 @@ package com.power4j.coca.kit.common.io.buffer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
@@ -211,6 +216,32 @@ class ByteDataTest {
 		Assertions.assertEquals(2, ByteData.ofCapacity(1).ensureWriteBytes(2).writableBytes());
 	}
 
+	@Test
+	void growthPolicy() {
+		ByteData byteData = ByteData.ofCapacity(4).writeBytes(new byte[4]);
+		byteData.writeInt8(1);
+		Assertions.assertEquals(8, byteData.capacity());
+		byteData.growthPolicy(GrowthPolicy.EXACT).writeBytes(new byte[4]);
+		Assertions.assertEquals(9, byteData.capacity());
+
+		Assertions.assertEquals(16, GrowthPolicy.doubling(8).grow(8, 9));
+		Assertions.assertEquals(10, GrowthPolicy.doubling(2).grow(8, 9));
+		Assertions.assertEquals(20, GrowthPolicy.doubling(2).grow(8, 20));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.doubling(0));
+	}
+
+	@Test
+	void writeManyChunks() {
+		byte[] chunk = new byte[] { 0x1, 0x2, 0x3 };
+		ByteData byteData = ByteData.ofEmpty();
+		for (int i = 0; i < 1000; ++i) {
+			byteData.writeBytes(chunk);
+		}
+		Assertions.assertEquals(3000, byteData.readableBytes());
+		Assertions.assertTrue(byteData.capacity() < 6000);
+		Assertions.assertArrayEquals(chunk, byteData.read(2997, 3));
+	}
+
 	@Test
 	void zeroMemory() {
 		Assertions.assertArrayEquals(new byte[] { 0, 0 }, ByteData.ofRepeat(0x1, 2).zeroMemory().buffer());
@@ -325,6 +356,27 @@ class ByteDataTest {
 		Assertions.assertArrayEquals(new byte[] { 0x12, 0x34, 1, 1, 1 }, buff);
 	}
 
+	@Test
+	void getAt() {
+		ByteData byteData = ByteData.ofHex("00112233445566778899");
+		Assertions.assertEquals(0x1122, byteData.getInt16At(1, ByteOrder.BIG_ENDIAN));
+		Assertions.assertEquals(0x2211, byteData.getInt16At(1, ByteOrder.LITTLE_ENDIAN));
+		Assertions.assertEquals((short) 0x9988, byteData.getInt16At(8, ByteOrder.LITTLE_ENDIAN));
+		Assertions.assertEquals(0x11223344, byteData.getInt32At(1, ByteOrder.BIG_ENDIAN));
+		Assertions.assertEquals(0x44332211, byteData.getInt32At(1, ByteOrder.LITTLE_ENDIAN));
+		Assertions.assertEquals(0x1122334455667788L, byteData.getInt64At(1, ByteOrder.BIG_ENDIAN));
+		Assertions.assertEquals(0x8877665544332211L, byteData.getInt64At(1, ByteOrder.LITTLE_ENDIAN));
+
+		Assertions.assertEquals(0.1F,
+				ByteData.ofEmpty().writeFloat(0.1F, ByteOrder.LITTLE_ENDIAN).getFloatAt(0, ByteOrder.LITTLE_ENDIAN));
+		Assertions.assertEquals(0.1D,
+				ByteData.ofEmpty().writeDouble(0.1D, ByteOrder.BIG_ENDIAN).getDoubleAt(0, ByteOrder.BIG_ENDIAN));
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> byteData.getInt16At(9, ByteOrder.BIG_ENDIAN));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> byteData.getInt32At(-1, ByteOrder.BIG_ENDIAN));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> byteData.getInt64At(3, ByteOrder.BIG_ENDIAN));
+	}
+
 	@Test
 	void writeByteData() {
 		ByteData src = ByteData.ofRepeat(0xF, 2);
@@ -409,6 +461,15 @@ class ByteDataTest {
 		Assertions.assertEquals(1, ByteData.ofRepeat(1, 1).bufferReader(ByteOrder.BIG_ENDIAN).readableBytes());
 		Assertions.assertEquals(1,
 				ByteData.ofRepeat(1, 1).expandBy(1).bufferReader(ByteOrder.BIG_ENDIAN).readableBytes());
+
+		ByteData data = ByteData.copyOf(new byte[] { 0x1, 0x2, 0x3 });
+		Assertions.assertEquals(0x1, data.readInt8());
+		ByteBufferReader reader = data.bufferReader(ByteOrder.BIG_ENDIAN);
+		Assertions.assertEquals(0, reader.hasRead());
+		Assertions.assertEquals(0x2, reader.readByte());
+		reader.unreadAll();
+		Assertions.assertEquals(0, reader.hasRead());
+		Assertions.assertEquals(0x0203, reader.readShort());
 	}
 
 	@Test
@@ -421,10 +482,164 @@ class ByteDataTest {
 
 	}
 
+	@Test
+	void direct() {
+		ByteData byteData = ByteData.ofDirect(2);
+		Assertions.assertTrue(byteData.isDirect());
+		Assertions.assertFalse(byteData.hasArray());
+		Assertions.assertThrows(UnsupportedOperationException.class, byteData::buffer);
+
+		byteData.writeInt16(0x1234, ByteOrder.BIG_ENDIAN).writeInt32(0x11223344, ByteOrder.LITTLE_ENDIAN);
+		byteData.writeBytes(new byte[] { 0x55, 0x66 }).write(ByteData.ofHex("77"));
+		Assertions.assertTrue(byteData.isDirect());
+		Assertions.assertEquals("1234443322115566" + "77", byteData.readHexLower(0, -1));
+		Assertions.assertEquals(0x11223344, byteData.getInt32At(2, ByteOrder.LITTLE_ENDIAN));
+		Assertions.assertEquals("Uf", byteData.readString(6, 2, StandardCharsets.US_ASCII));
+
+		ByteBufferReader reader = byteData.bufferReader(ByteOrder.BIG_ENDIAN);
+		Assertions.assertTrue(reader.getBuffer().isDirect());
+		Assertions.assertEquals(9, reader.readableBytes());
+		Assertions.assertEquals(0x1234, reader.readShort());
+
+		byteData.ensureWriteBytes(1).bufferWriter(ByteOrder.BIG_ENDIAN).writeByte(0x7F);
+		Assertions.assertEquals(0x7F, byteData.writeIndexAdvance(1).readAt(9));
+
+		Assertions.assertTrue(ByteData.ofHex("01").dataEquals(byteData.buffCopy(0, 1).expandBy(-1).writeInt8(1)));
+	}
+
+	@Test
+	void shardOfByteBuffer() {
+		ByteBuffer direct = ByteBuffer.allocateDirect(4);
+		direct.put(new byte[] { 0x1, 0x2, 0x3, 0x4 }).flip();
+		direct.position(1);
+		ByteData byteData = ByteData.shardOf(direct);
+		Assertions.assertEquals(3, byteData.readableBytes());
+		Assertions.assertEquals(3, byteData.capacity());
+		direct.put(1, (byte) 0x9);
+		Assertions.assertEquals(0x9, byteData.readAt(0));
+
+		ByteBuffer heap = ByteBuffer.wrap(new byte[] { 0x1, 0x2, 0x3 }, 1, 2);
+		Assertions.assertArrayEquals(new byte[] { 0x2, 0x3 }, ByteData.shardOf(heap).readAll());
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> ByteData.shardOf(ByteBuffer.allocate(1).asReadOnlyBuffer()));
+	}
+
 	@Test
 	void testToString() {
 	}
 
+	@Test
+	void slice() {
+		ByteData byteData = ByteData.ofHex("0102030405");
+		ByteData slice = byteData.slice(1, 3);
+		Assertions.assertEquals(3, slice.capacity());
+		Assertions.assertEquals(3, slice.readableBytes());
+		Assertions.assertTrue(slice.dataEquals(new byte[] { 0x2, 0x3, 0x4 }));
+		byteData.buffer()[2] = 0x7F;
+		Assertions.assertEquals(0x7F, slice.readAt(1));
+		slice.writeInt8(0x6);
+		Assertions.assertEquals(4, slice.readableBytes());
+		byteData.buffer()[2] = 0x3;
+		Assertions.assertEquals(0x7F, slice.readAt(1));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> byteData.slice(3, 3));
+
+		ByteData direct = ByteData.ofDirect(4).writeInt32(0x01020304, ByteOrder.BIG_ENDIAN);
+		Assertions.assertTrue(direct.slice(2, 2).dataEquals(new byte[] { 0x3, 0x4 }));
+	}
+
+	@Test
+	void duplicate() {
+		ByteData byteData = ByteData.ofCapacity(4).writeInt16(0x0102, ByteOrder.BIG_ENDIAN);
+		ByteData dup = byteData.duplicate();
+		Assertions.assertEquals(2, dup.readableBytes());
+		dup.writeInt8(0x3);
+		Assertions.assertEquals(2, byteData.readableBytes());
+		Assertions.assertEquals(3, dup.readableBytes());
+		byteData.writeInt8(0x7);
+		Assertions.assertEquals(0x7, dup.readAt(2));
+	}
+
+	@Test
+	void dataCompare() {
+		ByteData a = ByteData.ofHex("0180");
+		ByteData b = ByteData.ofDirect(2).writeBytes(new byte[] { 0x1, (byte) 0x80 });
+		Assertions.assertTrue(a.dataEquals(b));
+		Assertions.assertTrue(b.dataEquals(a));
+		Assertions.assertFalse(a.dataEquals((byte[]) null));
+		Assertions.assertEquals(0, a.dataCompareTo(b));
+		Assertions.assertEquals(Arrays.hashCode(a.readAll()), a.dataHashCode());
+		Assertions.assertEquals(a.dataHashCode(), b.dataHashCode());
+		Assertions.assertTrue(ByteData.ofHex("017F").dataCompareTo(a) < 0);
+		Assertions.assertTrue(ByteData.ofHex("0180FF").dataCompareTo(b) > 0);
+		Assertions.assertTrue(ByteData.ofHex("01").dataCompareTo(a) < 0);
+	}
+
+	@Test
+	void asReadOnlyByteBuffer() {
+		ByteData byteData = ByteData.ofCapacity(8).writeInt16(0x0102, ByteOrder.BIG_ENDIAN);
+		ByteBuffer buffer = byteData.asReadOnlyByteBuffer();
+		Assertions.assertTrue(buffer.isReadOnly());
+		Assertions.assertEquals(2, buffer.remaining());
+		Assertions.assertEquals(0x0102, buffer.getShort());
+	}
+
+	@Test
+	void readIndex() {
+		ByteData byteData = ByteData.ofCapacity(16)
+			.writeInt8(0x1)
+			.writeInt16(0x0203, ByteOrder.BIG_ENDIAN)
+			.writeInt32(0x04050607, ByteOrder.LITTLE_ENDIAN)
+			.writeInt64(0x08090A0B0C0D0E0FL, ByteOrder.BIG_ENDIAN);
+		Assertions.assertEquals(0, byteData.readIndex());
+		Assertions.assertEquals(15, byteData.readableBytes());
+		Assertions.assertEquals(0x1, byteData.readU8());
+		Assertions.assertEquals(0x0203, byteData.readInt16(ByteOrder.BIG_ENDIAN));
+		byteData.markReaderIndex();
+		Assertions.assertEquals(0x04050607, byteData.readInt32(ByteOrder.LITTLE_ENDIAN));
+		byteData.resetReaderIndex();
+		Assertions.assertEquals(0x07060504, byteData.readInt32(ByteOrder.BIG_ENDIAN));
+		Assertions.assertEquals(8, byteData.readableBytes());
+		Assertions.assertEquals("[8]08090a0b0c0d0e0f", byteData.display());
+		Assertions.assertEquals(0x08090A0B0C0D0E0FL, byteData.bufferReader(ByteOrder.BIG_ENDIAN).readLong());
+		Assertions.assertArrayEquals(new byte[] { 0x8, 0x9 }, byteData.readBytes(2));
+		Assertions.assertEquals(0x1, byteData.readAt(0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> byteData.readInt64(ByteOrder.BIG_ENDIAN));
+		Assertions.assertEquals(9, byteData.readIndex());
+		Assertions.assertArrayEquals(new byte[] { 0xA, 0xB, 0xC, 0xD, 0xE, 0xF }, byteData.readAll());
+		Assertions.assertEquals(0x0A0B0C0D, byteData.skipBytes(0).readInt32(ByteOrder.BIG_ENDIAN));
+		Assertions.assertEquals(0x0E0F, byteData.readInt16(ByteOrder.BIG_ENDIAN));
+		Assertions.assertEquals(0, byteData.readableBytes());
+	}
+
+	@Test
+	void discardReadBytes() {
+		ByteData byteData = ByteData.ofCapacity(4).writeInt32(0x01020304, ByteOrder.BIG_ENDIAN);
+		byteData.skipBytes(1).markReaderIndex().skipBytes(1);
+		byteData.discardReadBytes();
+		Assertions.assertEquals(0, byteData.readIndex());
+		Assertions.assertEquals(2, byteData.writeIndex());
+		Assertions.assertEquals(4, byteData.capacity());
+		Assertions.assertTrue(byteData.dataEquals(new byte[] { 0x3, 0x4 }));
+		byteData.resetReaderIndex();
+		Assertions.assertEquals(0, byteData.readIndex());
+
+		ByteData direct = ByteData.ofDirect(4).writeInt32(0x01020304, ByteOrder.BIG_ENDIAN);
+		direct.skipBytes(3).discardReadBytes();
+		Assertions.assertEquals(0x4, direct.readInt8());
+	}
+
+	@Test
+	void writeFrom() throws IOException {
+		ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 }));
+		ByteData byteData = ByteData.ofCapacity(2);
+		Assertions.assertEquals(3, byteData.writeFrom(channel, 3));
+		Assertions.assertEquals(0x0102, byteData.readInt16(ByteOrder.BIG_ENDIAN));
+		byteData.discardReadBytes();
+		Assertions.assertEquals(2, byteData.writeFrom(channel, 8));
+		Assertions.assertEquals(-1, byteData.writeFrom(channel, 8));
+		Assertions.assertArrayEquals(new byte[] { 3, 4, 5 }, byteData.readAll());
+	}
+
 	@Test
 	void display() {
 		Assertions.assertEquals("[2]12ab", ByteData.ofHex("12AB").display());
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @since 1.0
+ */
+class CompositeByteDataTest {
+
+	private static CompositeByteData sample() {
+		return CompositeByteData.of(ByteData.copyOf("ab".getBytes(StandardCharsets.US_ASCII)), ByteData.ofEmpty(),
+				ByteData.ofDirect(3).writeBytes("cde".getBytes(StandardCharsets.US_ASCII)),
+				ByteData.copyOf("f".getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@Test
+	void read() {
+		CompositeByteData data = sample();
+		Assertions.assertEquals(3, data.numComponents());
+		Assertions.assertEquals(6, data.readableBytes());
+		Assertions.assertEquals('a', data.readAt(0));
+		Assertions.assertEquals('c', data.readAt(2));
+		Assertions.assertEquals('f', data.readAt(5));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> data.readAt(6));
+		Assertions.assertArrayEquals("bcdef".getBytes(StandardCharsets.US_ASCII), data.read(1, -1));
+		Assertions.assertArrayEquals("abcdef".getBytes(StandardCharsets.US_ASCII), data.readAll());
+		Assertions.assertEquals("cd", data.readUtf8String(2, 2));
+		Assertions.assertEquals("bcdef", data.readUtf8String(1, -1));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> data.read(4, 3));
+	}
+
+	@Test
+	void sharesStorage() {
+		ByteData head = ByteData.ofCapacity(4).writeInt16(0x0102, ByteOrder.BIG_ENDIAN);
+		CompositeByteData data = CompositeByteData.of(head);
+		head.buffer()[0] = 0x7F;
+		head.writeInt8(0x3);
+		Assertions.assertEquals(2, data.readableBytes());
+		Assertions.assertEquals(0x7F, data.readAt(0));
+	}
+
+	@Test
+	void bufferReader() {
+		CompositeByteData data = CompositeByteData.of(ByteData.ofHex("0102"), ByteData.ofHex("0304"));
+		Assertions.assertEquals(0x01020304, data.bufferReader(ByteOrder.BIG_ENDIAN).readInt());
+		Assertions.assertSame(data.flatten().storage(), data.flatten().storage());
+		data.addComponent(ByteData.ofHex("05"));
+		Assertions.assertEquals(5, data.flatten().readableBytes());
+		Assertions.assertEquals("[5]0102030405", data.display());
+
+		// 单个组件时与源对象共享存储
+		ByteData source = ByteData.ofHex("0A0B");
+		ByteData single = CompositeByteData.of(source).flatten();
+		source.storage().put(0, (byte) 0x0C);
+		Assertions.assertEquals(0x0C, single.readAt(0));
+		Assertions.assertEquals("0c0b", CompositeByteData.of(source).toString());
+	}
+
+	@Test
+	void writeTo() throws IOException {
+		CompositeByteData data = sample();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Pipe pipe = Pipe.open();
+		GatheringByteChannel sink = pipe.sink();
+		Assertions.assertEquals(6, data.writeTo(sink));
+		sink.close();
+		byte[] buf = new byte[16];
+		int n;
+		while ((n = Channels.newInputStream(pipe.source()).read(buf)) > 0) {
+			out.write(buf, 0, n);
+		}
+		Assertions.assertEquals("abcdef", new String(out.toByteArray(), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	void writeToNonBlocking() throws IOException {
+		byte[] chunk = new byte[64 * 1024];
+		CompositeByteData data = CompositeByteData.of(ByteData.shardOf(chunk), ByteData.shardOf(chunk),
+				ByteData.shardOf(chunk), ByteData.shardOf(chunk));
+		Pipe pipe = Pipe.open();
+		pipe.sink().configureBlocking(false);
+		try (Pipe.SinkChannel sink = pipe.sink(); Pipe.SourceChannel source = pipe.source()) {
+			// 管道缓冲区写满后返回,不会一直重试
+			long written = data.writeTo(sink);
+			Assertions.assertTrue(written > 0 && written < data.readableBytes());
+		}
+	}
+
+	@Test
+	void release() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		PooledByteData pooled = pool.acquire(64);
+		byte[] storage = pooled.buffer();
+		pooled.writeInt32(0x01020304, ByteOrder.BIG_ENDIAN);
+		CompositeByteData data = CompositeByteData.of(pooled, ByteData.ofHex("05"));
+		Assertions.assertTrue(pooled.release());
+		// 组合对象仍然持有存储
+		Assertions.assertNotSame(storage, pool.acquire(64).buffer());
+		Assertions.assertEquals("0102030405", data.toString());
+		Assertions.assertNotSame(storage, data.flatten().buffer());
+
+		data.release();
+		Assertions.assertEquals(0, data.readableBytes());
+		Assertions.assertSame(storage, pool.acquire(64).buffer());
+	}
+
+}
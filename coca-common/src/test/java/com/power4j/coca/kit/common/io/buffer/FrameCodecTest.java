@@ -0,0 +1,194 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @since 1.0
+ */
+class FrameCodecTest {
+
+	private static List<ByteData> frames(int count) {
+		List<ByteData> list = new ArrayList<>();
+		for (int i = 0; i < count; ++i) {
+			byte[] data = new byte[i * 7];
+			Arrays.fill(data, (byte) i);
+			list.add(ByteData.shardOf(data));
+		}
+		return list;
+	}
+
+	private static byte[] encodeAll(FrameSpec spec, List<ByteData> frames) {
+		ByteData out = ByteData.ofCapacity(16);
+		FrameEncoder encoder = new FrameEncoder(spec);
+		for (ByteData frame : frames) {
+			encoder.encode(out, frame);
+		}
+		return out.readAll();
+	}
+
+	@Test
+	void roundTrip() throws Exception {
+		FrameSpec[] specs = { FrameSpec.of(FrameSpec.LengthField.U8, ByteOrder.BIG_ENDIAN, 255),
+				FrameSpec.of(FrameSpec.LengthField.U16, ByteOrder.BIG_ENDIAN, 1024),
+				FrameSpec.of(FrameSpec.LengthField.U16, ByteOrder.LITTLE_ENDIAN, 1024),
+				FrameSpec.of(FrameSpec.LengthField.INT32, ByteOrder.BIG_ENDIAN, 1024),
+				FrameSpec.of(FrameSpec.LengthField.INT32, ByteOrder.LITTLE_ENDIAN, 1024), FrameSpec.varInt(1024) };
+		List<ByteData> frames = frames(30);
+		for (FrameSpec spec : specs) {
+			byte[] encoded = encodeAll(spec, frames);
+			FrameDecoder decoder = new FrameDecoder(spec, 16);
+			ByteData frame = ByteData.ofCapacity(4);
+			int index = 0;
+			// 每次喂入 3 字节,验证不完整帧的处理
+			for (int off = 0; off < encoded.length; off += 3) {
+				decoder.feed(encoded, off, Math.min(3, encoded.length - off));
+				while (decoder.decode(frame)) {
+					Assertions.assertArrayEquals(frames.get(index).readAll(), frame.readAll());
+					++index;
+				}
+			}
+			Assertions.assertEquals(frames.size(), index);
+			Assertions.assertEquals(0, decoder.bufferedBytes());
+		}
+	}
+
+	@Test
+	void headerLayout() {
+		FrameSpec spec = FrameSpec.of(FrameSpec.LengthField.U16, ByteOrder.LITTLE_ENDIAN, 1024);
+		byte[] encoded = new FrameEncoder(spec).encode(ByteData.ofCapacity(8), ByteData.shardOf(new byte[] { 9, 8, 7 }))
+			.readAll();
+		Assertions.assertArrayEquals(new byte[] { 3, 0, 9, 8, 7 }, encoded);
+
+		encoded = new FrameEncoder(FrameSpec.varInt(1024))
+			.encode(ByteData.ofCapacity(8), ByteData.shardOf(new byte[300]))
+			.readAll();
+		Assertions.assertEquals(302, encoded.length);
+		Assertions.assertEquals((byte) 0xAC, encoded[0]);
+		Assertions.assertEquals(0x02, encoded[1]);
+	}
+
+	@Test
+	void maxLength() throws Exception {
+		FrameSpec spec = FrameSpec.of(FrameSpec.LengthField.INT32, ByteOrder.BIG_ENDIAN, 8);
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> new FrameEncoder(spec).encode(ByteData.ofCapacity(8), ByteData.shardOf(new byte[9])));
+
+		// 长度字段超过上限时不等待数据到达
+		FrameDecoder decoder = new FrameDecoder(spec);
+		decoder.feed(new byte[] { 0, 0, 0, 9 }, 0, 4);
+		Assertions.assertThrows(CodecException.class, () -> decoder.decode(ByteData.ofCapacity(8)));
+
+		FrameDecoder negative = new FrameDecoder(spec);
+		negative.feed(new byte[] { (byte) 0x80, 0, 0, 0 }, 0, 4);
+		Assertions.assertThrows(CodecException.class, () -> negative.decode(ByteData.ofCapacity(8)));
+
+		FrameDecoder malformed = new FrameDecoder(FrameSpec.varInt(1024));
+		byte[] bad = { (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 1 };
+		malformed.feed(bad, 0, bad.length);
+		Assertions.assertThrows(CodecException.class, () -> malformed.decode(ByteData.ofCapacity(8)));
+	}
+
+	@Test
+	void channel() throws Exception {
+		FrameSpec spec = FrameSpec.varInt(4096);
+		List<ByteData> frames = frames(50);
+		frames.add(ByteData.shardOf("你好,world".getBytes(StandardCharsets.UTF_8)));
+
+		// 数据量小于管道缓冲区,可以在同一线程中先写后读
+		Pipe pipe = Pipe.open();
+		GatheringByteChannel sink = pipe.sink();
+		long written = new FrameEncoder(spec).writeTo(sink, frames);
+		sink.close();
+		byte[] expected = encodeAll(spec, frames);
+		Assertions.assertEquals(expected.length, written);
+		// 不移动数据的读指针
+		Assertions.assertEquals(7, frames.get(1).readableBytes());
+
+		FrameDecoder decoder = new FrameDecoder(spec, 64);
+		ByteData frame = ByteData.ofCapacity(16);
+		int index = 0;
+		try (ReadableByteChannel source = pipe.source()) {
+			while (decoder.readFrom(source) >= 0) {
+				while (decoder.decode(frame)) {
+					Assertions.assertArrayEquals(frames.get(index).readAll(), frame.readAll());
+					++index;
+				}
+			}
+		}
+		Assertions.assertEquals(frames.size(), index);
+		Assertions.assertEquals("你好,world", frame.readUtf8String(0, frame.readableBytes()));
+	}
+
+	@Test
+	void nonBlockingChannel() throws Exception {
+		FrameSpec spec = FrameSpec.varInt(4096);
+		List<ByteData> frames = new ArrayList<>();
+		for (int i = 0; i < 4000; ++i) {
+			frames.add(ByteData.ofRepeat(i, 200));
+		}
+		byte[] expected = encodeAll(spec, frames);
+		Pipe pipe = Pipe.open();
+		pipe.sink().configureBlocking(false);
+		pipe.source().configureBlocking(false);
+		try (Pipe.SinkChannel sink = pipe.sink(); Pipe.SourceChannel source = pipe.source()) {
+			FrameEncoder encoder = new FrameEncoder(spec);
+			// 管道缓冲区写满后返回,不会一直重试
+			long written = encoder.writeTo(sink, frames);
+			Assertions.assertTrue(written > 0 && written < expected.length);
+
+			ByteBuffer[] buffers = encoder.encode(frames);
+			ByteArrayOutputStream received = new ByteArrayOutputStream();
+			ByteBuffer chunk = ByteBuffer.allocate(8192);
+			long total = 0;
+			while (received.size() < expected.length + written) {
+				drain(source, chunk, received);
+				// 通道再次可写后使用同一个数组继续
+				total += BufferKit.write(sink, buffers);
+			}
+			Assertions.assertEquals(expected.length, total);
+			byte[] all = received.toByteArray();
+			Assertions.assertArrayEquals(expected, Arrays.copyOfRange(all, (int) written, all.length));
+		}
+	}
+
+	private static void drain(ReadableByteChannel source, ByteBuffer chunk, ByteArrayOutputStream out)
+			throws IOException {
+		int read;
+		while ((read = source.read(chunk)) > 0) {
+			out.write(chunk.array(), 0, read);
+			chunk.clear();
+		}
+	}
+
+}
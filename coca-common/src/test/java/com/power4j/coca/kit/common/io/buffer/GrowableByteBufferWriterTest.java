@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @since 1.0
+ */
+class GrowableByteBufferWriterTest {
+
+	@Test
+	void grow() {
+		GrowableByteBufferWriter writer = GrowableByteBufferWriter.of(2, ByteOrder.LITTLE_ENDIAN);
+		writer.writeInt(0x04030201).writeLong(0L).writeByteRepeat(0x7F, 100);
+		writer.writeString("中文", StandardCharsets.UTF_8, -1, (byte) 0);
+		Assertions.assertEquals(118, writer.hasWritten());
+		Assertions.assertTrue(writer.capacity() >= 118);
+		Assertions.assertEquals(ByteOrder.LITTLE_ENDIAN, writer.order());
+
+		ByteData data = writer.toByteData();
+		Assertions.assertEquals(118, data.readableBytes());
+		Assertions.assertEquals(0x04030201, data.getInt32At(0, ByteOrder.LITTLE_ENDIAN));
+		Assertions.assertEquals(0x7F, data.readAt(111));
+		Assertions.assertEquals("中文", data.readUtf8String(112, 6));
+	}
+
+	@Test
+	void growForString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 10000; ++i) {
+			builder.append((char) ('a' + i % 26));
+		}
+		String ascii = builder.toString();
+		GrowableByteBufferWriter writer = GrowableByteBufferWriter.of(0, null);
+		writer.writeString(ascii, StandardCharsets.UTF_8, -1, (byte) 0);
+		Assertions.assertEquals(ascii.length(), writer.hasWritten());
+		// 按平均长度预留,不按最大长度
+		Assertions.assertTrue(writer.capacity() < ascii.length() * 2);
+
+		// 预留不足时继续扩容
+		String mixed = ascii.substring(0, 100) + "中文中文中文中文中文";
+		writer = GrowableByteBufferWriter.of(0, null);
+		writer.writeString(mixed, StandardCharsets.UTF_8, -1, (byte) 0);
+		ByteData data = writer.toByteData();
+		Assertions.assertEquals(mixed, data.readUtf8String(0, data.readableBytes()));
+
+		ByteBufferWriter fixed = ByteBufferWriter.of(new byte[8]);
+		fixed.writeByte(1);
+		Assertions.assertThrows(BufferOverflowException.class,
+				() -> fixed.writeString("中文中文", StandardCharsets.UTF_8, -1, (byte) 0));
+		Assertions.assertEquals(1, fixed.hasWritten());
+	}
+
+	@Test
+	void backPatch() {
+		GrowableByteBufferWriter writer = GrowableByteBufferWriter.of(1, ByteOrder.BIG_ENDIAN);
+		int lengthAt = writer.hasWritten();
+		writer.reserve(Integer.BYTES);
+		writer.writeBytes("hello".getBytes(StandardCharsets.US_ASCII));
+		writer.writeIntAt(lengthAt, writer.hasWritten() - Integer.BYTES);
+
+		ByteBuffer buffer = writer.toByteBuffer();
+		Assertions.assertEquals(0, buffer.position());
+		Assertions.assertEquals(9, buffer.limit());
+		Assertions.assertEquals(5, buffer.getInt());
+		Assertions.assertEquals(1, writer.toByteBuffers().length);
+	}
+
+	@Test
+	void append() {
+		ByteData data = ByteData.ofHex("0102");
+		GrowableByteBufferWriter writer = GrowableByteBufferWriter.of(data, ByteOrder.BIG_ENDIAN);
+		writer.writeShort(0x0304);
+		Assertions.assertSame(data, writer.toByteData());
+		Assertions.assertTrue(data.dataEquals(new byte[] { 1, 2, 3, 4 }));
+	}
+
+	@Test
+	void pooled() {
+		ByteDataPool pool = ByteDataPool.builder().build();
+		GrowableByteBufferWriter writer = GrowableByteBufferWriter.of(pool, 64, null);
+		writer.writeBytes(new byte[100]);
+		PooledByteData data = (PooledByteData) writer.toByteData();
+		Assertions.assertEquals(128, data.capacity());
+		Assertions.assertEquals(100, data.readableBytes());
+		Assertions.assertTrue(data.release());
+		Assertions.assertEquals(0, pool.metrics().getOutstanding());
+	}
+
+	@Test
+	void transfer() {
+		ByteBufferReader reader = ByteBufferReader.of(BufferKit.wrap(new byte[300]));
+		GrowableByteBufferWriter writer = GrowableByteBufferWriter.of(0, null);
+		reader.transferTo(writer);
+		Assertions.assertEquals(300, writer.hasWritten());
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @since 1.0
+ */
+class MappedByteBufferTest {
+
+	/**
+	 * 很小的窗口,保证读写都会跨越窗口边界
+	 */
+	private static final int WINDOW = 13;
+
+	@Test
+	void writeAndRead() throws Exception {
+		Path file = Files.createTempFile("coca-mapped", ".bin");
+		try {
+			try (MappedByteBufferWriter writer = BufferKit.mappedWriter(file, WINDOW, ByteOrder.LITTLE_ENDIAN)) {
+				writer.reserve(Integer.BYTES);
+				for (int i = 0; i < 100; ++i) {
+					writer.writeInt(i).writeLong(i * 1000L).writeVarInt(i << 14);
+				}
+				writer.writeFixedString("你好,mapped", 40);
+				writer.writeIntAt(0, 100);
+				Assertions.assertEquals(writer.position(), writer.size());
+			}
+			long expectedSize = Integer.BYTES + 100 * 12L + 40;
+			for (int i = 0; i < 100; ++i) {
+				expectedSize += VarInt.sizeOf(i << 14);
+			}
+			Assertions.assertEquals(expectedSize, Files.size(file));
+
+			try (MappedByteBufferReader reader = BufferKit.mappedReader(file, WINDOW, true, ByteOrder.LITTLE_ENDIAN)) {
+				Assertions.assertEquals(expectedSize, reader.size());
+				int count = reader.readInt();
+				for (int i = 0; i < count; ++i) {
+					Assertions.assertEquals(i, reader.readInt());
+					Assertions.assertEquals(i * 1000L, reader.readLong());
+					Assertions.assertEquals(i << 14, reader.readVarInt());
+				}
+				// 超过窗口大小的读取
+				Assertions.assertEquals("你好,mapped", reader.readString(40));
+				Assertions.assertEquals(0, reader.readableBytes());
+				Assertions.assertThrows(BufferUnderflowException.class, reader::readByte);
+
+				reader.unreadAll().skip(Integer.BYTES);
+				Assertions.assertEquals(0, reader.readInt());
+				reader.position(expectedSize - 40);
+				Assertions.assertEquals("你好,mapped", reader.readString(40, StandardCharsets.UTF_8, true));
+			}
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	void writeAtLargePosition() throws Exception {
+		Path file = Files.createTempFile("coca-mapped", ".bin");
+		try {
+			// 稀疏文件,不会实际占用空间
+			final long start = 3L << 30;
+			try (MappedByteBufferWriter writer = BufferKit.mappedWriter(file, WINDOW, ByteOrder.BIG_ENDIAN)) {
+				writer.position(start);
+				writer.reserve(Integer.BYTES);
+				writer.writeBytes(new byte[100]);
+				writer.writeIntAt(start, 100);
+				writer.writeShortAt(start + 50, 0x1234);
+				writer.writeByteAt(start + 103, 0x7F);
+				Assertions.assertEquals(start + 104, writer.size());
+			}
+			try (MappedByteBufferReader reader = BufferKit.mappedReader(file, WINDOW, false, ByteOrder.BIG_ENDIAN)) {
+				reader.position(start);
+				Assertions.assertEquals(100, reader.readInt());
+				reader.position(start + 50);
+				Assertions.assertEquals(0x1234, reader.readShort());
+				reader.position(start + 103);
+				Assertions.assertEquals(0x7F, reader.readByte());
+			}
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	void transferTo() throws Exception {
+		Path file = Files.createTempFile("coca-mapped", ".bin");
+		try {
+			byte[] data = ByteData.ofRandom(100).readAll();
+			try (MappedByteBufferWriter writer = BufferKit.mappedWriter(file, WINDOW, null)) {
+				writer.writeBytes(data);
+				// 回退后覆盖写入,文件大小不变
+				writer.discard(50).writeByte(1);
+				Assertions.assertEquals(100, writer.size());
+			}
+			data[50] = 1;
+			Assertions.assertArrayEquals(data, Files.readAllBytes(file));
+
+			try (MappedByteBufferReader reader = BufferKit.mappedReader(file, WINDOW, false, null)) {
+				reader.skip(10);
+				ByteBuffer dest = ByteBuffer.allocate(5);
+				Assertions.assertEquals(5, reader.transferTo(dest));
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				Assertions.assertEquals(85, reader.transferTo(Channels.newChannel(out)));
+				Assertions.assertEquals(100, reader.hasRead());
+				byte[] expected = new byte[85];
+				System.arraycopy(data, 15, expected, 0, 85);
+				Assertions.assertArrayEquals(expected, out.toByteArray());
+			}
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	void closed() throws Exception {
+		Path file = Files.createTempFile("coca-mapped", ".bin");
+		try {
+			Files.write(file, new byte[] { 1, 2, 3 });
+			MappedByteBufferReader reader = BufferKit.mappedReader(file, null);
+			Assertions.assertEquals(1, reader.readByte());
+			reader.close();
+			Assertions.assertThrows(IllegalStateException.class, reader::readByte);
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	void unmap() {
+		Assertions.assertFalse(BufferKit.unmap(ByteBuffer.allocate(8)));
+		Assertions.assertTrue(BufferKit.unmap(ByteBuffer.allocateDirect(8)));
+	}
+
+}
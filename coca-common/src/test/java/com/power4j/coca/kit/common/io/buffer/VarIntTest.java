@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.buffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @since 1.0
+ */
+class VarIntTest {
+
+	private static final int[] INTS = { 0, 1, 127, 128, 300, 16383, 16384, 2097151, 2097152, 268435455, 268435456,
+			Integer.MAX_VALUE, -1, Integer.MIN_VALUE };
+
+	@Test
+	void size() {
+		Assertions.assertEquals(1, VarInt.sizeOf(0));
+		Assertions.assertEquals(1, VarInt.sizeOf(127));
+		Assertions.assertEquals(2, VarInt.sizeOf(128));
+		Assertions.assertEquals(5, VarInt.sizeOf(-1));
+		Assertions.assertEquals(10, VarInt.sizeOf(-1L));
+		Assertions.assertEquals(9, VarInt.sizeOf(Long.MAX_VALUE));
+		Assertions.assertEquals(1, VarInt.sizeOfZigZag(-1));
+		Assertions.assertEquals(1, VarInt.sizeOfZigZag(-64L));
+		Assertions.assertEquals(2, VarInt.sizeOfZigZag(64));
+	}
+
+	@Test
+	void zigZag() {
+		Assertions.assertEquals(0, VarInt.encodeZigZag(0));
+		Assertions.assertEquals(1, VarInt.encodeZigZag(-1));
+		Assertions.assertEquals(2, VarInt.encodeZigZag(1));
+		Assertions.assertEquals(-1, VarInt.encodeZigZag(Integer.MIN_VALUE));
+		Assertions.assertEquals(Long.MIN_VALUE, VarInt.decodeZigZag(-1L));
+	}
+
+	@Test
+	void encode() {
+		ByteBufferWriter writer = ByteBufferWriter.of(new byte[2]);
+		writer.writeVarInt(300);
+		Assertions.assertArrayEquals(new byte[] { (byte) 0xAC, 0x02 }, writer.peekRange(0, 2));
+		Assertions.assertThrows(BufferOverflowException.class, () -> writer.writeVarInt(1));
+	}
+
+	@Test
+	void roundTrip() {
+		roundTrip(ByteBuffer.allocate(1024));
+		roundTrip(ByteBuffer.allocateDirect(1024));
+	}
+
+	private static void roundTrip(ByteBuffer buffer) {
+		Random random = new Random(42);
+		long[] longs = new long[32];
+		for (int i = 0; i < longs.length; ++i) {
+			longs[i] = random.nextLong() >> random.nextInt(64);
+		}
+		ByteBufferWriter writer = ByteBufferWriter.of(buffer);
+		for (int v : INTS) {
+			writer.writeVarInt(v).writeZigZag32(v);
+		}
+		for (long v : longs) {
+			writer.writeVarLong(v).writeZigZag64(v);
+		}
+		buffer.flip();
+		ByteBufferReader reader = ByteBufferReader.of(buffer);
+		for (int v : INTS) {
+			Assertions.assertEquals(v, reader.readVarInt());
+			Assertions.assertEquals(v, reader.readZigZag32());
+		}
+		for (long v : longs) {
+			Assertions.assertEquals(v, reader.readVarLong());
+			Assertions.assertEquals(v, reader.readZigZag64());
+		}
+		Assertions.assertEquals(0, reader.readableBytes());
+	}
+
+	@Test
+	void longBoundary() {
+		ByteBuffer heap = ByteBuffer.allocate(1024);
+		ByteBufferWriter writer = ByteBufferWriter.of(heap);
+		// 第10字节只有最低位有效
+		writer.writeBytes(new byte[] { -1, -1, -1, -1, -1, -1, -1, -1, -1, 0x7E });
+		for (int bits = 0; bits <= 64; bits += 7) {
+			writer.writeVarLong((1L << bits) - 1).writeVarLong(1L << bits);
+		}
+		writer.writeVarLong(Long.MIN_VALUE).writeVarLong(-1L);
+		heap.flip();
+		ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining());
+		direct.put(heap.duplicate()).flip();
+		ByteBufferReader fast = ByteBufferReader.of(heap);
+		ByteBufferReader slow = ByteBufferReader.of(direct);
+		while (slow.readableBytes() > 0) {
+			Assertions.assertEquals(slow.readVarLong(), fast.readVarLong());
+			Assertions.assertEquals(slow.hasRead(), fast.hasRead());
+		}
+	}
+
+	@Test
+	void truncated() {
+		ByteBufferReader reader = ByteBufferReader.of(BufferKit.wrap(new byte[] { (byte) 0x80, (byte) 0x80 }));
+		Assertions.assertThrows(BufferUnderflowException.class, reader::readVarInt);
+		Assertions.assertEquals(0, reader.hasRead());
+		Assertions.assertThrows(BufferUnderflowException.class, reader::readVarLong);
+
+		byte[] malformed = new byte[11];
+		Arrays.fill(malformed, (byte) 0xFF);
+		Assertions.assertThrows(IllegalStateException.class,
+				() -> ByteBufferReader.of(BufferKit.wrap(malformed)).readVarInt());
+		Assertions.assertThrows(IllegalStateException.class,
+				() -> ByteBufferReader.of(BufferKit.wrap(malformed)).readVarLong());
+	}
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec;
+
+import com.power4j.coca.kit.common.compress.CompressUtil;
+import com.power4j.coca.kit.common.compress.SampleData;
+import com.power4j.coca.kit.common.io.buffer.ByteData;
+import com.power4j.coca.kit.common.io.codec.impl.Base64Codec;
+import com.power4j.coca.kit.common.io.codec.impl.BufferGz;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @since 1.0
+ */
+class StreamCodecTest {
+
+	private static byte[] transfer(StreamCodec codec, byte[] data, int bufferSize) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (StreamCodec c = codec) {
+			StreamCodecs.transfer(c, new ByteArrayInputStream(data), out, bufferSize);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * 手动驱动,使用堆外的小输出缓冲区
+	 */
+	private static byte[] drive(StreamCodec codec, byte[] data, int chunk, int outSize) throws CodecException {
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		ByteBuffer out = ByteBuffer.allocateDirect(outSize);
+		byte[] tmp = new byte[outSize];
+		for (int off = 0; off < data.length; off += chunk) {
+			ByteBuffer in = ByteBuffer.wrap(data, off, Math.min(chunk, data.length - off));
+			while (codec.update(in, out) == StreamCodec.Status.OVERFLOW) {
+				drain(out, tmp, result);
+			}
+			Assertions.assertFalse(in.hasRemaining());
+		}
+		while (codec.finish(out) != StreamCodec.Status.DONE) {
+			drain(out, tmp, result);
+		}
+		drain(out, tmp, result);
+		codec.close();
+		return result.toByteArray();
+	}
+
+	private static void drain(ByteBuffer out, byte[] tmp, ByteArrayOutputStream result) {
+		out.flip();
+		int n = out.remaining();
+		out.get(tmp, 0, n);
+		result.write(tmp, 0, n);
+		out.clear();
+	}
+
+	private static byte[] gunzip(byte[] data) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+			byte[] buf = new byte[1024];
+			int n;
+			while ((n = in.read(buf)) > 0) {
+				out.write(buf, 0, n);
+			}
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] gzip(byte[] data) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+			gz.write(data);
+		}
+		return out.toByteArray();
+	}
+
+	@Test
+	void gzip() throws IOException {
+		byte[] data = SampleData.mixed(100_000);
+		Assertions.assertArrayEquals(data, gunzip(transfer(BufferGz.streamEncoder(), data, 1000)));
+		Assertions.assertArrayEquals(data, gunzip(drive(BufferGz.streamEncoder(9), data, 333, 7)));
+		Assertions.assertArrayEquals(data, transfer(BufferGz.streamDecoder(), gzip(data), 1000));
+		Assertions.assertArrayEquals(data, drive(BufferGz.streamDecoder(), gzip(data), 5, 11));
+		Assertions.assertArrayEquals(new byte[0], gunzip(transfer(BufferGz.streamEncoder(), new byte[0], 16)));
+	}
+
+	@Test
+	void gunzipHeaderAndMembers() throws IOException {
+		byte[] data = SampleData.mixed(5000);
+		ByteArrayOutputStream named = new ByteArrayOutputStream();
+		GzipParameters parameters = new GzipParameters();
+		parameters.setFileName("data.bin");
+		parameters.setComment("comment");
+		try (GzipCompressorOutputStream gz = new GzipCompressorOutputStream(named, parameters)) {
+			gz.write(data);
+		}
+		Assertions.assertArrayEquals(data, drive(BufferGz.streamDecoder(), named.toByteArray(), 3, 64));
+
+		// 多个 member 串联
+		byte[] first = gzip(Arrays.copyOf(data, 1000));
+		byte[] second = gzip(Arrays.copyOfRange(data, 1000, data.length));
+		byte[] concat = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, concat, first.length, second.length);
+		Assertions.assertArrayEquals(data, drive(BufferGz.streamDecoder(), concat, 100, 100));
+	}
+
+	@Test
+	void gunzipOptionalHeaderFields() throws IOException {
+		byte[] data = SampleData.mixed(3000);
+		ByteArrayOutputStream gz = new ByteArrayOutputStream();
+		// FHCRC | FEXTRA | FNAME | FCOMMENT
+		gz.write(new byte[] { 0x1f, (byte) 0x8b, 8, 0x1E, 0, 0, 0, 0, 0, (byte) 0xFF });
+		gz.write(new byte[] { 5, 0, 'A', 'B', 1, 0, 'x' });
+		gz.write("name.txt\0comment\0".getBytes(StandardCharsets.US_ASCII));
+		CRC32 crc = new CRC32();
+		crc.update(gz.toByteArray());
+		gz.write((int) crc.getValue());
+		gz.write((int) (crc.getValue() >>> 8));
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try (DeflaterOutputStream body = new DeflaterOutputStream(gz, deflater)) {
+			body.write(data);
+			body.finish();
+			crc.reset();
+			crc.update(data);
+			ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+			trailer.putInt((int) crc.getValue()).putInt(data.length);
+			gz.write(trailer.array());
+		}
+		finally {
+			deflater.end();
+		}
+		byte[] encoded = gz.toByteArray();
+		Assertions.assertArrayEquals(data, gunzip(encoded));
+		Assertions.assertArrayEquals(data, drive(BufferGz.streamDecoder(), encoded, 1, 64));
+		Assertions.assertArrayEquals(data, drive(BufferGz.streamDecoder(), encoded, 7, 5));
+		Assertions.assertArrayEquals(data, transfer(BufferGz.streamDecoder(), encoded, 1000));
+
+		byte[] corrupt = encoded.clone();
+		corrupt[12] = 'C';
+		Assertions.assertThrows(CodecException.class, () -> drive(BufferGz.streamDecoder(), corrupt, 7, 5));
+	}
+
+	@Test
+	void gunzipTrailingData() throws IOException {
+		byte[] data = SampleData.mixed(3000);
+		byte[] gz = gzip(data);
+		for (byte[] tail : new byte[][] { { 0 }, { 0x1f }, "trailing garbage".getBytes(StandardCharsets.US_ASCII),
+				{ 0x1f, 0x1f, (byte) 0x8b } }) {
+			byte[] input = Arrays.copyOf(gz, gz.length + tail.length);
+			System.arraycopy(tail, 0, input, gz.length, tail.length);
+			// 与 CompressUtil 以及 GZIPInputStream 的行为一致
+			Assertions.assertArrayEquals(data, CompressUtil.unGzip(input));
+			Assertions.assertArrayEquals(data, gunzip(input));
+			Assertions.assertArrayEquals(data, drive(BufferGz.streamDecoder(), input, 1, 64));
+			Assertions.assertArrayEquals(data, drive(BufferGz.streamDecoder(), input, 100, 100));
+		}
+		// 标识正确但是数据不完整
+		byte[] truncated = Arrays.copyOf(gz, gz.length + 5);
+		System.arraycopy(gz, 0, truncated, gz.length, 5);
+		Assertions.assertThrows(IOException.class, () -> CompressUtil.unGzip(truncated));
+		Assertions.assertThrows(CodecException.class, () -> drive(BufferGz.streamDecoder(), truncated, 100, 100));
+	}
+
+	@Test
+	void gunzipCorrupt() throws IOException {
+		byte[] gz = gzip(SampleData.mixed(5000));
+		Assertions.assertThrows(CodecException.class,
+				() -> drive(BufferGz.streamDecoder(), Arrays.copyOf(gz, gz.length - 3), 100, 100));
+		byte[] crc = gz.clone();
+		crc[crc.length - 8] ^= 1;
+		Assertions.assertThrows(CodecException.class, () -> drive(BufferGz.streamDecoder(), crc, 100, 100));
+		Assertions.assertThrows(CodecException.class,
+				() -> drive(BufferGz.streamDecoder(), "not gzip".getBytes(StandardCharsets.US_ASCII), 100, 100));
+	}
+
+	@Test
+	void base64() throws IOException {
+		for (int size = 0; size < 10; ++size) {
+			byte[] data = SampleData.mixed(size);
+			byte[] encoded = Base64.getEncoder().encode(data);
+			Assertions.assertArrayEquals(encoded, drive(Base64Codec.streamEncoder(), data, 2, 5));
+			Assertions.assertArrayEquals(data, drive(Base64Codec.streamDecoder(), encoded, 3, 2));
+		}
+		byte[] data = SampleData.mixed(3000);
+		byte[] mime = Base64.getMimeEncoder().encode(data);
+		Assertions.assertArrayEquals(data, transfer(Base64Codec.streamDecoder(), mime, 100));
+		byte[] unpadded = Base64.getEncoder().withoutPadding().encode(SampleData.mixed(8));
+		Assertions.assertArrayEquals(SampleData.mixed(8), transfer(Base64Codec.streamDecoder(), unpadded, 100));
+		Assertions.assertThrows(CodecException.class,
+				() -> transfer(Base64Codec.streamDecoder(), "ab*d".getBytes(StandardCharsets.US_ASCII), 100));
+		Assertions.assertThrows(CodecException.class,
+				() -> transfer(Base64Codec.streamDecoder(), "abcde".getBytes(StandardCharsets.US_ASCII), 100));
+	}
+
+	@Test
+	void chain() throws IOException {
+		byte[] data = SampleData.mixed(50_000);
+		StreamCodec encoder = StreamCodecs.chain(5, BufferGz.streamEncoder(), Base64Codec.streamEncoder());
+		Assertions.assertEquals("gz+b64", encoder.name());
+		byte[] encoded = drive(encoder, data, 777, 13);
+		Assertions.assertArrayEquals(data, gunzip(Base64.getDecoder().decode(encoded)));
+
+		StreamCodec decoder = StreamCodecs.chain(7, Base64Codec.streamDecoder(), BufferGz.streamDecoder());
+		Assertions.assertArrayEquals(data, transfer(decoder, encoded, 100));
+	}
+
+	@Test
+	void chainSmallBuffer() throws IOException {
+		for (int size : new int[] { 0, 1, 2, 3, 4, 5, 100, 3001 }) {
+			byte[] data = SampleData.mixed(size);
+			StreamCodec encoder = StreamCodecs.chain(1, BufferGz.streamEncoder(), Base64Codec.streamEncoder());
+			byte[] encoded = drive(encoder, data, 7, 5);
+			Assertions.assertArrayEquals(data, gunzip(Base64.getDecoder().decode(encoded)));
+			encoder = StreamCodecs.chain(1, BufferGz.streamEncoder(), Base64Codec.streamEncoder());
+			Assertions.assertArrayEquals(encoded, drive(encoder, data, 1, 4));
+
+			StreamCodec decoder = StreamCodecs.chain(1, Base64Codec.streamDecoder(), BufferGz.streamDecoder());
+			Assertions.assertArrayEquals(data, drive(decoder, encoded, 3, 1));
+		}
+		// update 返回 OVERFLOW 时保留了完整的分组,直接调用 finish
+		try (StreamCodec encoder = Base64Codec.streamEncoder()) {
+			ByteBuffer out = ByteBuffer.allocate(8);
+			Assertions.assertEquals(StreamCodec.Status.UNDERFLOW,
+					encoder.update(ByteBuffer.wrap(new byte[] { 'a' }), out));
+			Assertions.assertEquals(StreamCodec.Status.OVERFLOW,
+					encoder.update(ByteBuffer.wrap(new byte[] { 'b', 'c' }), ByteBuffer.allocate(2)));
+			Assertions.assertEquals(StreamCodec.Status.DONE, encoder.finish(out));
+			Assertions.assertEquals("YWJj", new String(out.array(), 0, out.position(), StandardCharsets.US_ASCII));
+		}
+	}
+
+	@Test
+	void adapter() throws IOException {
+		byte[] data = SampleData.mixed(10_000);
+		StreamCodec encoder = StreamCodecs.chain(StreamCodecs.encoding(new BufferGz()), Base64Codec.streamEncoder());
+		byte[] encoded = transfer(encoder, data, 64);
+		Assertions.assertArrayEquals(data, gunzip(Base64.getDecoder().decode(encoded)));
+
+		StreamCodec decoder = StreamCodecs.chain(Base64Codec.streamDecoder(), StreamCodecs.decoding(new BufferGz()));
+		Assertions.assertArrayEquals(data, drive(decoder, encoded, 100, 9));
+	}
+
+	@Test
+	public void testProcess() throws IOException {
+		byte[] data = SampleData.mixed(100000);
+		ByteData out = ByteData.ofCapacity(4);
+		out.writeInt8(7);
+		int written;
+		try (StreamCodec codec = BufferGz.streamEncoder()) {
+			written = StreamCodecs.process(codec, ByteBuffer.wrap(data), out);
+		}
+		Assertions.assertEquals(written + 1, out.writeIndex());
+		out.skipBytes(1);
+		ByteData plain = ByteData.ofCapacity(16);
+		try (StreamCodec codec = BufferGz.streamDecoder()) {
+			StreamCodecs.process(codec, ByteBuffer.wrap(out.readAll()), plain);
+		}
+		Assertions.assertTrue(plain.dataEquals(data));
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @since 1.0
+ */
+class Base64CodecTest {
+
+	private static byte[] random(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return bytes;
+	}
+
+	@Test
+	void encodeSlice() throws Exception {
+		Base64Codec codec = new Base64Codec();
+		byte[] bytes = random(32);
+		for (int len = 0; len < 8; ++len) {
+			ByteBuffer slice = ByteBuffer.wrap(bytes, 3, len);
+			String expected = Base64.getEncoder().encodeToString(Arrays.copyOfRange(bytes, 3, 3 + len));
+			Assertions.assertEquals(expected, codec.encode(slice));
+			Assertions.assertEquals(3, slice.position());
+			Assertions.assertEquals(expected, codec.encode(slice.slice()));
+			Assertions.assertEquals(expected, codec.encode(slice.asReadOnlyBuffer()));
+
+			ByteBuffer direct = ByteBuffer.allocateDirect(len);
+			direct.put(bytes, 3, len).flip();
+			Assertions.assertEquals(expected, codec.encode(direct));
+			Assertions.assertEquals(expected, codec.encode(direct.asReadOnlyBuffer()));
+		}
+		ByteBuffer decoded = codec.decode(codec.encode(ByteBuffer.wrap(bytes)));
+		Assertions.assertArrayEquals(bytes, decoded.array());
+	}
+
+	@Test
+	void encodeIncremental() {
+		byte[] bytes = random(1000);
+		StringBuilder result = new StringBuilder();
+		// 使用很小的缓冲区,触发输入不足和输出空间不足
+		ByteBuffer in = ByteBuffer.allocate(7);
+		CharBuffer out = CharBuffer.allocate(9);
+		int offset = 0;
+		boolean done = false;
+		while (!done) {
+			int n = Math.min(in.remaining(), bytes.length - offset);
+			in.put(bytes, offset, n);
+			offset += n;
+			in.flip();
+			final boolean end = offset == bytes.length;
+			boolean underflow = Base64Codec.encode(in, out, end);
+			out.flip();
+			result.append(out);
+			out.clear();
+			done = end && underflow && !in.hasRemaining();
+			in.compact();
+		}
+		Assertions.assertEquals(Base64.getEncoder().encodeToString(bytes), result.toString());
+	}
+
+	@Test
+	void stream() throws Exception {
+		byte[] bytes = random(10000);
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		try (OutputStream out = Base64Codec.wrap(encoded)) {
+			for (int i = 0; i < bytes.length; i += 333) {
+				out.write(bytes, i, Math.min(333, bytes.length - i));
+			}
+		}
+		String str = new String(encoded.toByteArray(), StandardCharsets.US_ASCII);
+		Assertions.assertEquals(Base64.getEncoder().encodeToString(bytes), str);
+
+		String mime = Base64.getMimeEncoder().encodeToString(bytes);
+		ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+		try (InputStream in = Base64Codec.wrap(new ByteArrayInputStream(mime.getBytes(StandardCharsets.US_ASCII)))) {
+			byte[] buf = new byte[256];
+			int n;
+			while ((n = in.read(buf)) > 0) {
+				decoded.write(buf, 0, n);
+			}
+		}
+		Assertions.assertArrayEquals(bytes, decoded.toByteArray());
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 ChenJun (power4j@outlook.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.power4j.coca.kit.common.io.codec.impl;
+
+import com.power4j.coca.kit.common.io.codec.CodecException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @author CJ (power4j@outlook.com)
+ * @date 2026/10/16
+ * @since 1.0
+ */
+class BufferGzTest {
+
+	private static byte[] text(int size) {
+		StringBuilder builder = new StringBuilder(size + 16);
+		for (int i = 0; builder.length() < size; ++i) {
+			builder.append("line-").append(i % 97).append('\n');
+		}
+		return Arrays.copyOf(builder.toString().getBytes(StandardCharsets.US_ASCII), size);
+	}
+
+	private static ByteBuffer direct(byte[] bytes, int offset, int length) {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(length + 8);
+		buffer.position(4);
+		buffer.put(bytes, offset, length);
+		buffer.limit(buffer.position()).position(4);
+		return buffer;
+	}
+
+	private static byte[] toBytes(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return bytes;
+	}
+
+	@Test
+	void encodeSlice() throws CodecException {
+		BufferGz codec = new BufferGz();
+		byte[] bytes = text(50000);
+		byte[] expected = Arrays.copyOfRange(bytes, 100, 40100);
+		ByteBuffer slice = ByteBuffer.wrap(bytes, 100, 40000);
+		ByteBuffer[] inputs = new ByteBuffer[] { slice, slice.slice(), slice.asReadOnlyBuffer(),
+				direct(bytes, 100, 40000), direct(bytes, 100, 40000).asReadOnlyBuffer() };
+		for (ByteBuffer input : inputs) {
+			final int position = input.position();
+			ByteBuffer encoded = codec.encode(input);
+			Assertions.assertEquals(position, input.position());
+			Assertions.assertEquals(encoded.remaining(), encoded.array().length);
+			Assertions.assertArrayEquals(expected, codec.decode(encoded).array());
+		}
+	}
+
+	@Test
+	void decodeSlice() throws CodecException {
+		BufferGz codec = new BufferGz();
+		byte[] expected = text(20000);
+		byte[] gz = codec.encode(ByteBuffer.wrap(expected)).array();
+		byte[] padded = new byte[gz.length + 10];
+		System.arraycopy(gz, 0, padded, 5, gz.length);
+		ByteBuffer slice = ByteBuffer.wrap(padded, 5, gz.length);
+		ByteBuffer[] inputs = new ByteBuffer[] { slice, slice.slice(), slice.asReadOnlyBuffer(),
+				direct(gz, 0, gz.length), direct(gz, 0, gz.length).asReadOnlyBuffer() };
+		for (ByteBuffer input : inputs) {
+			final int position = input.position();
+			ByteBuffer decoded = codec.decode(input);
+			Assertions.assertEquals(position, input.position());
+			Assertions.assertArrayEquals(expected, toBytes(decoded));
+		}
+		Assertions.assertEquals(0, codec.decode(codec.encode(ByteBuffer.allocateDirect(0))).remaining());
+		Assertions.assertThrows(CodecException.class, () -> codec.decode(ByteBuffer.wrap(padded)));
+	}
+
+}
@@ -25,8 +25,15 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * @author CJ (power4j@outlook.com)
@@ -58,6 +65,33 @@ class StrObscurerTest {
 
 	}
 
+	/**
+	 * 结果只占用底层数组的一部分
+	 */
+	static class Reverse implements Codec<ByteBuffer, ByteBuffer> {
+
+		@Override
+		public ByteBuffer decode(ByteBuffer src) throws CodecException {
+			return encode(src);
+		}
+
+		@Override
+		public String name() {
+			return "reverse";
+		}
+
+		@Override
+		public ByteBuffer encode(ByteBuffer src) throws CodecException {
+			int length = src.remaining();
+			byte[] data = new byte[length + 16];
+			for (int i = 0; i < length; ++i) {
+				data[i] = src.get(src.position() + length - 1 - i);
+			}
+			return ByteBuffer.wrap(data, 0, length);
+		}
+
+	}
+
 	@Test
 	public void testObscurer() throws CodecException {
 		String text = StrObscurerTest.class.getName();
@@ -89,4 +123,112 @@ class StrObscurerTest {
 		Assertions.assertEquals(text, dec);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testPipelineCache() throws CodecException {
+		StrObscurer obscurer = StrObscurer.ofEncoders(Arrays.asList(new BufferGz(), new AppendX()));
+		String enc = obscurer.obscure("abc");
+		String header = enc.substring(0, enc.indexOf(StrObscurer.BODY_SEPARATOR));
+		Assertions.assertSame(obscurer.pipelineOf(header), obscurer.pipelineOf(header));
+		Assertions.assertEquals("abc", obscurer.parse(enc));
+		Assertions.assertEquals("abc", obscurer.parse(obscurer.obscure("abc")));
+	}
+
+	@Test
+	public void testLargeInput() throws CodecException {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 20000; ++i) {
+			builder.append(i).append('中');
+		}
+		String text = builder.toString();
+		StrObscurer obscurer = StrObscurer.ofEncoders(Arrays.asList(new BufferGz(), new AppendX()));
+		for (int i = 0; i < 3; ++i) {
+			Assertions.assertEquals(text, obscurer.parse(obscurer.obscure(text)));
+		}
+		StrObscurer.EncoderSelector gzOnly = (s,
+				l) -> l.stream().filter(enc -> enc.name().equals(BufferGz.NAME)).collect(Collectors.toList());
+		Assertions.assertEquals(text, obscurer.parse(obscurer.obscure(text, gzOnly)));
+	}
+
+	@Test
+	public void testPartialResult() throws CodecException {
+		String text = StrObscurerTest.class.getName();
+		StrObscurer obscurer = StrObscurer.ofEncoders(Arrays.asList(new BufferGz(), new Reverse()));
+		String enc = obscurer.obscure(text);
+		Assertions.assertEquals(text, obscurer.parse(enc));
+		StrObscurer reverseOnly = StrObscurer.ofEncoders(Arrays.asList(new Reverse()));
+		Assertions.assertEquals("+reverse " + Base64.getEncoder().encodeToString("cba".getBytes()),
+				reverseOnly.obscure("abc"));
+		Assertions.assertEquals("abc", reverseOnly.parse(reverseOnly.obscure("abc")));
+	}
+
+	@Test
+	public void testRestoreDataOverride() throws CodecException {
+		List<List<String>> calls = new ArrayList<>();
+		StrObscurer obscurer = new StrObscurer() {
+			@Override
+			protected ByteBuffer restoreData(List<String> flags, ByteBuffer buffer) throws CodecException {
+				calls.add(flags);
+				return super.restoreData(flags, buffer);
+			}
+		};
+		obscurer.setCodecList(Arrays.asList(new BufferGz(), new AppendX()));
+		String enc = obscurer.obscure("abc");
+		Assertions.assertEquals("abc", obscurer.parse(enc));
+		Assertions.assertEquals("abc", obscurer.parseAll(Arrays.asList(enc)).get(0));
+		Assertions.assertEquals(2, calls.size());
+		Assertions.assertEquals(Arrays.asList("append10", BufferGz.NAME), calls.get(0));
+	}
+
+	@Test
+	public void testMissingDecoder() throws CodecException {
+		StrObscurer obscurer = StrObscurer.ofEncoders(Arrays.asList(new BufferGz(), new AppendX()));
+		String enc = obscurer.obscure("abc");
+		obscurer.setCodecList(Arrays.asList(new BufferGz()));
+		Assertions.assertThrows(CodecException.class, () -> obscurer.parse(enc));
+	}
+
+	@Test
+	public void testBatch() throws Exception {
+		List<String> values = IntStream.range(0, 5000).mapToObj(i -> "value-" + i).collect(Collectors.toList());
+		StrObscurer obscurer = StrObscurer.ofEncoders(Arrays.asList(new BufferGz(), new AppendX()));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<String> enc = obscurer.obscureAll(values, StrObscurer.EncoderSelector.ALL, executor);
+			Assertions.assertEquals(values.size(), enc.size());
+			Assertions.assertEquals(values, obscurer.parseAll(enc, executor));
+			Assertions.assertEquals(values, obscurer.parseAll(enc));
+			Assertions.assertEquals(enc.get(7), obscurer.obscureAll(values).get(7));
+
+			List<String> broken = new ArrayList<>(enc);
+			broken.set(4321, "+unknown " + enc.get(4321));
+			Assertions.assertThrows(CodecException.class, () -> obscurer.parseAll(broken, executor));
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testBatchShortCircuit() throws Exception {
+		AtomicInteger decoded = new AtomicInteger();
+		StrObscurer obscurer = StrObscurer.ofEncoders(Arrays.asList(new AppendX() {
+			@Override
+			public ByteBuffer decode(ByteBuffer src) throws CodecException {
+				decoded.incrementAndGet();
+				return super.decode(src);
+			}
+		}));
+		List<String> values = IntStream.range(0, 5000).mapToObj(i -> "value-" + i).collect(Collectors.toList());
+		List<String> enc = obscurer.obscureAll(values);
+		enc.set(0, "+unknown " + enc.get(0));
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Assertions.assertThrows(CodecException.class, () -> obscurer.parseAll(enc, executor));
+			Assertions.assertEquals(0, decoded.get());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -16,7 +16,7 @@
 
 package com.power4j.coca.kit.jna.util;
 
-import org.apache.commons.codec.binary.Hex;
+import com.power4j.coca.kit.common.codec.binary.HexCodec;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -29,7 +29,7 @@ public class HexStrUtil {
 	public static final char CHAR_ZERO = '0';
 
 	public static String encodeHex(byte[] bytes) {
-		return Hex.encodeHexString(bytes).toUpperCase();
+		return HexCodec.encodeToString(bytes, true);
 	}
 
 	public static boolean isHexString(CharSequence hexCharSequence) {
@@ -44,33 +44,7 @@ public class HexStrUtil {
 	}
 
 	public static boolean isHexChar(char c) {
-		switch (c) {
-			case '0':
-			case '1':
-			case '2':
-			case '3':
-			case '4':
-			case '5':
-			case '6':
-			case '7':
-			case '8':
-			case '9':
-			case 'a':
-			case 'b':
-			case 'c':
-			case 'd':
-			case 'e':
-			case 'f':
-			case 'A':
-			case 'B':
-			case 'C':
-			case 'D':
-			case 'E':
-			case 'F':
-				return true;
-			default:
-				return false;
-		}
+		return HexCodec.isHexChar(c);
 	}
 
 	/**
@@ -79,12 +53,7 @@ public class HexStrUtil {
 	 * @return
 	 */
 	public static int firstInvalidCharPos(CharSequence hexCharSequence) {
-		for (int i = 0; i < hexCharSequence.length(); ++i) {
-			if (!isHexChar(hexCharSequence.charAt(i))) {
-				return i;
-			}
-		}
-		return -1;
+		return HexCodec.firstInvalid(hexCharSequence, 0, hexCharSequence.length());
 	}
 
 	/**